@@ -0,0 +1,30 @@
+USE TaskManagerDB_testing;
+
+-- Daily per task/user/action counts of activity_log rows past the retention horizon (ActivityRetentionJob).
+-- Chosen over RANGE-partitioning activity_log by month: MySQL requires the partition column in every
+-- unique key (activity_id is the PK) and doesn't allow foreign keys on partitioned InnoDB tables.
+CREATE TABLE IF NOT EXISTS activity_daily_rollup (
+    rollup_id INT PRIMARY KEY,
+    activity_date DATE NOT NULL,
+    task_id INT NOT NULL,
+    user_id INT NOT NULL,
+    action_type ENUM('CREATED', 'UPDATED', 'STATUS_CHANGED', 'ASSIGNED',
+                     'DELETED', 'RESTORED', 'FILE_UPLOADED', 'FILE_REMOVED') NOT NULL,
+    activity_count INT NOT NULL,
+    first_at TIMESTAMP NOT NULL,
+    last_at TIMESTAMP NOT NULL,
+    FOREIGN KEY (task_id) REFERENCES tasks(task_id) ON DELETE CASCADE,
+    FOREIGN KEY (user_id) REFERENCES users(user_id),
+    UNIQUE KEY unique_rollup (activity_date, task_id, user_id, action_type),
+    INDEX idx_rollup_date (activity_date, rollup_id),
+    INDEX idx_rollup_task_date (task_id, activity_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+INSERT INTO id_generators (gen_name, next_val) VALUES ('activity_daily_rollup', 50);
+
+-- Leases for scheduled jobs that must run on one node at a time (see JobLocks); rows are created on first use
+CREATE TABLE IF NOT EXISTS job_locks (
+    lock_name VARCHAR(64) PRIMARY KEY,
+    locked_until TIMESTAMP NOT NULL,
+    locked_by VARCHAR(255) NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,18 @@
+USE TaskManagerDB_testing;
+
+-- Id blocks for tasks, task_assignments, activity_log and users (@TableGenerator, allocationSize 50).
+-- AUTO_INCREMENT ids can't be known before the INSERT, which stops Hibernate from batching inserts.
+CREATE TABLE IF NOT EXISTS id_generators (
+    gen_name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val BIGINT
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- Start past the existing rows: the first block handed out is (next_val - 49) .. next_val
+INSERT INTO id_generators (gen_name, next_val)
+SELECT 'tasks', COALESCE(MAX(task_id), 0) + 50 FROM tasks;
+INSERT INTO id_generators (gen_name, next_val)
+SELECT 'task_assignments', COALESCE(MAX(assignment_id), 0) + 50 FROM task_assignments;
+INSERT INTO id_generators (gen_name, next_val)
+SELECT 'activity_log', COALESCE(MAX(activity_id), 0) + 50 FROM activity_log;
+INSERT INTO id_generators (gen_name, next_val)
+SELECT 'users', COALESCE(MAX(user_id), 0) + 50 FROM users;
@@ -0,0 +1,16 @@
+USE TaskManagerDB_testing;
+
+-- Keyset pagination of the Kanban board: WHERE is_deleted = FALSE ORDER BY updated_at DESC, task_id DESC
+CREATE INDEX idx_tasks_active_updated ON tasks (is_deleted, updated_at, task_id);
+
+-- Delta sync (/api/tasks/changes) is indexed on change_seq, see task_changes.sql
+
+-- Activity feed (/api/activities, /api/activities/recent): ORDER BY created_at DESC, activity_id DESC
+CREATE INDEX idx_activity_created ON activity_log (created_at, activity_id);
+
+-- Per-task activity history: WHERE task_id = ? ORDER BY created_at DESC, activity_id DESC
+CREATE INDEX idx_activity_task_created ON activity_log (task_id, created_at, activity_id);
+
+-- Comment threads (/api/comments/task/{id}/threads, /api/comments/{id}/replies):
+-- WHERE task_id = ? AND parent_comment_id IS NULL / = ? ORDER BY created_at, comment_id
+CREATE INDEX idx_comments_thread ON comments (task_id, parent_comment_id, created_at, comment_id);
@@ -0,0 +1,15 @@
+USE TaskManagerDB_testing;
+
+-- Refresh-token state every node checks on /api/auth/refresh (see AuthService.refresh).
+-- Bumped on password change, role change and deactivation; refresh tokens carry the version they were
+-- issued with and stop working once it moves on.
+ALTER TABLE users ADD COLUMN token_version INT NOT NULL DEFAULT 0;
+
+-- Rotated and logged-out refresh tokens. The primary key makes each refresh token usable once across
+-- all nodes; rows past expires_at are deleted by RevokedTokenCleanupJob.
+CREATE TABLE IF NOT EXISTS revoked_refresh_tokens (
+    token_id VARCHAR(32) PRIMARY KEY,
+    user_id INT NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    INDEX idx_revoked_refresh_expires (expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,506 @@
+package com.taskmanagement.archive;
+
+import com.taskmanagement.entity.ActivityLog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// Cold storage for activity history that has left activity_log.
+//
+// Each append writes one immutable segment file: records sorted by (task, time), packed into
+// Deflate-compressed blocks, followed by a sparse index holding the task-id and time range of
+// every block. Segments are memory-mapped and only their index stays on the heap, so a lookup
+// skips segments and blocks whose ranges can't match and inflates just the rest.
+//
+// Every segment spans most tasks, so a lookup visits each one; compact() merges them back into a
+// single segment once there are more than max-segments, keeping the mapped files and per-lookup work bounded.
+//
+// Layout: MAGIC | block* | index | index offset (long) | MAGIC
+@Slf4j
+@Component
+public class ActivityArchive {
+
+    private static final int MAGIC = 0x41435431; // "ACT1"
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int FOOTER_SIZE = Long.BYTES + Integer.BYTES;
+
+    private static final Comparator<ArchivedActivity> STORAGE_ORDER = Comparator
+            .comparing(ArchivedActivity::getTaskId)
+            .thenComparing(ArchivedActivity::getCreatedAt)
+            .thenComparing(ArchivedActivity::getActivityId);
+
+    private static final Comparator<ArchivedActivity> NEWEST_FIRST = Comparator
+            .comparing(ArchivedActivity::getCreatedAt)
+            .thenComparing(ArchivedActivity::getActivityId)
+            .reversed();
+
+    private final Path directory;
+    private final int blockSize;
+    private final int maxSegments;
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+    // Not synchronized: a virtual thread blocking on file I/O inside a monitor would pin its carrier
+    private final ReentrantLock appendLock = new ReentrantLock();
+
+    public ActivityArchive(@Value("${archive.dir:data/activity-archive}") Path directory,
+                           @Value("${archive.block-size:512}") int blockSize,
+                           @Value("${archive.max-segments:8}") int maxSegments) throws IOException {
+        this.directory = directory;
+        this.blockSize = blockSize;
+        this.maxSegments = maxSegments;
+        if (Files.isDirectory(directory)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+                for (Path file : files) {
+                    segments.add(Segment.open(file));
+                }
+            }
+            log.info("Opened {} activity archive segments in {}", segments.size(), directory);
+        }
+    }
+
+    public boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    // Writes the activities as a new segment. The file only appears under its final name once it is
+    // complete and synced, so a crash mid-write never leaves a readable partial segment behind.
+    public Path append(List<ArchivedActivity> activities) throws IOException {
+        if (activities.isEmpty()) {
+            return null;
+        }
+        List<ArchivedActivity> sorted = new ArrayList<>(activities);
+        sorted.sort(STORAGE_ORDER);
+        appendLock.lock();
+        try {
+            Segment segment = writeSegment(sorted.iterator());
+            segments.add(segment);
+            return segment.path;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // Merges all segments into one when there are more than max-segments; returns the number merged.
+    // Segments are already sorted, so this is a streaming k-way merge holding one decoded block per
+    // segment, which also drops activities archived twice. The merged segment becomes visible before
+    // the old ones go away, so lookups running meanwhile at worst see duplicates, which they drop anyway.
+    // A crash in between leaves both on disk and the next compaction merges them again.
+    public int compact() throws IOException {
+        appendLock.lock();
+        try {
+            List<Segment> merged = List.copyOf(segments);
+            if (merged.size() <= maxSegments) {
+                return 0;
+            }
+            List<SegmentCursor> cursors = new ArrayList<>(merged.size());
+            try {
+                for (Segment segment : merged) {
+                    cursors.add(new SegmentCursor(segment));
+                }
+                segments.add(writeSegment(new MergingIterator(cursors)));
+            } catch (DataFormatException e) {
+                throw new IOException("Corrupt activity archive segment", e);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                cursors.forEach(SegmentCursor::close);
+            }
+            segments.removeAll(merged);
+            for (Segment segment : merged) {
+                // The mapping stays valid for lookups still reading it; it is released once unreachable
+                Files.deleteIfExists(segment.path);
+            }
+            log.info("Compacted {} activity archive segments into one", merged.size());
+            return merged.size();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // Activities must arrive in STORAGE_ORDER
+    private Segment writeSegment(Iterator<ArchivedActivity> sorted) throws IOException {
+        Files.createDirectories(directory);
+        String name = "activity-" + System.currentTimeMillis() + "-" + sequence.incrementAndGet();
+        Path temp = directory.resolve(name + ".tmp");
+        Path target = directory.resolve(name + SEGMENT_SUFFIX);
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            // Not closed itself: flushed, then the channel is synced and closed by the try block
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024));
+            out.writeInt(MAGIC);
+            long offset = Integer.BYTES;
+
+            List<Block> blocks = new ArrayList<>();
+            Deflater deflater = new Deflater();
+            try {
+                while (sorted.hasNext()) {
+                    List<ArchivedActivity> chunk = new ArrayList<>(blockSize);
+                    while (chunk.size() < blockSize && sorted.hasNext()) {
+                        chunk.add(sorted.next());
+                    }
+                    byte[] raw = encode(chunk);
+                    byte[] compressed = deflate(raw, deflater);
+                    out.write(compressed);
+                    blocks.add(Block.of(offset, compressed.length, raw.length, chunk));
+                    offset += compressed.length;
+                }
+            } finally {
+                deflater.end();
+            }
+
+            out.writeInt(blocks.size());
+            for (Block block : blocks) {
+                block.writeTo(out);
+            }
+            out.writeLong(offset);
+            out.writeInt(MAGIC);
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        return Segment.open(target);
+    }
+
+    // Archived activities of one task, newest first; from/to (inclusive) are optional
+    public List<ArchivedActivity> findByTask(int taskId, LocalDateTime from, LocalDateTime to) {
+        long fromMicros = from != null ? toMicros(from) : Long.MIN_VALUE;
+        long toMicros = to != null ? toMicros(to) : Long.MAX_VALUE;
+        // A batch that was archived but whose delete rolled back is archived again by the next run
+        Map<Integer, ArchivedActivity> found = new HashMap<>();
+
+        Inflater inflater = new Inflater();
+        try {
+            for (Segment segment : segments) {
+                if (!segment.overlaps(taskId, fromMicros, toMicros)) {
+                    continue;
+                }
+                for (Block block : segment.blocks) {
+                    if (!block.overlaps(taskId, fromMicros, toMicros)) {
+                        continue;
+                    }
+                    for (ArchivedActivity activity : segment.decode(block, inflater)) {
+                        long micros = toMicros(activity.getCreatedAt());
+                        if (activity.getTaskId() == taskId && micros >= fromMicros && micros <= toMicros) {
+                            found.putIfAbsent(activity.getActivityId(), activity);
+                        }
+                    }
+                }
+            }
+        } catch (IOException | DataFormatException e) {
+            throw new UncheckedIOException(new IOException("Corrupt activity archive segment", e));
+        } finally {
+            inflater.end();
+        }
+
+        List<ArchivedActivity> result = new ArrayList<>(found.values());
+        result.sort(NEWEST_FIRST);
+        return result;
+    }
+
+    // Every activity in one segment, in storage order (restores, exports)
+    public List<ArchivedActivity> read(Path file) throws IOException {
+        Segment segment = segments.stream()
+                .filter(candidate -> candidate.path.equals(file))
+                .findFirst()
+                .orElse(null);
+        if (segment == null) {
+            segment = Segment.open(file);
+        }
+        List<ArchivedActivity> activities = new ArrayList<>();
+        Inflater inflater = new Inflater();
+        try {
+            for (Block block : segment.blocks) {
+                activities.addAll(segment.decode(block, inflater));
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt activity archive segment " + file, e);
+        } finally {
+            inflater.end();
+        }
+        return activities;
+    }
+
+    private static byte[] encode(List<ArchivedActivity> activities) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(activities.size() * 128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (ArchivedActivity activity : activities) {
+            out.writeInt(activity.getActivityId());
+            out.writeInt(activity.getTaskId());
+            out.writeInt(activity.getUserId());
+            out.writeUTF(activity.getActionType().name());
+            out.writeLong(activity.getCreatedAt().toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(activity.getCreatedAt().getNano());
+            writeNullable(out, activity.getTaskTitle());
+            writeNullable(out, activity.getUserFullName());
+            writeNullable(out, activity.getOldValue());
+            writeNullable(out, activity.getNewValue());
+            writeNullable(out, activity.getDescription());
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static List<ArchivedActivity> decode(byte[] raw, int count) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+        List<ArchivedActivity> activities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            activities.add(ArchivedActivity.builder()
+                    .activityId(in.readInt())
+                    .taskId(in.readInt())
+                    .userId(in.readInt())
+                    .actionType(ActivityLog.ActionType.valueOf(in.readUTF()))
+                    .createdAt(LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC))
+                    .taskTitle(readNullable(in))
+                    .userFullName(readNullable(in))
+                    .oldValue(readNullable(in))
+                    .newValue(readNullable(in))
+                    .description(readNullable(in))
+                    .build());
+        }
+        return activities;
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static byte[] deflate(byte[] raw, Deflater deflater) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 3 + 64);
+        byte[] buffer = new byte[16 * 1024];
+        while (!deflater.finished()) {
+            out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        return out.toByteArray();
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+
+    // Reads one segment in storage order, a block at a time
+    private static final class SegmentCursor {
+        private final Segment segment;
+        private final Inflater inflater = new Inflater();
+        private int nextBlock;
+        private List<ArchivedActivity> current = List.of();
+        private int position;
+
+        SegmentCursor(Segment segment) throws IOException, DataFormatException {
+            this.segment = segment;
+            fill();
+        }
+
+        // Null once the segment is exhausted
+        ArchivedActivity peek() {
+            return position < current.size() ? current.get(position) : null;
+        }
+
+        void advance() throws IOException, DataFormatException {
+            position++;
+            fill();
+        }
+
+        private void fill() throws IOException, DataFormatException {
+            while (position >= current.size() && nextBlock < segment.blocks.size()) {
+                current = segment.decode(segment.blocks.get(nextBlock++), inflater);
+                position = 0;
+            }
+        }
+
+        void close() {
+            inflater.end();
+        }
+    }
+
+    // Merges cursors in storage order, skipping repeats of an activity id (a batch archived twice
+    // sorts its copies next to each other)
+    private static final class MergingIterator implements Iterator<ArchivedActivity> {
+        private final PriorityQueue<SegmentCursor> queue =
+                new PriorityQueue<>(Comparator.comparing(SegmentCursor::peek, STORAGE_ORDER));
+        private ArchivedActivity last;
+
+        MergingIterator(List<SegmentCursor> cursors) {
+            for (SegmentCursor cursor : cursors) {
+                if (cursor.peek() != null) {
+                    queue.add(cursor);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !queue.isEmpty();
+        }
+
+        @Override
+        public ArchivedActivity next() {
+            if (queue.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            last = take();
+            skipRepeats();
+            return last;
+        }
+
+        private void skipRepeats() {
+            while (last != null && !queue.isEmpty() && queue.peek().peek().getActivityId().equals(last.getActivityId())) {
+                take();
+            }
+        }
+
+        private ArchivedActivity take() {
+            SegmentCursor cursor = queue.poll();
+            ArchivedActivity activity = cursor.peek();
+            try {
+                cursor.advance();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (DataFormatException e) {
+                throw new UncheckedIOException(new IOException("Corrupt activity archive segment " + cursor.segment.path, e));
+            }
+            if (cursor.peek() != null) {
+                queue.add(cursor);
+            }
+            return activity;
+        }
+    }
+
+    private record Block(long offset, int compressedLength, int rawLength, int count,
+                         int minTaskId, int maxTaskId, long minMicros, long maxMicros) {
+
+        static Block of(long offset, int compressedLength, int rawLength, List<ArchivedActivity> activities) {
+            long minMicros = Long.MAX_VALUE;
+            long maxMicros = Long.MIN_VALUE;
+            for (ArchivedActivity activity : activities) {
+                long micros = toMicros(activity.getCreatedAt());
+                minMicros = Math.min(minMicros, micros);
+                maxMicros = Math.max(maxMicros, micros);
+            }
+            // Sorted by task id, so the first and last record bound the block's tasks
+            return new Block(offset, compressedLength, rawLength, activities.size(),
+                    activities.get(0).getTaskId(), activities.get(activities.size() - 1).getTaskId(),
+                    minMicros, maxMicros);
+        }
+
+        static Block readFrom(ByteBuffer buffer) {
+            return new Block(buffer.getLong(), buffer.getInt(), buffer.getInt(), buffer.getInt(),
+                    buffer.getInt(), buffer.getInt(), buffer.getLong(), buffer.getLong());
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeLong(offset);
+            out.writeInt(compressedLength);
+            out.writeInt(rawLength);
+            out.writeInt(count);
+            out.writeInt(minTaskId);
+            out.writeInt(maxTaskId);
+            out.writeLong(minMicros);
+            out.writeLong(maxMicros);
+        }
+
+        boolean overlaps(int taskId, long fromMicros, long toMicros) {
+            return taskId >= minTaskId && taskId <= maxTaskId && maxMicros >= fromMicros && minMicros <= toMicros;
+        }
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        private final List<Block> blocks;
+        private final int minTaskId;
+        private final int maxTaskId;
+        private final long minMicros;
+        private final long maxMicros;
+
+        private Segment(Path path, MappedByteBuffer buffer, List<Block> blocks) {
+            this.path = path;
+            this.buffer = buffer;
+            this.blocks = blocks;
+            this.minTaskId = blocks.stream().mapToInt(Block::minTaskId).min().orElse(0);
+            this.maxTaskId = blocks.stream().mapToInt(Block::maxTaskId).max().orElse(-1);
+            this.minMicros = blocks.stream().mapToLong(Block::minMicros).min().orElse(0);
+            this.maxMicros = blocks.stream().mapToLong(Block::maxMicros).max().orElse(-1);
+        }
+
+        static Segment open(Path path) throws IOException {
+            MappedByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            int size = buffer.capacity();
+            if (size < Integer.BYTES + FOOTER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(size - Integer.BYTES) != MAGIC) {
+                throw new IOException("Not an activity archive segment: " + path);
+            }
+            ByteBuffer index = buffer.duplicate().position((int) buffer.getLong(size - FOOTER_SIZE));
+            int blockCount = index.getInt();
+            List<Block> blocks = new ArrayList<>(blockCount);
+            for (int i = 0; i < blockCount; i++) {
+                blocks.add(Block.readFrom(index));
+            }
+            return new Segment(path, buffer, blocks);
+        }
+
+        boolean overlaps(int taskId, long fromMicros, long toMicros) {
+            return taskId >= minTaskId && taskId <= maxTaskId && maxMicros >= fromMicros && minMicros <= toMicros;
+        }
+
+        // Inflates straight out of the mapping; only the block's decompressed bytes are copied to the heap
+        List<ArchivedActivity> decode(Block block, Inflater inflater) throws IOException, DataFormatException {
+            inflater.reset();
+            inflater.setInput(buffer.slice((int) block.offset(), block.compressedLength()));
+            byte[] raw = new byte[block.rawLength()];
+            int read = 0;
+            while (read < raw.length && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, read, raw.length - read);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Truncated block in " + path);
+                }
+                read += inflated;
+            }
+            return ActivityArchive.decode(raw, block.count());
+        }
+    }
+}
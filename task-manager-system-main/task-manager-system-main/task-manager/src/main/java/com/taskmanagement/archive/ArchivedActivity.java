@@ -0,0 +1,24 @@
+package com.taskmanagement.archive;
+
+import com.taskmanagement.entity.ActivityLog;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+// An activity_log row as stored in a cold-storage segment, with the task title and user name
+// as they were when it was archived
+@Value
+@Builder
+public class ArchivedActivity {
+    Integer activityId;
+    Integer taskId;
+    String taskTitle;
+    Integer userId;
+    String userFullName;
+    ActivityLog.ActionType actionType;
+    String oldValue;
+    String newValue;
+    String description;
+    LocalDateTime createdAt;
+}
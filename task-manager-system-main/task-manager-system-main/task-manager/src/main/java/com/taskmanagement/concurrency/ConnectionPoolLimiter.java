@@ -0,0 +1,86 @@
+package com.taskmanagement.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Caps the requests running at once at the number of database connections. On virtual threads Tomcat's
+// thread pool no longer limits concurrency, and a burst would otherwise pile up inside Hikari until requests
+// fail with connection-timeout. Waiting for a permit only parks a virtual thread; past acquire-timeout the
+// client gets a 503 with Retry-After. Excluded paths (the SSE stream, file transfers) don't hold a
+// connection while they run. Registered by VirtualThreadConfig only.
+public class ConnectionPoolLimiter extends OncePerRequestFilter {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+    private final List<String> excludedPaths;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Timer waiting;
+    private final Counter rejected;
+
+    public ConnectionPoolLimiter(int maxPermits, Duration acquireTimeout, List<String> excludedPaths,
+                                 MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxPermits, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.excludedPaths = excludedPaths;
+        this.waiting = Timer.builder("http.concurrency.wait")
+                .description("Time requests waited for a database-sized concurrency permit")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("http.concurrency.rejected")
+                .description("Requests answered 503 because no permit freed up within acquire-timeout")
+                .register(meterRegistry);
+        Gauge.builder("http.concurrency.active", permits, available -> maxPermits - available.availablePermits())
+                .description("Requests currently holding a permit")
+                .register(meterRegistry);
+        Gauge.builder("http.concurrency.queued", permits, Semaphore::getQueueLength)
+                .description("Requests waiting for a permit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return excludedPaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        waiting.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            rejected.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.taskmanagement.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Watches the JFR jdk.VirtualThreadPinned event: a virtual thread that blocked while pinned to its carrier
+// (inside synchronized or a native frame) for longer than the threshold. Each event is counted under the
+// innermost application frame, e.g. TaskServiceImpl.createTask, in virtual-threads.pinned, and logged with
+// the application part of its stack, so a pinning transaction path shows up without attaching a profiler.
+// JDK 21+ only; VirtualThreadConfig doesn't create it on older runtimes.
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "com.taskmanagement.";
+
+    private final MeterRegistry meterRegistry;
+    private final RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry, Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        List<String> frames = applicationFrames(event.getStackTrace());
+        String location = frames.isEmpty() ? "unknown" : frames.get(0);
+        Counter.builder("virtual-threads.pinned")
+                .tag("location", location)
+                .description("Virtual threads that blocked while pinned to their carrier thread")
+                .register(meterRegistry)
+                .increment();
+        log.warn("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(),
+                frames.isEmpty() ? "(no application frames)" : String.join(" <- ", frames));
+    }
+
+    private static List<String> applicationFrames(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return List.of();
+        }
+        return stackTrace.getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .filter(frame -> frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE))
+                .map(frame -> simpleName(frame.getMethod().getType().getName()) + "." + frame.getMethod().getName())
+                .collect(Collectors.toList());
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    @PreDestroy
+    public void close() {
+        stream.close();
+    }
+}
@@ -4,48 +4,94 @@ import com.taskmanagement.dto.request.LoginRequest;
 import com.taskmanagement.dto.response.LoginResponse;
 import com.taskmanagement.dto.response.UserDTO;
 import com.taskmanagement.entity.User;
+import com.taskmanagement.repository.RevokedRefreshTokenRepo;
 import com.taskmanagement.repository.UserRepo;
+import com.taskmanagement.security.PasswordHasher;
+import com.taskmanagement.security.TokenClaims;
+import com.taskmanagement.security.TokenPair;
+import com.taskmanagement.security.TokenRevocations;
+import com.taskmanagement.security.TokenService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
 public class AuthService {
 
     private final UserRepo userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final TokenService tokenService;
+    private final TokenRevocations tokenRevocations;
+    private final RevokedRefreshTokenRepo revokedTokenRepository;
 
-    public Optional<LoginResponse> authenticate(LoginRequest request) {
-        // Find user by username
-        Optional<User> userOpt = userRepository.findByUsername(request.getUsername());
-        
-        if (userOpt.isEmpty()) {
-            return Optional.empty();
+    private static final String TOKEN_TYPE = "Bearer";
+
+    // The user lookup runs on the caller's thread, the BCrypt comparison on PasswordHasher's pool.
+    // Fails with PasswordHashingBusyException when that pool is saturated.
+    public CompletableFuture<Optional<LoginResponse>> authenticate(LoginRequest request) {
+        // Username and password are required
+        if (request.getUsername() == null || request.getPassword() == null || request.getPassword().trim().isEmpty()) {
+            return CompletableFuture.completedFuture(Optional.empty());
         }
 
-        User user = userOpt.get();
+        // Only active accounts may log in; unknown and inactive users still pay for a comparison,
+        // so response times don't reveal which usernames exist
+        User user = userRepository.findByUsername(request.getUsername())
+                .filter(found -> found.getStatus() == User.UserStatus.ACTIVE)
+                .orElse(null);
 
-        // Check if account is active
-        if (user.getStatus() != User.UserStatus.ACTIVE) {
-            return Optional.empty();
-        }
+        return passwordHasher.matches(request.getPassword(), user != null ? user.getPasswordHash() : null)
+                .thenApply(passwordValid -> passwordValid ? Optional.of(loginResponse(user)) : Optional.<LoginResponse>empty());
+    }
 
-        // Verify password - password is required
-        if (request.getPassword() == null || request.getPassword().trim().isEmpty()) {
+    // Rotates the pair: the presented refresh token is revoked, so a stolen copy works at most once.
+    // Both checks go to the database, since the in-memory revocations only cover this node: the token id
+    // is recorded in revoked_refresh_tokens (a second use, or one after logout, hits the primary key on
+    // any node) and the user row is read bypassing the second-level cache, so deactivation and
+    // tokenVersion bumps made elsewhere apply immediately.
+    public Optional<LoginResponse> refresh(String refreshToken) {
+        Optional<TokenClaims> claims = tokenService.verify(refreshToken, TokenClaims.TokenType.REFRESH);
+        if (claims.isEmpty() || !revokePersistently(claims.get())) {
             return Optional.empty();
         }
+        tokenRevocations.revoke(claims.get());
+        return userRepository.findCurrentById(claims.get().getUserId())
+                .filter(user -> user.getStatus() == User.UserStatus.ACTIVE)
+                .filter(user -> user.getTokenVersion() == claims.get().getVersion())
+                .map(this::loginResponse);
+    }
 
-        // Verify password using PasswordEncoder
-        boolean passwordValid = passwordEncoder.matches(request.getPassword(), user.getPasswordHash());
-        
-        if (!passwordValid) {
-            return Optional.empty();
+    // Either token may be missing or already expired; whatever carries a valid signature is revoked.
+    // Access tokens only in memory (they are short-lived), refresh tokens for all nodes.
+    public void logout(String accessToken, String refreshToken) {
+        tokenService.decode(accessToken).ifPresent(tokenRevocations::revoke);
+        tokenService.decode(refreshToken).ifPresent(claims -> {
+            tokenRevocations.revoke(claims);
+            if (claims.getType() == TokenClaims.TokenType.REFRESH) {
+                revokePersistently(claims);
+            }
+        });
+    }
+
+    // False if the token was already revoked, here or on another node
+    private boolean revokePersistently(TokenClaims claims) {
+        try {
+            revokedTokenRepository.insert(claims.getTokenId(), claims.getUserId(),
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(claims.getExpiresAt()), ZoneId.systemDefault()));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
         }
+    }
 
-        // Convert User to UserDTO
+    private LoginResponse loginResponse(User user) {
         UserDTO userDTO = UserDTO.builder()
                 .userId(user.getUserId())
                 .username(user.getUsername())
@@ -57,12 +103,13 @@ public class AuthService {
                 .createdAt(user.getCreatedAt())
                 .build();
 
-        // Create LoginResponse (for now, token is empty string as we're not using JWT)
-        LoginResponse response = LoginResponse.builder()
-                .token("") // No JWT token for now
+        TokenPair tokens = tokenService.issue(user);
+        return LoginResponse.builder()
+                .token(tokens.getAccessToken())
+                .tokenType(TOKEN_TYPE)
+                .expiresIn(tokenService.getAccessTtl().toSeconds())
+                .refreshToken(tokens.getRefreshToken())
                 .user(userDTO)
                 .build();
-
-        return Optional.of(response);
     }
 }
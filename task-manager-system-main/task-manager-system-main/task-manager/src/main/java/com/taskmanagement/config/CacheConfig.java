@@ -0,0 +1,112 @@
+package com.taskmanagement.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Board lists (GET /api/tasks pages, by-status, trash); any task write clears them
+    public static final String TASK_LISTS = "taskLists";
+    // Leading key part for list and stats entries: the task data version, read before the method loads anything.
+    // An entry built from a snapshot that was current before a commit can then never be served after it, even if
+    // it is put after the eviction, and a response's ETag (same version) is never newer than its body.
+    public static final String TASKS_VERSION =
+            "@dataVersions.current(T(com.taskmanagement.event.DataChangedEvent$Resource).TASKS)";
+    // Single task details, evicted by id
+    public static final String TASK_BY_ID = "taskById";
+    // Dashboard aggregates
+    public static final String TASK_STATS = "taskStats";
+
+    // Hibernate second-level cache regions for reference data. Each node has its own copy: Hibernate updates
+    // or invalidates entries on this node's writes, but changes made by other nodes (or outside the
+    // application) are only seen once the TTL expires. Fine for names and colours shown on tasks; paths that
+    // act on a user's status, role or tokenVersion read the row past the cache (UserRepo.findCurrentById).
+    public static final String USER_REGION = "users";
+    public static final String CATEGORY_REGION = "categories";
+
+    @Value("${cache.tasks.ttl:60s}")
+    private Duration ttl;
+
+    @Value("${cache.tasks.max-lists:200}")
+    private long maxLists;
+
+    @Value("${cache.tasks.max-details:5000}")
+    private long maxDetails;
+
+    @Value("${cache.reference-data.ttl:10m}")
+    private Duration referenceTtl;
+
+    @Value("${cache.reference-data.max-users:10000}")
+    private long maxUsers;
+
+    @Value("${cache.reference-data.max-categories:1000}")
+    private long maxCategories;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.registerCustomCache(TASK_LISTS, newCache(maxLists));
+        caffeineCacheManager.registerCustomCache(TASK_BY_ID, newCache(maxDetails));
+        caffeineCacheManager.registerCustomCache(TASK_STATS, newCache(maxLists));
+        // Evictions are deferred until the surrounding transaction commits, so a concurrent
+        // read can't re-cache the old state between the eviction and the commit
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+
+    // One JCache manager per application context, so contexts in the same JVM (tests) never share entries
+    @Bean(destroyMethod = "close")
+    public javax.cache.CacheManager entityCacheManager() {
+        javax.cache.CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("task-manager:" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(USER_REGION, newRegion(maxUsers));
+        cacheManager.createCache(CATEGORY_REGION, newRegion(maxCategories));
+        return cacheManager;
+    }
+
+    // Only entities annotated with @Cache are cached; a region missing above fails startup instead of
+    // silently creating an unbounded one
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache(javax.cache.CacheManager entityCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private CaffeineConfiguration<Object, Object> newRegion(long maximumSize) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(referenceTtl.toNanos()));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> newCache(long maximumSize) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+}
@@ -1,15 +1,23 @@
 package com.taskmanagement.config;
 
+import com.taskmanagement.security.BcryptCalibration;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+
 @Configuration
 public class PasswordConfig {
 
+    // With calibrate=true the strength is measured at startup against target-latency,
+    // using bcrypt-strength as the floor
     @Bean
-    public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.password.bcrypt-strength:10}") int strength,
+                                           @Value("${auth.password.calibrate:false}") boolean calibrate,
+                                           @Value("${auth.password.target-latency:250ms}") Duration targetLatency){
+        return new BCryptPasswordEncoder(calibrate ? BcryptCalibration.strengthFor(targetLatency, strength) : strength);
     }
 }
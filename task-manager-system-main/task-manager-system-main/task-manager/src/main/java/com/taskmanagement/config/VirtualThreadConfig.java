@@ -0,0 +1,54 @@
+package com.taskmanagement.config;
+
+import com.taskmanagement.concurrency.ConnectionPoolLimiter;
+import com.taskmanagement.concurrency.VirtualThreadPinningMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnJava;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.List;
+
+// The virtual-threads profile (application-virtual-threads.yml): Tomcat request handling, @Async and
+// @Scheduled work run on virtual threads via spring.threads.virtual.enabled, so concurrency is no longer
+// capped by server.tomcat.threads.max. The pool-sized ConnectionPoolLimiter takes over that job.
+@Slf4j
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadConfig {
+
+    @Bean
+    public FilterRegistrationBean<ConnectionPoolLimiter> connectionPoolLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${virtual-threads.limiter.permits:0}") int permits,
+            @Value("${virtual-threads.limiter.acquire-timeout:5s}") Duration acquireTimeout,
+            @Value("${virtual-threads.limiter.exclude-paths:}") List<String> excludePaths) {
+        if (!JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            log.warn("The virtual-threads profile needs JDK 21+; running on {} with platform threads", Runtime.version());
+        }
+        // 0 = one permit per pooled connection
+        ConnectionPoolLimiter limiter = new ConnectionPoolLimiter(permits > 0 ? permits : poolSize, acquireTimeout,
+                excludePaths, meterRegistry);
+        FilterRegistrationBean<ConnectionPoolLimiter> registration = new FilterRegistrationBean<>(limiter);
+        registration.addUrlPatterns("/api/*");
+        // Ahead of Spring Security, so waiting requests hold nothing else
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnJava(JavaVersion.TWENTY_ONE)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${virtual-threads.pinning.threshold:20ms}") Duration threshold) {
+        return new VirtualThreadPinningMonitor(meterRegistry, threshold);
+    }
+}
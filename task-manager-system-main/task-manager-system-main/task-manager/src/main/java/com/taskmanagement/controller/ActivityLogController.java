@@ -1,14 +1,19 @@
 package com.taskmanagement.controller;
 
 import com.taskmanagement.dto.response.ActivityLogDTO;
+import com.taskmanagement.dto.response.CursorPage;
+import com.taskmanagement.event.DataChangedEvent;
+import com.taskmanagement.event.DataVersions;
 import com.taskmanagement.service.ActivityLogService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -19,16 +24,65 @@ import java.util.List;
 public class ActivityLogController {
 
     private final ActivityLogService activityLogService;
+    private final DataVersions dataVersions;
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    // Activity feed, newest first, keyset-paginated; the token for the next (older) page is
+    // returned in the X-Next-Cursor header
+    @GetMapping
+    public ResponseEntity<List<ActivityLogDTO>> getActivityFeed(@RequestParam(required = false) Integer userId,
+                                                                @RequestParam(required = false) Integer taskId,
+                                                                @RequestParam(required = false) String actionType,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(defaultValue = "50") int limit,
+                                                                WebRequest webRequest) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (dataVersions.checkNotModified(webRequest, DataChangedEvent.Resource.ACTIVITIES,
+                "feed", userId, taskId, actionType, cursor, limit)) {
+            return null;
+        }
+        try {
+            CursorPage<ActivityLogDTO> page = activityLogService.getActivityFeed(userId, taskId, actionType, cursor, limit);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                response.header(TaskController.NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return response.body(page.getItems());
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 
     @GetMapping("/recent")
     public List<ActivityLogDTO> getRecentActivities(
-            @RequestParam(defaultValue = "10") int limit) {
-        return activityLogService.getRecentActivities(limit);
+            @RequestParam(defaultValue = "10") int limit, WebRequest webRequest) {
+        if (dataVersions.checkNotModified(webRequest, DataChangedEvent.Resource.ACTIVITIES, limit)) {
+            return null;
+        }
+        return activityLogService.getRecentActivities(Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
     }
 
+    // Whole history of one task including archived and rolled-up activity, paginated like the feed
     @GetMapping("/task/{taskId}")
-    public List<ActivityLogDTO> getActivitiesByTaskId(@PathVariable Integer taskId) {
-        return activityLogService.getActivitiesByTaskId(taskId);
+    public ResponseEntity<List<ActivityLogDTO>> getActivitiesByTaskId(@PathVariable Integer taskId,
+                                                                      @RequestParam(required = false) String cursor,
+                                                                      @RequestParam(defaultValue = "50") int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            CursorPage<ActivityLogDTO> page = activityLogService.getActivitiesByTaskId(taskId, cursor, limit);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                response.header(TaskController.NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return response.body(page.getItems());
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 }
 
@@ -0,0 +1,291 @@
+package com.taskmanagement.controller;
+
+import com.taskmanagement.dto.request.StartUploadRequest;
+import com.taskmanagement.dto.response.UploadStatusDTO;
+import com.taskmanagement.preview.Thumbnail;
+import com.taskmanagement.preview.ThumbnailVariant;
+import com.taskmanagement.service.AttachmentService;
+import com.taskmanagement.storage.AttachmentDownload;
+import com.taskmanagement.storage.UploadConflictException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@RestController
+@RequestMapping("/api/attachments")
+@RequiredArgsConstructor
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:5174"}, exposedHeaders = {
+        HttpHeaders.ACCEPT_RANGES, HttpHeaders.CONTENT_RANGE, HttpHeaders.CONTENT_DISPOSITION, HttpHeaders.ETAG,
+        HttpHeaders.RETRY_AFTER})
+public class AttachmentController {
+
+    // Tomcat's sendfile request attributes: the connector copies the file region to the socket itself
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final long[] UNSATISFIABLE = new long[0];
+
+    private static final long MAX_FILE_SIZE = 10L * 1024 * 1024 * 1024;
+    private static final long MAX_CHUNK_SIZE = 64L * 1024 * 1024;
+    private static final Pattern CHUNK_RANGE = Pattern.compile("bytes (\\d+)-(\\d+)/(\\d+)");
+    private static final String THUMBNAIL_RETRY_AFTER_SECONDS = "2";
+
+    private final AttachmentService attachmentService;
+
+    // Streams the file without buffering it on the heap. Supports conditional requests and a single
+    // byte range (several requested ranges are coalesced into one), with If-Range for resumed downloads.
+    // inline=true lets browsers display the file (e.g. play a video) instead of saving it.
+    @GetMapping("/{attachmentId}/download")
+    public void download(@PathVariable Integer attachmentId,
+                         @RequestParam(defaultValue = "false") boolean inline,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        Optional<AttachmentDownload> found = attachmentService.getDownload(attachmentId);
+        if (found.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        AttachmentDownload file = found.get();
+        String etag = "\"" + Long.toString(file.getLength(), 36) + "-" + Long.toString(file.getLastModified(), 36) + "\"";
+
+        // Revalidate on every use, but a matching copy costs only a 304
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        if (new ServletWebRequest(request, response).checkNotModified(etag, file.getLastModified())) {
+            return;
+        }
+
+        long length = file.getLength();
+        long start = 0;
+        long end = length - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && rangeStillValid(request, etag, file.getLastModified())) {
+            long[] range = coalesce(rangeHeader, length);
+            if (range == UNSATISFIABLE) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            if (range != null) {
+                start = range[0];
+                end = range[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(file.getMimeType() != null ? file.getMimeType() : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                (inline ? ContentDisposition.inline() : ContentDisposition.attachment())
+                        .filename(file.getFileName(), StandardCharsets.UTF_8)
+                        .build()
+                        .toString());
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.getPath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+        // Other containers: transferTo through the response stream, copying in small chunks
+        try (FileChannel channel = FileChannel.open(file.getPath(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position < start + count) {
+                long sent = channel.transferTo(position, start + count - position, out);
+                if (sent <= 0) {
+                    // The file shrank after its size was read
+                    break;
+                }
+                position += sent;
+            }
+        }
+    }
+
+    // variant=thumbnail (default) or preview. A thumbnail never changes once written, so clients may keep it
+    // for a year; 202 with Retry-After means it is still being generated, 404 that the file has none.
+    @GetMapping("/{attachmentId}/thumbnail")
+    public ResponseEntity<Resource> thumbnail(@PathVariable Integer attachmentId,
+                                              @RequestParam(defaultValue = "thumbnail") String variant) {
+        ThumbnailVariant thumbnailVariant;
+        try {
+            thumbnailVariant = ThumbnailVariant.valueOf(variant.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+        Optional<Thumbnail> found = attachmentService.getThumbnail(attachmentId, thumbnailVariant);
+        if (found.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Thumbnail thumbnail = found.get();
+        if (thumbnail.isPending()) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .header(HttpHeaders.RETRY_AFTER, THUMBNAIL_RETRY_AFTER_SECONDS)
+                    .cacheControl(CacheControl.noStore())
+                    .build();
+        }
+        // Conditional requests (If-None-Match / If-Modified-Since) are answered with 304 by Spring
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_JPEG)
+                .contentLength(thumbnail.getLength())
+                .eTag("\"" + Long.toString(thumbnail.getLength(), 36) + "-" + Long.toString(thumbnail.getLastModified(), 36) + "\"")
+                .lastModified(thumbnail.getLastModified())
+                .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable())
+                .body(new FileSystemResource(thumbnail.getPath()));
+    }
+
+    // Resumable upload: start a session, PUT the file in chunks (each with Content-Range:
+    // bytes first-last/total), and after a dropped connection GET the session to learn where to resume.
+    // The response to the last chunk carries the created attachment.
+    @PostMapping("/uploads")
+    public ResponseEntity<UploadStatusDTO> startUpload(@RequestBody StartUploadRequest request) {
+        if (request.getFileSize() != null && request.getFileSize() > MAX_FILE_SIZE) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        try {
+            UploadStatusDTO status = attachmentService.startUpload(request);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .header(HttpHeaders.LOCATION, "/api/attachments/uploads/" + status.getUploadId())
+                    .body(status);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/uploads/{uploadId}")
+    public ResponseEntity<UploadStatusDTO> getUploadStatus(@PathVariable String uploadId) {
+        return attachmentService.getUploadStatus(uploadId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // The body is read from the request stream as it arrives, never buffered whole
+    @PutMapping("/uploads/{uploadId}")
+    public ResponseEntity<UploadStatusDTO> uploadChunk(@PathVariable String uploadId,
+                                                       @RequestHeader(HttpHeaders.CONTENT_RANGE) String contentRange,
+                                                       HttpServletRequest request) throws IOException {
+        Matcher range = CHUNK_RANGE.matcher(contentRange);
+        if (!range.matches()) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            long first = Long.parseLong(range.group(1));
+            long length = Long.parseLong(range.group(2)) - first + 1;
+            long total = Long.parseLong(range.group(3));
+            if (length < 1 || (request.getContentLengthLong() >= 0 && request.getContentLengthLong() != length)) {
+                return ResponseEntity.badRequest().build();
+            }
+            if (length > MAX_CHUNK_SIZE) {
+                return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+            }
+            Optional<UploadStatusDTO> current = attachmentService.getUploadStatus(uploadId);
+            if (current.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (current.get().getFileSize() != total) {
+                return ResponseEntity.badRequest().build();
+            }
+            return attachmentService.uploadChunk(uploadId, first, length, request.getInputStream())
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (UploadConflictException ex) {
+            // Tells the client where to resume from
+            return attachmentService.getUploadStatus(uploadId)
+                    .map(current -> ResponseEntity.status(HttpStatus.CONFLICT).body(current))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @DeleteMapping("/uploads/{uploadId}")
+    public ResponseEntity<Void> cancelUpload(@PathVariable String uploadId) {
+        return attachmentService.cancelUpload(uploadId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    // If-Range: the range only applies when the client's copy is still current; otherwise send everything.
+    // Only a strong ETag or an exact Last-Modified date can match.
+    private static boolean rangeStillValid(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) == lastModified / 1000 * 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // {first, last} byte positions spanning every satisfiable range, null to ignore a malformed header,
+    // or UNSATISFIABLE when no range overlaps the file
+    private static long[] coalesce(String rangeHeader, long length) {
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        long first = Long.MAX_VALUE;
+        long last = -1;
+        for (HttpRange range : ranges) {
+            try {
+                long rangeStart = range.getRangeStart(length);
+                long rangeEnd = range.getRangeEnd(length);
+                if (rangeStart < length && rangeStart <= rangeEnd) {
+                    first = Math.min(first, rangeStart);
+                    last = Math.max(last, rangeEnd);
+                }
+            } catch (IllegalArgumentException e) {
+                // Not satisfiable for this length; the other ranges may still be
+            }
+        }
+        return last < 0 ? UNSATISFIABLE : new long[]{first, last};
+    }
+}
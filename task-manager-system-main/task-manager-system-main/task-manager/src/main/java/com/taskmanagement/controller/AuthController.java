@@ -2,13 +2,20 @@ package com.taskmanagement.controller;
 
 import com.taskmanagement.config.AuthService;
 import com.taskmanagement.dto.request.LoginRequest;
+import com.taskmanagement.dto.request.RefreshTokenRequest;
 import com.taskmanagement.dto.response.LoginResponse;
+import com.taskmanagement.security.LoginThrottle;
+import com.taskmanagement.security.PasswordHashingBusyException;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -17,23 +24,61 @@ import java.util.Optional;
 public class AuthController {
 
     private final AuthService authService;
+    private final LoginThrottle loginThrottle;
 
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String BUSY_RETRY_AFTER_SECONDS = "1";
+
+    // Completes asynchronously: the request thread is released while the password is hashed.
+    // 429 when the IP or username is throttled, 503 when the hashing pool is saturated.
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest request) {
-        Optional<LoginResponse> response = authService.authenticate(request);
-        
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        long retryAfter = loginThrottle.tryAcquire(httpRequest.getRemoteAddr(), request.getUsername());
+        if (retryAfter > 0) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter))
+                    .body("Too many login attempts, try again later"));
+        }
+
+        return authService.authenticate(request)
+                .<ResponseEntity<?>>thenApply(response -> response.isEmpty()
+                        ? ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                                .body("Invalid username or password, or account is inactive")
+                        : ResponseEntity.ok(response.get()))
+                .exceptionally(ex -> {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    if (cause instanceof PasswordHashingBusyException) {
+                        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header(HttpHeaders.RETRY_AFTER, BUSY_RETRY_AFTER_SECONDS)
+                                .build();
+                    }
+                    throw ex instanceof CompletionException completion ? completion : new CompletionException(ex);
+                });
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshTokenRequest request) {
+        if (request.getRefreshToken() == null || request.getRefreshToken().isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        Optional<LoginResponse> response = authService.refresh(request.getRefreshToken());
+
         if (response.isEmpty()) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body("Invalid username or password, or account is inactive");
+                    .body("Invalid or expired refresh token, or account is inactive");
         }
 
         return ResponseEntity.ok(response.get());
     }
 
+    // Revokes the bearer access token and, if the body carries it, the refresh token
     @PostMapping("/logout")
-    public ResponseEntity<?> logout() {
-        // For now, logout is handled on the client side by clearing localStorage
-        // If using JWT tokens in the future, we would invalidate the token here
+    public ResponseEntity<?> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                    @RequestBody(required = false) RefreshTokenRequest request) {
+        String accessToken = authorization != null && authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())
+                ? authorization.substring(BEARER_PREFIX.length()).trim()
+                : null;
+        authService.logout(accessToken, request != null ? request.getRefreshToken() : null);
         return ResponseEntity.ok().body("Logged out successfully");
     }
 }
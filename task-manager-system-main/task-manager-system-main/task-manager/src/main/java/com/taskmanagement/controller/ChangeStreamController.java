@@ -0,0 +1,29 @@
+package com.taskmanagement.controller;
+
+import com.taskmanagement.event.ChangeStreamBroadcaster;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/stream")
+@RequiredArgsConstructor
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:5174"})
+public class ChangeStreamController {
+
+    private final ChangeStreamBroadcaster broadcaster;
+
+    // Live task/comment/activity/user change events (replaces polling /api/tasks and /api/activities/recent).
+    // Pass taskId to only receive events for one task, e.g. from the task detail page.
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(required = false) Integer taskId,
+                             @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return broadcaster.subscribe(taskId, lastEventId != null);
+    }
+}
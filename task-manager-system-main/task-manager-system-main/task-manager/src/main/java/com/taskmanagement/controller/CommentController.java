@@ -2,10 +2,15 @@ package com.taskmanagement.controller;
 
 import com.taskmanagement.dto.request.CreateCommentRequest;
 import com.taskmanagement.dto.response.CommentDTO;
+import com.taskmanagement.dto.response.CommentThreadDTO;
+import com.taskmanagement.dto.response.CursorPage;
+import com.taskmanagement.event.DataChangedEvent;
+import com.taskmanagement.event.DataVersions;
 import com.taskmanagement.service.CommentService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -16,16 +21,70 @@ import java.util.List;
 public class CommentController {
 
     private final CommentService commentService;
+    private final DataVersions dataVersions;
+
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_REPLIES_PER_THREAD = 50;
 
     @GetMapping("/task/{taskId}")
     public List<CommentDTO> getCommentsByTaskId(@PathVariable Integer taskId) {
         return commentService.getCommentsByTaskId(taskId);
     }
 
+    // Top-level comments, oldest first, each with its first replies; the token for the next page of
+    // threads is returned in the X-Next-Cursor header
+    @GetMapping("/task/{taskId}/threads")
+    public ResponseEntity<List<CommentThreadDTO>> getCommentThreads(@PathVariable Integer taskId,
+                                                                    @RequestParam(required = false) String cursor,
+                                                                    @RequestParam(defaultValue = "20") int limit,
+                                                                    @RequestParam(defaultValue = "3") int replies,
+                                                                    WebRequest webRequest) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE || replies < 0 || replies > MAX_REPLIES_PER_THREAD) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (dataVersions.checkNotModified(webRequest, DataChangedEvent.Resource.COMMENTS,
+                "threads", taskId, cursor, limit, replies)) {
+            return null;
+        }
+        try {
+            return withNextCursor(commentService.getCommentThreads(taskId, cursor, limit, replies));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/{commentId}/replies")
+    public ResponseEntity<List<CommentDTO>> getReplies(@PathVariable Integer commentId,
+                                                       @RequestParam(required = false) String cursor,
+                                                       @RequestParam(defaultValue = "20") int limit,
+                                                       WebRequest webRequest) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (dataVersions.checkNotModified(webRequest, DataChangedEvent.Resource.COMMENTS,
+                "replies", commentId, cursor, limit)) {
+            return null;
+        }
+        try {
+            return commentService.getReplies(commentId, cursor, limit)
+                    .map(this::withNextCursor)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PostMapping
     public ResponseEntity<CommentDTO> createComment(@RequestBody CreateCommentRequest request) {
         CommentDTO created = commentService.createComment(request);
         return ResponseEntity.ok(created);
     }
-}
 
+    private <T> ResponseEntity<List<T>> withNextCursor(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(TaskController.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+}
@@ -0,0 +1,40 @@
+package com.taskmanagement.controller;
+
+import com.taskmanagement.dto.response.SearchResultDTO;
+import com.taskmanagement.service.SearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:5174"})
+public class SearchController {
+
+    private final SearchService searchService;
+
+    private static final int MAX_PAGE_SIZE = 50;
+    // Ranked results are paged by offset; deep pages cost a larger top-k heap, so they are capped
+    private static final int MAX_RESULT_WINDOW = 1000;
+
+    // Searches task titles, descriptions, tags and comments; type = TASK or COMMENT narrows the results
+    @GetMapping
+    public ResponseEntity<SearchResultDTO> search(@RequestParam String q,
+                                                  @RequestParam(required = false) String type,
+                                                  @RequestParam(defaultValue = "0") int page,
+                                                  @RequestParam(defaultValue = "20") int size) {
+        if (q.isBlank() || page < 0 || size < 1 || size > MAX_PAGE_SIZE || (page + 1L) * size > MAX_RESULT_WINDOW) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(searchService.search(q, type, page, size));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -1,22 +1,35 @@
 package com.taskmanagement.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.taskmanagement.dto.request.BulkUpdateTaskRequest;
 import com.taskmanagement.dto.request.CreateTaskRequest;
+import com.taskmanagement.dto.request.TaskFilter;
 import com.taskmanagement.dto.request.UpdateTaskRequest;
+import com.taskmanagement.dto.response.BulkTaskResultDTO;
+import com.taskmanagement.dto.response.CursorPage;
+import com.taskmanagement.dto.response.TaskChangesDTO;
 import com.taskmanagement.dto.response.TaskDTO;
 import com.taskmanagement.dto.response.TaskSimpleDTO;
+import com.taskmanagement.dto.response.TaskStatsDTO;
+import com.taskmanagement.event.DataChangedEvent;
+import com.taskmanagement.event.DataVersions;
 import com.taskmanagement.service.TaskService;
 
 import lombok.RequiredArgsConstructor;
@@ -27,12 +40,43 @@ import lombok.RequiredArgsConstructor;
 @CrossOrigin(origins = {"http://localhost:5173", "http://localhost:5174"})
 public class TaskController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final TaskService taskService;
+    private final DataVersions dataVersions;
+
+    private static final int DEFAULT_PAGE_SIZE = 500;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_BULK_SIZE = 500;
 
-    // Get all active tasks (for Kanban board)
+    // Get active tasks (for Kanban board), filtered in the database. Without limit or cursor the whole
+    // board is returned; with either, it is keyset-paginated and the token for the next page is returned
+    // in the X-Next-Cursor header.
     @GetMapping("/tasks")
-    public List<TaskSimpleDTO> getAllTasks() {
-        return taskService.getAllActiveTasks();
+    public ResponseEntity<List<TaskSimpleDTO>> getAllTasks(TaskFilter filter,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(required = false) Integer limit,
+                                                           WebRequest webRequest) {
+        if (limit != null && (limit < 1 || limit > MAX_PAGE_SIZE)) {
+            return ResponseEntity.badRequest().build();
+        }
+        // The ETag's version is read before the page's cache key, so the body is never older than the tag
+        if (dataVersions.checkNotModified(webRequest, DataChangedEvent.Resource.TASKS, filter, cursor, limit)) {
+            return null;
+        }
+        try {
+            if (cursor == null && limit == null) {
+                return ResponseEntity.ok(taskService.findAllActiveTasks(filter));
+            }
+            CursorPage<TaskSimpleDTO> page = taskService.findActiveTasks(filter, cursor, limit != null ? limit : DEFAULT_PAGE_SIZE);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return response.body(page.getItems());
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     // Get single task with full details
@@ -50,6 +94,24 @@ public class TaskController {
         return ResponseEntity.ok(savedTask);
     }
 
+    // Create many tasks in one transaction (imports); invalid items are skipped and reported per item
+    @PostMapping("/tasks/bulk")
+    public ResponseEntity<BulkTaskResultDTO> createTasks(@RequestBody List<CreateTaskRequest> requests) {
+        if (requests.isEmpty() || requests.size() > MAX_BULK_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(taskService.createTasks(requests));
+    }
+
+    // Update or move many tasks in one transaction; each item carries its taskId plus the fields to change
+    @PatchMapping("/tasks/bulk")
+    public ResponseEntity<BulkTaskResultDTO> updateTasks(@RequestBody List<BulkUpdateTaskRequest> requests) {
+        if (requests.isEmpty() || requests.size() > MAX_BULK_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(taskService.updateTasks(requests));
+    }
+
     // Update task
     @PutMapping("/tasks/{id}")
     public ResponseEntity<TaskDTO> updateTask(@PathVariable Integer id,
@@ -80,6 +142,29 @@ public class TaskController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Incremental sync: tasks created, updated, deleted (tombstones) or restored since the cursor, in commit
+    // order. Not conditional: an empty page is one indexed query.
+    @GetMapping("/tasks/changes")
+    public ResponseEntity<TaskChangesDTO> getTaskChanges(@RequestParam(required = false) String since,
+                                                         @RequestParam(defaultValue = "500") int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(taskService.getTaskChanges(since, limit));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Task counts for the dashboard, grouped in the database; optionally scoped to an assignee and due-date range
+    @GetMapping("/tasks/stats")
+    public TaskStatsDTO getTaskStats(@RequestParam(required = false) Integer userId,
+                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo) {
+        return taskService.getTaskStats(userId, dueFrom, dueTo);
+    }
+
     // Get tasks by status (for dashboard statistics)
     @GetMapping("/tasks/by-status/{status}")
     public List<TaskSimpleDTO> getTasksByStatus(@PathVariable String status) {
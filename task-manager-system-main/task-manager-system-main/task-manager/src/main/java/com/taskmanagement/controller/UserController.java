@@ -1,7 +1,15 @@
 package com.taskmanagement.controller;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -12,12 +20,22 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.taskmanagement.dto.request.CreateUserRequest;
 import com.taskmanagement.dto.request.UpdateUserRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.taskmanagement.dto.response.UserDTO;
+import com.taskmanagement.dto.response.UserImportResultDTO;
+import com.taskmanagement.dto.response.UserImportSummaryDTO;
+import com.taskmanagement.event.DataChangedEvent;
+import com.taskmanagement.event.DataVersions;
+import com.taskmanagement.importer.UserImportReader;
+import com.taskmanagement.security.PasswordHashingBusyException;
 import com.taskmanagement.service.UserService;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -27,10 +45,15 @@ import lombok.RequiredArgsConstructor;
 public class UserController {
 
     private final UserService userService;
+    private final DataVersions dataVersions;
+    private final ObjectMapper objectMapper;
 
     // Get all users
     @GetMapping
-    public List<UserDTO> getAllUsers() {
+    public List<UserDTO> getAllUsers(WebRequest webRequest) {
+        if (dataVersions.checkNotModified(webRequest, DataChangedEvent.Resource.USERS)) {
+            return null;
+        }
         return userService.getAllUsers();
     }
 
@@ -50,6 +73,34 @@ public class UserController {
             return ResponseEntity.ok(created);
         } catch (IllegalArgumentException ex) {
             return ResponseEntity.badRequest().build();
+        } catch (PasswordHashingBusyException ex) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    // Bulk import from a CSV file (header: username,email,password,fullName[,role][,avatarColor]) or NDJSON.
+    // Answers with one NDJSON result line per row as the import progresses, then a summary line.
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        UserImportReader.Format format = MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(request.getContentType()))
+                ? UserImportReader.Format.NDJSON
+                : UserImportReader.Format.CSV;
+        Charset charset = request.getCharacterEncoding() != null
+                ? Charset.forName(request.getCharacterEncoding())
+                : StandardCharsets.UTF_8;
+        try (UserImportReader rows = new UserImportReader(
+                new InputStreamReader(request.getInputStream(), charset), format, objectMapper)) {
+            try {
+                rows.hasNext();
+            } catch (IllegalArgumentException ex) {
+                response.sendError(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
+                return;
+            }
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            OutputStream out = response.getOutputStream();
+            UserImportSummaryDTO summary = userService.importUsers(rows, results -> writeChunk(out, results));
+            writeLine(out, summary);
         }
     }
 
@@ -57,9 +108,13 @@ public class UserController {
     @PutMapping("/{id}")
     public ResponseEntity<UserDTO> updateUser(@PathVariable Integer id,
                                               @RequestBody UpdateUserRequest request) {
-        return userService.updateUser(id, request)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+        try {
+            return userService.updateUser(id, request)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (PasswordHashingBusyException ex) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
     }
 
     // Delete user (actually just deactivate)
@@ -79,4 +134,25 @@ public class UserController {
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
+
+    // Flushed per chunk, so the client sees each chunk's results as soon as it is committed
+    private void writeChunk(OutputStream out, List<UserImportResultDTO> results) {
+        for (UserImportResultDTO result : results) {
+            writeLine(out, result);
+        }
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
\ No newline at end of file
@@ -1,19 +1,23 @@
 package com.taskmanagement.controller;
 
+import com.taskmanagement.config.CacheConfig;
 import com.taskmanagement.entity.Task;
 import com.taskmanagement.entity.User;
+import com.taskmanagement.event.DataChangedEvent;
 import com.taskmanagement.repository.TaskRepo;
 import com.taskmanagement.repository.UserRepo;
 import com.taskmanagement.repository.CategoryRepo;
+import com.taskmanagement.security.PasswordHasher;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Controller
 @RequiredArgsConstructor
@@ -22,14 +26,13 @@ public class WebController {
     private final TaskRepo taskRepository;
     private final UserRepo userRepository;
     private final CategoryRepo categoryRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final ApplicationEventPublisher eventPublisher;
 
     // Existing GET mappings...
     @GetMapping("/")
     public String home(Model model) {
-        List<Task> activeTasks = taskRepository.findAll().stream()
-                .filter(task -> !task.isDeleted())
-                .collect(Collectors.toList());
+        List<Task> activeTasks = taskRepository.findActive();
 
         model.addAttribute("tasks", activeTasks);
         model.addAttribute("users", userRepository.findAll());
@@ -38,9 +41,7 @@ public class WebController {
 
     @GetMapping("/tasks")
     public String tasks(Model model) {
-        List<Task> activeTasks = taskRepository.findAll().stream()
-                .filter(task -> !task.isDeleted())
-                .collect(Collectors.toList());
+        List<Task> activeTasks = taskRepository.findActive();
 
         model.addAttribute("tasks", activeTasks);
         model.addAttribute("users", userRepository.findAll());
@@ -59,7 +60,7 @@ public class WebController {
     public String createUser(@ModelAttribute User user,
                              @RequestParam String password) {
         // Set password hash
-        user.setPasswordHash(passwordEncoder.encode(password));
+        user.setPasswordHash(passwordHasher.encode(password));
         // Set default status
         user.setStatus(User.UserStatus.ACTIVE);
         // Generate random color if not provided
@@ -68,45 +69,63 @@ public class WebController {
             user.setAvatarColor(colors[(int) (Math.random() * colors.length)]);
         }
 
-        userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(DataChangedEvent.userChanged(DataChangedEvent.ChangeType.CREATED, saved.getUserId()));
         return "redirect:/users";
     }
 
     @PostMapping("/tasks/create")
+    @CacheEvict(cacheNames = {CacheConfig.TASK_LISTS, CacheConfig.TASK_STATS}, allEntries = true)
     public String createTask(@ModelAttribute Task task) {
         // Set deleted to false for new tasks
         task.setDeleted(false);
 
-        taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        eventPublisher.publishEvent(DataChangedEvent.taskChanged(DataChangedEvent.ChangeType.CREATED, saved.getTaskId()));
         return "redirect:/tasks";
     }
 
     @PostMapping("/tasks/update-status/{id}")
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TASK_BY_ID, key = "#id"),
+            @CacheEvict(cacheNames = {CacheConfig.TASK_LISTS, CacheConfig.TASK_STATS}, allEntries = true)
+    })
     public String updateTaskStatus(@PathVariable Integer id,
                                    @RequestParam String status) {
         taskRepository.findById(id).ifPresent(task -> {
             task.setStatus(Task.TaskStatus.valueOf(status));
             taskRepository.save(task);
+            eventPublisher.publishEvent(DataChangedEvent.taskChanged(DataChangedEvent.ChangeType.UPDATED, id));
         });
         return "redirect:/tasks";
     }
 
     @PostMapping("/tasks/update-priority/{id}")
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TASK_BY_ID, key = "#id"),
+            @CacheEvict(cacheNames = {CacheConfig.TASK_LISTS, CacheConfig.TASK_STATS}, allEntries = true)
+    })
     public String updateTaskPriority(@PathVariable Integer id,
                                      @RequestParam String priority) {
         taskRepository.findById(id).ifPresent(task -> {
             task.setPriority(Task.TaskPriority.valueOf(priority));
             taskRepository.save(task);
+            eventPublisher.publishEvent(DataChangedEvent.taskChanged(DataChangedEvent.ChangeType.UPDATED, id));
         });
         return "redirect:/tasks";
     }
 
     @PostMapping("/tasks/delete/{id}")
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TASK_BY_ID, key = "#id"),
+            @CacheEvict(cacheNames = {CacheConfig.TASK_LISTS, CacheConfig.TASK_STATS}, allEntries = true)
+    })
     public String deleteTask(@PathVariable Integer id) {
         taskRepository.findById(id).ifPresent(task -> {
             task.setDeleted(true);
             task.setDeletedAt(LocalDateTime.now());
             taskRepository.save(task);
+            eventPublisher.publishEvent(DataChangedEvent.taskChanged(DataChangedEvent.ChangeType.DELETED, id));
         });
         return "redirect:/tasks";
     }
@@ -0,0 +1,77 @@
+package com.taskmanagement.dto;
+
+import com.taskmanagement.archive.ArchivedActivity;
+import com.taskmanagement.dto.response.ActivityLogDTO;
+import com.taskmanagement.entity.ActivityLog;
+import com.taskmanagement.repository.ActivityLogRepo;
+import com.taskmanagement.repository.ActivityRollupRepo;
+
+// Every source of activity history -> ActivityLogDTO: activity_log rows (entities or feed projections),
+// archived rows and daily rollups
+public final class ActivityDtoMapper {
+
+    private ActivityDtoMapper() {
+    }
+
+    public static ActivityLogDTO toDTO(ActivityLogRepo.ActivityFeedRow row) {
+        return ActivityLogDTO.builder()
+                .activityId(row.getActivityId())
+                .taskId(row.getTaskId())
+                .taskTitle(row.getTaskTitle())
+                .userId(row.getUserId())
+                .userFullName(row.getUserFullName())
+                .actionType(row.getActionType() != null ? row.getActionType().toString() : null)
+                .oldValue(row.getOldValue())
+                .newValue(row.getNewValue())
+                .description(row.getDescription())
+                .createdAt(row.getCreatedAt())
+                .build();
+    }
+
+    public static ActivityLogDTO toDTO(ArchivedActivity archived) {
+        return ActivityLogDTO.builder()
+                .activityId(archived.getActivityId())
+                .taskId(archived.getTaskId())
+                .taskTitle(archived.getTaskTitle())
+                .userId(archived.getUserId())
+                .userFullName(archived.getUserFullName())
+                .actionType(archived.getActionType().toString())
+                .oldValue(archived.getOldValue())
+                .newValue(archived.getNewValue())
+                .description(archived.getDescription())
+                .createdAt(archived.getCreatedAt())
+                .build();
+    }
+
+    public static ActivityLogDTO toDTO(ActivityRollupRepo.RollupFeedRow rollup) {
+        return ActivityLogDTO.builder()
+                .taskId(rollup.getTaskId())
+                .taskTitle(rollup.getTaskTitle())
+                .userId(rollup.getUserId())
+                .userFullName(rollup.getUserFullName())
+                .actionType(rollup.getActionType().toString())
+                .description(rollup.getActivityCount() + " " + rollup.getActionType().toString().toLowerCase()
+                        + " activities on " + rollup.getActivityDate())
+                .createdAt(rollup.getLastAt())
+                .count(rollup.getActivityCount())
+                .build();
+    }
+
+    public static ActivityLogDTO toDTO(ActivityLog activityLog) {
+        Integer taskId = activityLog.getTask() != null ? activityLog.getTask().getTaskId() : null;
+        Integer userId = activityLog.getUser() != null ? activityLog.getUser().getUserId() : null;
+        
+        return ActivityLogDTO.builder()
+                .activityId(activityLog.getActivityId())
+                .taskId(taskId)
+                .taskTitle(activityLog.getTask() != null ? activityLog.getTask().getTitle() : null)
+                .userId(userId)
+                .userFullName(activityLog.getUser() != null ? activityLog.getUser().getFullName() : null)
+                .actionType(activityLog.getActionType() != null ? activityLog.getActionType().toString() : null)
+                .oldValue(activityLog.getOldValue())
+                .newValue(activityLog.getNewValue())
+                .description(activityLog.getDescription())
+                .createdAt(activityLog.getCreatedAt())
+                .build();
+    }
+}
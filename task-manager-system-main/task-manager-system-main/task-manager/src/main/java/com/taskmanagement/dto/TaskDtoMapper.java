@@ -0,0 +1,70 @@
+package com.taskmanagement.dto;
+
+import com.taskmanagement.dto.response.TaskDTO;
+import com.taskmanagement.dto.response.TaskSimpleDTO;
+import com.taskmanagement.entity.Task;
+import com.taskmanagement.entity.TaskAssignment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Task entity -> response DTOs. Reads the category, creator, assignments (with users) and tags, so list
+// callers load those up front (TaskRepo.fetchBoardDetails).
+public final class TaskDtoMapper {
+
+    private TaskDtoMapper() {
+    }
+
+    public static TaskSimpleDTO toSimpleDTO(Task task) {
+        List<String> tagNames = task.getTags().stream()
+                .map(tag -> tag.getName())
+                .collect(Collectors.toList());
+        List<Integer> assigneeIds = new ArrayList<>(task.getTaskAssignments().size());
+        List<String> assigneeNames = new ArrayList<>(task.getTaskAssignments().size());
+        for (TaskAssignment assignment : task.getTaskAssignments()) {
+            assigneeIds.add(assignment.getUser().getUserId());
+            assigneeNames.add(assignment.getUser().getFullName());
+        }
+
+        return TaskSimpleDTO.builder()
+                .taskId(task.getTaskId())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .status(task.getStatus().toString())
+                .priority(task.getPriority().toString())
+                .startDate(task.getStartDate())
+                .dueDate(task.getDueDate())
+                .categoryName(task.getCategory() != null ? task.getCategory().getName() : null)
+                .createdByUsername(task.getCreatedBy() != null ? task.getCreatedBy().getUsername() : null)
+                .assigneeCount(assigneeIds.size())
+                .assigneeIds(assigneeIds)
+                .assigneeNames(assigneeNames)
+                .tags(tagNames)
+                .createdAt(task.getCreatedAt())
+                .updatedAt(task.getUpdatedAt())
+                .build();
+    }
+
+    public static TaskDTO toFullDTO(Task task) {
+        return TaskDTO.builder()
+                .taskId(task.getTaskId())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .status(task.getStatus().toString())
+                .priority(task.getPriority().toString())
+                .startDate(task.getStartDate())
+                .dueDate(task.getDueDate())
+                .categoryName(task.getCategory() != null ? task.getCategory().getName() : null)
+                .createdByUsername(task.getCreatedBy() != null ? task.getCreatedBy().getUsername() : null)
+                .assignedUsers(task.getTaskAssignments().stream()
+                        .map(assignment -> assignment.getUser().getFullName())
+                        .collect(Collectors.toList()))
+                .tags(task.getTags().stream()
+                        .map(tag -> tag.getName())
+                        .collect(Collectors.toList()))
+                .createdAt(task.getCreatedAt())
+                .updatedAt(task.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,11 @@
+package com.taskmanagement.dto.request;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+// One item of PATCH /api/tasks/bulk: the task to change plus the same optional fields as a single update
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class BulkUpdateTaskRequest extends UpdateTaskRequest {
+    private Integer taskId;
+}
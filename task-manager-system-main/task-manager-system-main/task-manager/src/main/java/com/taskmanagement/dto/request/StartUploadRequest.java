@@ -0,0 +1,22 @@
+package com.taskmanagement.dto.request;
+
+import lombok.Data;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+@Data
+public class StartUploadRequest {
+    @NotNull
+    private Integer taskId;
+
+    @NotNull
+    private Integer userId;
+
+    @NotBlank
+    private String fileName;
+
+    @NotNull
+    private Long fileSize;
+
+    private String mimeType;
+}
@@ -17,5 +17,6 @@ public class ActivityLogDTO {
     private String newValue;
     private String description;
     private LocalDateTime createdAt;
+    private Integer count;      // set on daily rollups of pruned activity (activityId is then null)
 }
 
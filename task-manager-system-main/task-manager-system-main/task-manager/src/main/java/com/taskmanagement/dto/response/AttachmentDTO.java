@@ -0,0 +1,17 @@
+package com.taskmanagement.dto.response;
+
+import lombok.Data;
+import lombok.Builder;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class AttachmentDTO {
+    private Integer attachmentId;
+    private Integer taskId;
+    private String fileName;
+    private Long fileSize;
+    private String mimeType;
+    private Integer uploadedById;
+    private LocalDateTime uploadedAt;
+}
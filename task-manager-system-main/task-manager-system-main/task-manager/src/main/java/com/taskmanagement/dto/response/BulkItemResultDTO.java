@@ -0,0 +1,13 @@
+package com.taskmanagement.dto.response;
+
+import lombok.Data;
+import lombok.Builder;
+
+@Data
+@Builder
+public class BulkItemResultDTO {
+    private int index;          // position of the item in the request body
+    private Integer taskId;
+    private String status;      // CREATED, UPDATED, NOT_FOUND or INVALID
+    private String error;
+}
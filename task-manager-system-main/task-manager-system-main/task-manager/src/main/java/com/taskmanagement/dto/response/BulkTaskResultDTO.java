@@ -0,0 +1,13 @@
+package com.taskmanagement.dto.response;
+
+import lombok.Data;
+import lombok.Builder;
+import java.util.List;
+
+@Data
+@Builder
+public class BulkTaskResultDTO {
+    private int succeeded;
+    private int failed;
+    private List<BulkItemResultDTO> results;
+}
@@ -0,0 +1,15 @@
+package com.taskmanagement.dto.response;
+
+import lombok.Data;
+import lombok.Builder;
+import java.util.List;
+
+@Data
+@Builder
+public class CommentThreadDTO {
+    private CommentDTO comment;
+    private List<CommentDTO> replies;
+    private long replyCount;
+    // Continues the replies via /api/comments/{commentId}/replies; null when all replies are included
+    private String repliesCursor;
+}
@@ -0,0 +1,12 @@
+package com.taskmanagement.dto.response;
+
+import lombok.Data;
+import lombok.Builder;
+import java.util.List;
+
+@Data
+@Builder
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+}
@@ -6,7 +6,12 @@ import lombok.Builder;
 @Data
 @Builder
 public class LoginResponse {
+    // Short-lived access token, sent as "Authorization: Bearer <token>"
     private String token;
+    private String tokenType;
+    // Seconds until the access token expires
+    private long expiresIn;
+    // Exchanged at /api/auth/refresh for a new pair; each refresh token works once
+    private String refreshToken;
     private UserDTO user;
 }
-
@@ -0,0 +1,16 @@
+package com.taskmanagement.dto.response;
+
+import lombok.Data;
+import lombok.Builder;
+
+@Data
+@Builder
+public class SearchHitDTO {
+    private String type;
+    private Integer id;
+    private Integer taskId;
+    // HTML-escaped, with matched terms wrapped in <mark>
+    private String title;
+    private String snippet;
+    private float score;
+}
@@ -0,0 +1,15 @@
+package com.taskmanagement.dto.response;
+
+import lombok.Data;
+import lombok.Builder;
+import java.util.List;
+
+@Data
+@Builder
+public class SearchResultDTO {
+    private String query;
+    private int total;
+    private int page;
+    private int size;
+    private List<SearchHitDTO> hits;
+}
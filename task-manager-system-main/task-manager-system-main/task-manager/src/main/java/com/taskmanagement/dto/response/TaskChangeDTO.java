@@ -0,0 +1,14 @@
+package com.taskmanagement.dto.response;
+
+import lombok.Data;
+import lombok.Builder;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class TaskChangeDTO {
+    private Integer taskId;
+    private boolean deleted;        // tombstone: drop the task from local state
+    private TaskSimpleDTO task;     // current state, null for tombstones
+    private LocalDateTime changedAt;
+}
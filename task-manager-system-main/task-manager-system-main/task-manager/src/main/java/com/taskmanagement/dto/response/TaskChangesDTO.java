@@ -0,0 +1,13 @@
+package com.taskmanagement.dto.response;
+
+import lombok.Data;
+import lombok.Builder;
+import java.util.List;
+
+@Data
+@Builder
+public class TaskChangesDTO {
+    private List<TaskChangeDTO> changes;
+    private String cursor;      // pass back as ?since= on the next sync
+    private boolean hasMore;
+}
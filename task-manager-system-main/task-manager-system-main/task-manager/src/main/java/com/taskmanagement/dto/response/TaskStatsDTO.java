@@ -0,0 +1,16 @@
+package com.taskmanagement.dto.response;
+
+import lombok.Data;
+import lombok.Builder;
+import java.util.Map;
+
+@Data
+@Builder
+public class TaskStatsDTO {
+    private long total;
+    private long overdue;
+    private Map<String, Long> byStatus;
+    private Map<String, Long> byPriority;
+    private Map<String, Long> byCategory;
+    private Map<Integer, Long> byAssignee;
+}
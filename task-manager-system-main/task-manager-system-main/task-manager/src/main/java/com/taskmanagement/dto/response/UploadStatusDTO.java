@@ -0,0 +1,17 @@
+package com.taskmanagement.dto.response;
+
+import lombok.Data;
+import lombok.Builder;
+
+@Data
+@Builder
+public class UploadStatusDTO {
+    private String uploadId;
+    private String fileName;
+    private long fileSize;
+    // Bytes received; the next chunk starts here
+    private long offset;
+    private boolean complete;
+    // Set once the last chunk has been received
+    private AttachmentDTO attachment;
+}
@@ -0,0 +1,14 @@
+package com.taskmanagement.dto.response;
+
+import lombok.Data;
+import lombok.Builder;
+
+@Data
+@Builder
+public class UserImportResultDTO {
+    private int line;           // line of the import file the row starts on
+    private String username;
+    private Integer userId;
+    private String status;      // CREATED, DUPLICATE, INVALID or FAILED
+    private String error;
+}
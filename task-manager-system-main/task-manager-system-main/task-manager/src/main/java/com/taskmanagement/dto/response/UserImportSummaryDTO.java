@@ -0,0 +1,12 @@
+package com.taskmanagement.dto.response;
+
+import lombok.Data;
+import lombok.Builder;
+
+// Last line of an import report; its absence means the import was cut short
+@Data
+@Builder
+public class UserImportSummaryDTO {
+    private int created;
+    private int failed;
+}
@@ -0,0 +1,63 @@
+package com.taskmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Per day/task/user/action counts of activity_log rows pruned by the retention job
+@Entity
+@Table(name = "activity_daily_rollup",
+        uniqueConstraints = @UniqueConstraint(name = "unique_rollup",
+                columnNames = {"activity_date", "task_id", "user_id", "action_type"}),
+        indexes = {
+                @Index(name = "idx_rollup_date", columnList = "activity_date, rollup_id"),
+                @Index(name = "idx_rollup_task_date", columnList = "task_id, activity_date")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class ActivityDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "activity_daily_rollup_id")
+    @TableGenerator(name = "activity_daily_rollup_id", table = "id_generators", pkColumnName = "gen_name",
+            valueColumnName = "next_val", pkColumnValue = "activity_daily_rollup", allocationSize = 50)
+    @Column(name = "rollup_id")
+    @EqualsAndHashCode.Include
+    private Integer rollupId;
+
+    @Column(name = "activity_date", nullable = false)
+    private LocalDate activityDate;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "task_id", nullable = false)
+    @JsonIgnore
+    private Task task;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "action_type", nullable = false)
+    private ActivityLog.ActionType actionType;
+
+    @Column(name = "activity_count", nullable = false)
+    private int activityCount;
+
+    @Column(name = "first_at", nullable = false)
+    private LocalDateTime firstAt;
+
+    @Column(name = "last_at", nullable = false)
+    private LocalDateTime lastAt;
+}
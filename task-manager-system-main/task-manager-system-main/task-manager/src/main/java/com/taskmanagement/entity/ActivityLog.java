@@ -11,7 +11,10 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "activity_log")
+@Table(name = "activity_log", indexes = {
+        @Index(name = "idx_activity_created", columnList = "created_at, activity_id"),
+        @Index(name = "idx_activity_task_created", columnList = "task_id, created_at, activity_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -20,7 +23,9 @@ import java.time.LocalDateTime;
 public class ActivityLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "activity_log_id")
+    @TableGenerator(name = "activity_log_id", table = "id_generators", pkColumnName = "gen_name",
+            valueColumnName = "next_val", pkColumnValue = "activity_log", allocationSize = 50)
     @Column(name = "activity_id")
     @EqualsAndHashCode.Include
     private Integer activityId;
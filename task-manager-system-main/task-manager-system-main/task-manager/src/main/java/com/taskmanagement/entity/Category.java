@@ -1,18 +1,24 @@
 package com.taskmanagement.entity;
 
 import jakarta.persistence.*;
+import com.taskmanagement.config.CacheConfig;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+// Read for nearly every task and comment write, rarely changed (see CacheConfig)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.CATEGORY_REGION)
 @Table(name = "categories")
 @Getter
 @Setter
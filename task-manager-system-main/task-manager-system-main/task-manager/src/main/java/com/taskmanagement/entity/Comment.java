@@ -12,7 +12,9 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        @Index(name = "idx_comments_thread", columnList = "task_id, parent_comment_id, created_at, comment_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -26,7 +28,7 @@ public class Comment {
     @EqualsAndHashCode.Include
     private Integer commentId;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "task_id", nullable = false)
     @JsonIgnore
     private Task task;
@@ -0,0 +1,33 @@
+package com.taskmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+// Lease that lets only one node at a time run a scheduled job (see JobLocks)
+@Entity
+@Table(name = "job_locks")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class JobLock {
+
+    @Id
+    @Column(name = "lock_name", length = 64)
+    @EqualsAndHashCode.Include
+    private String name;
+
+    // The lock is free once this has passed
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "locked_by", nullable = false)
+    private String lockedBy;
+}
@@ -0,0 +1,35 @@
+package com.taskmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+// Refresh tokens that were rotated or logged out, shared by all nodes (see AuthService.refresh).
+// Rows are only needed until the token would have expired anyway (see RevokedTokenCleanupJob).
+@Entity
+@Table(name = "revoked_refresh_tokens",
+        indexes = @Index(name = "idx_revoked_refresh_expires", columnList = "expires_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class RevokedRefreshToken {
+
+    // The token's jti claim
+    @Id
+    @Column(name = "token_id", length = 32)
+    @EqualsAndHashCode.Include
+    private String tokenId;
+
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -16,7 +16,10 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_active_updated", columnList = "is_deleted, updated_at, task_id"),
+        @Index(name = "idx_tasks_change_seq", columnList = "change_seq, task_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -25,7 +28,10 @@ import java.util.Set;
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled table ids (MySQL has no sequences) so Hibernate can batch inserts; IDENTITY disables batching
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "tasks_id")
+    @TableGenerator(name = "tasks_id", table = "id_generators", pkColumnName = "gen_name",
+            valueColumnName = "next_val", pkColumnValue = "tasks", allocationSize = 50)
     @Column(name = "task_id")
     @EqualsAndHashCode.Include
     private Integer taskId;
@@ -64,6 +70,13 @@ public class Task {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Position in the change feed, stamped by TaskChangeSequencer in the writing transaction.
+    // Never written through the entity, so a later flush can't overwrite it with a stale value.
+    @JsonIgnore
+    @Column(name = "change_seq", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "BIGINT DEFAULT 0")
+    private long changeSeq;
+
     // Relationships
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "category_id")
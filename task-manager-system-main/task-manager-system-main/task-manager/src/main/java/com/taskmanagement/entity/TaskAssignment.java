@@ -20,18 +20,23 @@ import java.time.LocalDateTime;
 public class TaskAssignment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "task_assignments_id")
+    @TableGenerator(name = "task_assignments_id", table = "id_generators", pkColumnName = "gen_name",
+            valueColumnName = "next_val", pkColumnValue = "task_assignments", allocationSize = 50)
     @Column(name = "assignment_id")
-    @EqualsAndHashCode.Include
     private Integer assignmentId;
 
+    // Equality follows the (task_id, user_id) unique key: new assignments have no id yet,
+    // and comparing by id made every unsaved assignment in a task's set equal to the others
     @ManyToOne
     @JoinColumn(name = "task_id", nullable = false)
     @JsonIgnore
+    @EqualsAndHashCode.Include
     private Task task;
 
     @ManyToOne
     @JoinColumn(name = "user_id", nullable = false)
+    @EqualsAndHashCode.Include
     private User user;
 
     @Column(name = "assigned_at")
@@ -1,6 +1,7 @@
 package com.taskmanagement.entity;
 
 import jakarta.persistence.*;
+import com.taskmanagement.config.CacheConfig;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
@@ -9,12 +10,17 @@ import lombok.EqualsAndHashCode;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+// Read for nearly every task and comment write, rarely changed (see CacheConfig)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.USER_REGION)
 @Table(name = "users")
 @Getter
 @Setter
@@ -24,7 +30,9 @@ import java.util.Set;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "users_id")
+    @TableGenerator(name = "users_id", table = "id_generators", pkColumnName = "gen_name",
+            valueColumnName = "next_val", pkColumnValue = "users", allocationSize = 50)
     @Column(name = "user_id")
     @EqualsAndHashCode.Include
     private Integer userId;
@@ -53,6 +61,12 @@ public class User {
     @Column(name = "avatar_color", length = 7)
     private String avatarColor;
 
+    // Embedded in refresh tokens; bumping it invalidates every refresh token issued before
+    // (see AuthService.refresh)
+    @JsonIgnore
+    @Column(name = "token_version", nullable = false, columnDefinition = "INT DEFAULT 0")
+    private int tokenVersion;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,197 @@
+package com.taskmanagement.event;
+
+import com.taskmanagement.entity.ActivityLog;
+import com.taskmanagement.repository.ActivityLogRepo;
+import com.taskmanagement.repository.TaskRepo;
+import com.taskmanagement.repository.UserRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Writes activity-log rows off the request path. Committed ActivityRecordedEvents go into a bounded
+// queue that a single background thread drains into batched inserts. When the queue stays full the
+// publishing thread writes its own row instead (backpressure), and whatever is queued at shutdown is flushed.
+@Slf4j
+@Component
+public class ActivityLogWriter {
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final ActivityLogRepo activityLogRepository;
+    private final TaskRepo taskRepository;
+    private final UserRepo userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<ActivityRecordedEvent> queue;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "activity-log-writer"));
+    private final int batchSize;
+    private final Duration offerTimeout;
+    private final Duration shutdownTimeout;
+    private final Counter written;
+    private final Counter synchronousWrites;
+    private final Counter dropped;
+    private volatile boolean running = true;
+
+    public ActivityLogWriter(ActivityLogRepo activityLogRepository,
+                             TaskRepo taskRepository,
+                             UserRepo userRepository,
+                             ApplicationEventPublisher eventPublisher,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${activity-log.queue-capacity:10000}") int queueCapacity,
+                             @Value("${activity-log.batch-size:200}") int batchSize,
+                             @Value("${activity-log.offer-timeout:50ms}") Duration offerTimeout,
+                             @Value("${activity-log.shutdown-timeout:10s}") Duration shutdownTimeout) {
+        this.activityLogRepository = activityLogRepository;
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.offerTimeout = offerTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+
+        // Also used from after-commit callbacks, where the caller's finished transaction is still bound
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.written = Counter.builder("activity.log.written")
+                .description("Activity-log rows inserted")
+                .register(meterRegistry);
+        this.synchronousWrites = Counter.builder("activity.log.synchronous")
+                .description("Rows written by the publishing thread because the queue was full")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("activity.log.dropped")
+                .description("Rows that could not be inserted")
+                .register(meterRegistry);
+        Gauge.builder("activity.log.queue.depth", queue, Collection::size)
+                .description("Activity-log rows waiting to be written")
+                .register(meterRegistry);
+        Gauge.builder("activity.log.lag", this, ActivityLogWriter::lagMillis)
+                .description("Age of the oldest queued activity-log row")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+
+        writer.execute(this::drain);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onActivityRecorded(ActivityRecordedEvent activity) {
+        try {
+            if (running && queue.offer(activity, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronousWrites.increment();
+        write(List.of(activity));
+    }
+
+    // Takes whatever has accumulated (up to batchSize) as soon as one row is available, so batches
+    // grow with load without adding latency when it's quiet
+    private void drain() {
+        List<ActivityRecordedEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                ActivityRecordedEvent first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Activity-log writer failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<ActivityRecordedEvent> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<ActivityLog> saved = activityLogRepository.saveAll(toEntities(batch));
+                // Published inside the write transaction, so listeners see them after it commits
+                for (ActivityLog activityLog : saved) {
+                    eventPublisher.publishEvent(DataChangedEvent.activityCreated(
+                            activityLog.getActivityId(), activityLog.getTask().getTaskId()));
+                }
+            });
+            written.increment(batch.size());
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                dropped.increment();
+                log.error("Could not write activity log {}", batch.get(0), e);
+                return;
+            }
+            // One bad row (e.g. its task was purged in the meantime) shouldn't lose the rest of the batch
+            log.warn("Activity-log batch of {} failed, retrying rows individually", batch.size(), e);
+            for (ActivityRecordedEvent activity : batch) {
+                write(List.of(activity));
+            }
+        }
+    }
+
+    private List<ActivityLog> toEntities(List<ActivityRecordedEvent> batch) {
+        List<ActivityLog> activityLogs = new ArrayList<>(batch.size());
+        for (ActivityRecordedEvent activity : batch) {
+            ActivityLog activityLog = new ActivityLog();
+            // References only: the ids are known and the rows exist, no need to select them
+            activityLog.setTask(taskRepository.getReferenceById(activity.getTaskId()));
+            activityLog.setUser(userRepository.getReferenceById(activity.getUserId()));
+            activityLog.setActionType(activity.getActionType());
+            activityLog.setOldValue(activity.getOldValue());
+            activityLog.setNewValue(activity.getNewValue());
+            activityLog.setDescription(activity.getDescription());
+            activityLog.setCreatedAt(activity.getCreatedAt());
+            activityLogs.add(activityLog);
+        }
+        return activityLogs;
+    }
+
+    private double lagMillis() {
+        ActivityRecordedEvent oldest = queue.peek();
+        return oldest == null ? 0 : Duration.between(oldest.getCreatedAt(), LocalDateTime.now()).toMillis();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.shutdown();
+        if (!writer.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("Activity-log writer did not finish within {}", shutdownTimeout);
+        }
+        // Rows queued after the writer exited
+        List<ActivityRecordedEvent> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            write(remaining);
+        }
+    }
+}
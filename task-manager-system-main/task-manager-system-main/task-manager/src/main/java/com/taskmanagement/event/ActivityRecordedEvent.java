@@ -0,0 +1,21 @@
+package com.taskmanagement.event;
+
+import com.taskmanagement.entity.ActivityLog;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+// An activity-log row to be written by ActivityLogWriter once the publishing transaction commits
+@Value
+@Builder
+public class ActivityRecordedEvent {
+    Integer taskId;
+    Integer userId;
+    ActivityLog.ActionType actionType;
+    String oldValue;
+    String newValue;
+    String description;
+    @Builder.Default
+    LocalDateTime createdAt = LocalDateTime.now();
+}
@@ -0,0 +1,12 @@
+package com.taskmanagement.event;
+
+import lombok.Value;
+
+// Published when an attachment row is created; derived files (thumbnails) are made from it after commit
+@Value
+public class AttachmentUploadedEvent {
+    Integer attachmentId;
+    Integer taskId;
+    String filePath;
+    String mimeType;
+}
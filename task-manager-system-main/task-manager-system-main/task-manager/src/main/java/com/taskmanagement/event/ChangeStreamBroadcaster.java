@@ -0,0 +1,272 @@
+package com.taskmanagement.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Fans committed DataChangedEvents out to Server-Sent Events subscribers.
+// Each subscriber has a bounded queue drained by a small shared pool; connections are held
+// by async servlet requests, not threads. A subscriber that falls behind has its backlog
+// dropped and receives a "resync" event, after which it should catch up via /api/tasks/changes.
+// A send is a blocking socket write, so a stalled client (full TCP window, half-open connection) would
+// hold a sender thread indefinitely. The heartbeat tick evicts any subscriber whose send has taken longer
+// than send-timeout and interrupts its sender; the pool gets a replacement thread until that one returns,
+// so stalled clients never leave the others without senders.
+@Slf4j
+@Component
+public class ChangeStreamBroadcaster {
+
+    private final ObjectMapper objectMapper;
+    private final Map<Long, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final AtomicLong subscriberIds = new AtomicLong();
+    private final AtomicLong eventIds = new AtomicLong();
+    private final ThreadPoolExecutor senders;
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(
+            runnable -> new Thread(runnable, "sse-heartbeat"));
+    private final Counter resyncs;
+    private final Counter evictions;
+    private final int bufferSize;
+    private final Duration timeout;
+    private final long sendTimeoutNanos;
+
+    public ChangeStreamBroadcaster(ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${stream.buffer-size:256}") int bufferSize,
+                                   @Value("${stream.timeout:30m}") Duration timeout,
+                                   @Value("${stream.sender-threads:4}") int senderThreads,
+                                   @Value("${stream.heartbeat-interval:15s}") Duration heartbeatInterval,
+                                   @Value("${stream.send-timeout:10s}") Duration sendTimeout) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        AtomicLong threadIds = new AtomicLong();
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> new Thread(runnable, "sse-sender-" + threadIds.incrementAndGet()));
+        this.resyncs = Counter.builder("stream.resyncs")
+                .description("Subscribers whose backlog was dropped because they fell behind")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("stream.evictions")
+                .description("Subscribers dropped because a send to them blocked longer than send-timeout")
+                .register(meterRegistry);
+        Gauge.builder("stream.subscribers", subscribers, Map::size)
+                .description("Open change stream connections")
+                .register(meterRegistry);
+        heartbeats.scheduleAtFixedRate(this::heartbeat,
+                heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // taskId == null subscribes to every change; otherwise only changes of that task (and user changes)
+    public SseEmitter subscribe(Integer taskId, boolean reconnect) {
+        return register(new SseEmitter(timeout.toMillis()), taskId, reconnect);
+    }
+
+    SseEmitter register(SseEmitter emitter, Integer taskId, boolean reconnect) {
+        long id = subscriberIds.incrementAndGet();
+        Subscriber subscriber = new Subscriber(id, emitter, taskId, new ArrayBlockingQueue<>(bufferSize));
+        subscribers.put(id, subscriber);
+
+        emitter.onCompletion(() -> subscribers.remove(id));
+        emitter.onTimeout(() -> subscribers.remove(id));
+        emitter.onError(error -> subscribers.remove(id));
+
+        // Events may have been missed while the client was disconnected
+        if (reconnect) {
+            subscriber.resyncNeeded.set(true);
+            schedule(subscriber);
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataChanged(DataChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        String payload;
+        try {
+            // Serialized once and shared by every subscriber
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize change event {}", event, e);
+            return;
+        }
+        OutgoingEvent outgoing = new OutgoingEvent(eventIds.incrementAndGet(), payload);
+
+        for (Subscriber subscriber : subscribers.values()) {
+            if (!subscriber.accepts(event)) {
+                continue;
+            }
+            if (!subscriber.queue.offer(outgoing)) {
+                subscriber.queue.clear();
+                if (subscriber.resyncNeeded.compareAndSet(false, true)) {
+                    resyncs.increment();
+                }
+            }
+            schedule(subscriber);
+        }
+    }
+
+    void heartbeat() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers.values()) {
+            if (subscriber.sendOverdue(now, sendTimeoutNanos)) {
+                evict(subscriber);
+                continue;
+            }
+            subscriber.heartbeatDue.set(true);
+            schedule(subscriber);
+        }
+    }
+
+    // The emitter isn't completed here: completing waits for the blocked send to release the emitter.
+    // The interrupted send fails and drain() completes it, or the servlet container's write timeout does.
+    private void evict(Subscriber subscriber) {
+        if (!subscriber.evicted.compareAndSet(false, true)) {
+            return;
+        }
+        subscribers.remove(subscriber.id);
+        evictions.increment();
+        log.info("Dropping change stream subscriber {}: a send blocked for more than {} ms",
+                subscriber.id, TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos));
+        resizeSenders(1);
+        subscriber.interruptSender();
+    }
+
+    // A replacement thread per evicted subscriber whose drain hasn't returned yet
+    private synchronized void resizeSenders(int delta) {
+        if (delta > 0) {
+            senders.setMaximumPoolSize(senders.getMaximumPoolSize() + delta);
+            senders.setCorePoolSize(senders.getCorePoolSize() + delta);
+        } else {
+            senders.setCorePoolSize(senders.getCorePoolSize() + delta);
+            senders.setMaximumPoolSize(senders.getMaximumPoolSize() + delta);
+        }
+    }
+
+    // At most one drain task per subscriber is queued or running, so sends to one emitter stay ordered
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.evicted.get() && subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.resyncNeeded.getAndSet(false)) {
+                subscriber.send(SseEmitter.event().name("resync").data("{}"));
+            }
+            OutgoingEvent event;
+            while (!subscriber.evicted.get() && (event = subscriber.queue.poll()) != null) {
+                subscriber.send(SseEmitter.event()
+                        .id(Long.toString(event.id()))
+                        .name("change")
+                        .data(event.payload()));
+            }
+            if (subscriber.heartbeatDue.getAndSet(false)) {
+                subscriber.send(SseEmitter.event().comment("heartbeat"));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or was evicted; the emitter callbacks remove the subscriber
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+            if (subscriber.evicted.get()) {
+                resizeSenders(-1);
+            }
+        }
+        // Something may have been queued between the last poll and releasing the flag
+        if (!subscriber.queue.isEmpty() || subscriber.resyncNeeded.get()) {
+            schedule(subscriber);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+        subscribers.values().forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    private record OutgoingEvent(long id, String payload) {
+    }
+
+    private static final class Subscriber {
+        private final long id;
+        private final SseEmitter emitter;
+        private final Integer taskId;
+        private final BlockingQueue<OutgoingEvent> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean resyncNeeded = new AtomicBoolean();
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+        private final AtomicBoolean evicted = new AtomicBoolean();
+        // Guarded by this: the thread inside emitter.send and when it started, so an interrupt
+        // can only reach the thread while it is still sending to this subscriber
+        private Thread sender;
+        private long sendStartedAt;
+
+        private Subscriber(long id, SseEmitter emitter, Integer taskId, BlockingQueue<OutgoingEvent> queue) {
+            this.id = id;
+            this.emitter = emitter;
+            this.taskId = taskId;
+            this.queue = queue;
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            synchronized (this) {
+                sender = Thread.currentThread();
+                sendStartedAt = System.nanoTime();
+            }
+            try {
+                emitter.send(event);
+            } finally {
+                synchronized (this) {
+                    sender = null;
+                    // An eviction that raced with the send completing must not leak into the next drain
+                    if (evicted.get()) {
+                        Thread.interrupted();
+                    }
+                }
+            }
+        }
+
+        private synchronized boolean sendOverdue(long now, long timeoutNanos) {
+            return sender != null && now - sendStartedAt > timeoutNanos;
+        }
+
+        private synchronized void interruptSender() {
+            if (sender != null) {
+                sender.interrupt();
+            }
+        }
+
+        private boolean accepts(DataChangedEvent event) {
+            return taskId == null || event.getTaskId() == null || taskId.equals(event.getTaskId());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.taskmanagement.event;
+
+import lombok.Value;
+
+// Published by the service write paths; listeners that care about commit
+// ordering should use @TransactionalEventListener
+@Value
+public class DataChangedEvent {
+    Resource resource;
+    ChangeType changeType;
+    Integer id;
+    Integer taskId;     // task the change belongs to, null for users
+
+    public enum Resource {
+        TASKS, USERS, ACTIVITIES, COMMENTS
+    }
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED, RESTORED
+    }
+
+    public static DataChangedEvent taskChanged(ChangeType changeType, Integer taskId) {
+        return new DataChangedEvent(Resource.TASKS, changeType, taskId, taskId);
+    }
+
+    public static DataChangedEvent userChanged(ChangeType changeType, Integer userId) {
+        return new DataChangedEvent(Resource.USERS, changeType, userId, null);
+    }
+
+    public static DataChangedEvent activityCreated(Integer activityId, Integer taskId) {
+        return new DataChangedEvent(Resource.ACTIVITIES, ChangeType.CREATED, activityId, taskId);
+    }
+
+    // Old activity rows were rolled up and removed; no single id or task
+    public static DataChangedEvent activitiesPruned() {
+        return new DataChangedEvent(Resource.ACTIVITIES, ChangeType.DELETED, null, null);
+    }
+
+    public static DataChangedEvent commentCreated(Integer commentId, Integer taskId) {
+        return new DataChangedEvent(Resource.COMMENTS, ChangeType.CREATED, commentId, taskId);
+    }
+}
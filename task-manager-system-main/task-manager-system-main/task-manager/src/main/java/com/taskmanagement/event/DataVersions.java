@@ -0,0 +1,56 @@
+package com.taskmanagement.event;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Monotonic per-collection version numbers, bumped after each committed write.
+// Used to answer conditional GETs without querying or serializing anything.
+@Component
+public class DataVersions {
+
+    // Distinguishes ETags issued before and after a restart, since the counters start again at 0
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Map<DataChangedEvent.Resource, AtomicLong> versions = new EnumMap<>(DataChangedEvent.Resource.class);
+
+    public DataVersions() {
+        for (DataChangedEvent.Resource resource : DataChangedEvent.Resource.values()) {
+            versions.put(resource, new AtomicLong());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataChanged(DataChangedEvent event) {
+        versions.get(event.getResource()).incrementAndGet();
+    }
+
+    public long current(DataChangedEvent.Resource resource) {
+        return versions.get(resource).get();
+    }
+
+    // The variant (query parameters) is folded in so each representation of a collection gets its own tag
+    public String etag(DataChangedEvent.Resource resource, Object... variant) {
+        return "\"" + resource.name().toLowerCase() + "-" + epoch + "-" + current(resource)
+                + "-" + Integer.toHexString(Arrays.hashCode(variant)) + "\"";
+    }
+
+    // Returns true when the client's copy is current; the 304 status and ETag header are then already set
+    public boolean checkNotModified(WebRequest request, DataChangedEvent.Resource resource, Object... variant) {
+        HttpServletResponse response = ((ServletWebRequest) request).getResponse();
+        if (response != null) {
+            // Replaces Spring Security's default no-store so clients keep the body and revalidate
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        }
+        return request.checkNotModified(etag(resource, variant));
+    }
+}
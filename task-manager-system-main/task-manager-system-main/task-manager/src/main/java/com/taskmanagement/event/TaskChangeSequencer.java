@@ -0,0 +1,60 @@
+package com.taskmanagement.event;
+
+import com.taskmanagement.repository.TaskRepo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+// Stamps changed tasks with their position in the delta-sync feed (/api/tasks/changes). All tasks changed
+// by one transaction share one number, taken just before it commits: the counter row stays locked until the
+// commit, so numbers are handed out in commit order and a row can never appear behind a cursor already
+// returned to a client. updated_at can't give that guarantee, since it is assigned at flush time.
+@Component
+@RequiredArgsConstructor
+public class TaskChangeSequencer {
+
+    private final TaskRepo taskRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @EventListener
+    public void onDataChanged(DataChangedEvent event) {
+        if (event.getResource() != DataChangedEvent.Resource.TASKS || event.getTaskId() == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Published after the write committed on its own (WebController); stamp in a transaction of its own
+            transactionTemplate.executeWithoutResult(status -> stamp(Set.of(event.getTaskId())));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<Integer> taskIds = (Set<Integer>) TransactionSynchronizationManager.getResource(this);
+        if (taskIds == null) {
+            Set<Integer> pending = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    stamp(pending);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TaskChangeSequencer.this);
+                }
+            });
+            taskIds = pending;
+        }
+        taskIds.add(event.getTaskId());
+    }
+
+    private void stamp(Set<Integer> taskIds) {
+        taskRepository.advanceChangeSequence();
+        taskRepository.stampChangeSequence(taskIds);
+    }
+}
@@ -0,0 +1,10 @@
+package com.taskmanagement.event;
+
+import lombok.Value;
+
+// Published when a user's issued tokens must stop working (deactivation, role or password change).
+// Applied after commit, so a login racing the change can't get a token that predates the revocation.
+@Value
+public class UserTokensRevokedEvent {
+    Integer userId;
+}
@@ -0,0 +1,236 @@
+package com.taskmanagement.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanagement.dto.request.CreateUserRequest;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+// Reads users one record at a time from CSV (RFC 4180, with a header line) or NDJSON, so only the current
+// record is ever in memory. A record that can't be parsed becomes a row with an error instead of ending the
+// import; only a CSV header without the required columns is fatal (IllegalArgumentException from hasNext).
+public class UserImportReader implements Iterator<UserImportRow>, Closeable {
+
+    // Longer records are reported as invalid without being buffered
+    static final int MAX_RECORD_LENGTH = 16 * 1024;
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("username", "email", "password", "fullname");
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+
+    private Map<String, Integer> columns;
+    private int line = 1;
+    private int recordLength;
+    private UserImportRow next;
+    private boolean finished;
+
+    public UserImportReader(Reader reader, Format format, ObjectMapper objectMapper) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            try {
+                next = format == Format.CSV ? readCsvRow() : readJsonRow();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            finished = next == null;
+        }
+        return next != null;
+    }
+
+    @Override
+    public UserImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        UserImportRow row = next;
+        next = null;
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private UserImportRow readJsonRow() throws IOException {
+        while (true) {
+            int startLine = line;
+            String record = readLine();
+            if (record == null) {
+                return null;
+            }
+            if (record.isBlank()) {
+                continue;
+            }
+            if (recordLength > MAX_RECORD_LENGTH) {
+                return tooLong(startLine);
+            }
+            try {
+                return new UserImportRow(startLine, objectMapper.readValue(record, CreateUserRequest.class), null);
+            } catch (JsonProcessingException e) {
+                return new UserImportRow(startLine, null, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private UserImportRow readCsvRow() throws IOException {
+        if (columns == null) {
+            readHeader();
+        }
+        while (true) {
+            int startLine = line;
+            List<String> fields = readCsvRecord();
+            if (fields == null) {
+                return null;
+            }
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            if (recordLength > MAX_RECORD_LENGTH) {
+                return tooLong(startLine);
+            }
+            if (fields.size() != columns.size()) {
+                return new UserImportRow(startLine, null,
+                        "Expected " + columns.size() + " fields, found " + fields.size());
+            }
+            CreateUserRequest request = new CreateUserRequest();
+            request.setUsername(field(fields, "username"));
+            request.setEmail(field(fields, "email"));
+            // Taken verbatim: surrounding spaces may be part of a password
+            request.setPassword(fields.get(columns.get("password")));
+            request.setFullName(field(fields, "fullname"));
+            String role = field(fields, "role");
+            if (role != null && !role.isEmpty()) {
+                request.setRole(role);
+            }
+            String avatarColor = field(fields, "avatarcolor");
+            request.setAvatarColor(avatarColor == null || avatarColor.isEmpty() ? null : avatarColor);
+            return new UserImportRow(startLine, request, null);
+        }
+    }
+
+    private void readHeader() throws IOException {
+        List<String> header = readCsvRecord();
+        columns = new HashMap<>();
+        if (header != null) {
+            for (int i = 0; i < header.size(); i++) {
+                // fullName, full_name and FullName all name the same column
+                columns.put(header.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+            }
+        }
+        if (!columns.keySet().containsAll(REQUIRED_COLUMNS)) {
+            throw new IllegalArgumentException("CSV header must name the columns username, email, password and fullName");
+        }
+    }
+
+    private String field(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        return index == null ? null : fields.get(index).trim();
+    }
+
+    private UserImportRow tooLong(int startLine) {
+        return new UserImportRow(startLine, null, "Record is longer than " + MAX_RECORD_LENGTH + " characters");
+    }
+
+    // One CSV record, which may span lines inside quoted fields; null at end of input
+    private List<String> readCsvRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        recordLength = 0;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() != '"') {
+                        reader.reset();
+                        quoted = false;
+                    } else {
+                        append(field, '"');
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    append(field, (char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                endLine(c);
+                break;
+            } else {
+                append(field, (char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // One NDJSON line without its terminator; null at end of input
+    private String readLine() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        recordLength = 0;
+        StringBuilder record = new StringBuilder();
+        while (c != -1) {
+            if (c == '\n' || c == '\r') {
+                endLine(c);
+                break;
+            }
+            append(record, (char) c);
+            c = reader.read();
+        }
+        return record.toString();
+    }
+
+    private void endLine(int c) throws IOException {
+        if (c == '\r') {
+            reader.mark(1);
+            if (reader.read() != '\n') {
+                reader.reset();
+            }
+        }
+        line++;
+    }
+
+    // Counts every character but stops buffering past the limit
+    private void append(StringBuilder buffer, char c) {
+        if (++recordLength <= MAX_RECORD_LENGTH) {
+            buffer.append(c);
+        }
+    }
+}
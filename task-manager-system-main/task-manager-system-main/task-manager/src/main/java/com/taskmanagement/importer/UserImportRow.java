@@ -0,0 +1,13 @@
+package com.taskmanagement.importer;
+
+import com.taskmanagement.dto.request.CreateUserRequest;
+import lombok.Value;
+
+@Value
+public class UserImportRow {
+    // Line of the input the record starts on, for the result report
+    int line;
+    // Null when the record could not be parsed
+    CreateUserRequest request;
+    String error;
+}
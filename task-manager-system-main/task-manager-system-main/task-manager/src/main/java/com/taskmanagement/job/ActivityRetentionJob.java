@@ -0,0 +1,223 @@
+package com.taskmanagement.job;
+
+import com.taskmanagement.archive.ActivityArchive;
+import com.taskmanagement.archive.ArchivedActivity;
+import com.taskmanagement.entity.ActivityDailyRollup;
+import com.taskmanagement.event.DataChangedEvent;
+import com.taskmanagement.repository.ActivityLogRepo;
+import com.taskmanagement.repository.ActivityRollupRepo;
+import com.taskmanagement.repository.ActivityRollupRepo.RollupKey;
+import com.taskmanagement.repository.TaskRepo;
+import com.taskmanagement.repository.UserRepo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Keeps activity_log bounded: rows older than the retention horizon are folded into per
+// day/task/user/action counts (activity_daily_rollup), copied to the cold-storage archive when it is
+// enabled, and deleted. Work is done in small batches, each its own short transaction, so the table
+// is never locked for long. Only one node runs it at a time (see JobLocks): two nodes working through
+// the same rows would both count them before either delete committed.
+@Slf4j
+@Component
+public class ActivityRetentionJob {
+
+    private final ActivityLogRepo activityLogRepository;
+    private final ActivityRollupRepo rollupRepository;
+    private final TaskRepo taskRepository;
+    private final UserRepo userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ActivityArchive archive;
+    private final JobLocks jobLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean archiveEnabled;
+    private final Duration horizon;
+    private final int batchSize;
+    private final Duration batchPause;
+    private final Duration lockLease;
+
+    private static final String LOCK_NAME = "activity-retention";
+
+    public ActivityRetentionJob(ActivityLogRepo activityLogRepository,
+                                ActivityRollupRepo rollupRepository,
+                                TaskRepo taskRepository,
+                                UserRepo userRepository,
+                                ApplicationEventPublisher eventPublisher,
+                                ActivityArchive archive,
+                                JobLocks jobLocks,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${archive.enabled:false}") boolean archiveEnabled,
+                                @Value("${activity-log.retention.horizon:90d}") Duration horizon,
+                                @Value("${activity-log.retention.batch-size:1000}") int batchSize,
+                                @Value("${activity-log.retention.batch-pause:200ms}") Duration batchPause,
+                                @Value("${activity-log.retention.lock-lease:10m}") Duration lockLease) {
+        this.activityLogRepository = activityLogRepository;
+        this.rollupRepository = rollupRepository;
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.archive = archive;
+        this.jobLocks = jobLocks;
+        this.archiveEnabled = archiveEnabled;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.horizon = horizon;
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+        this.lockLease = lockLease;
+    }
+
+    @Scheduled(cron = "${activity-log.retention.cron:0 30 3 * * *}")
+    public void run() {
+        if (!jobLocks.tryAcquire(LOCK_NAME, lockLease)) {
+            log.info("Activity retention is already running on another node");
+            return;
+        }
+        try {
+            prune();
+        } finally {
+            jobLocks.release(LOCK_NAME);
+        }
+    }
+
+    private void prune() {
+        // Whole days only, so a day's rollup is complete once its raw rows are gone
+        LocalDateTime cutoff = LocalDate.now().minusDays(horizon.toDays()).atStartOfDay();
+        long pruned = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> rollUpAndDelete(cutoff));
+            pruned += batch;
+            if (batch == batchSize && !pause()) {
+                break;
+            }
+            // Renewed between batches; if it lapsed and another node took over, leave the rest to it
+            if (batch == batchSize && !jobLocks.tryAcquire(LOCK_NAME, lockLease)) {
+                log.warn("Lost the activity retention lock, stopping after {} rows", pruned);
+                break;
+            }
+        } while (batch == batchSize);
+
+        if (pruned > 0) {
+            log.info("Rolled up and removed {} activity log rows older than {}", pruned, cutoff);
+            eventPublisher.publishEvent(DataChangedEvent.activitiesPruned());
+        }
+        if (archiveEnabled) {
+            compactArchive();
+        }
+    }
+
+    // Each batch above wrote its own segment; merging them keeps archive lookups from visiting one per batch
+    private void compactArchive() {
+        try {
+            archive.compact();
+        } catch (IOException e) {
+            // The segments stay as they are and the next run tries again
+            log.warn("Could not compact the activity archive", e);
+        }
+    }
+
+    // Adding the counts and deleting the rows commit together, so an interrupted run never counts a row twice
+    int rollUpAndDelete(LocalDateTime cutoff) {
+        List<ActivityLogRepo.ExpiredActivityRow> rows = activityLogRepository.findExpired(cutoff, PageRequest.of(0, batchSize));
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        // Only the rollups this batch adds to, not every rollup of its days
+        Set<RollupKey> keys = rows.stream()
+                .map(ActivityRetentionJob::rollupKey)
+                .collect(Collectors.toSet());
+        Map<RollupKey, ActivityDailyRollup> rollups = new HashMap<>();
+        for (ActivityDailyRollup rollup : rollupRepository.findByKeys(keys)) {
+            rollups.put(new RollupKey(rollup.getActivityDate(), rollup.getTask().getTaskId(),
+                    rollup.getUser().getUserId(), rollup.getActionType()), rollup);
+        }
+
+        List<Integer> ids = new ArrayList<>(rows.size());
+        for (ActivityLogRepo.ExpiredActivityRow row : rows) {
+            ActivityDailyRollup rollup = rollups.computeIfAbsent(rollupKey(row), this::newRollup);
+            rollup.setActivityCount(rollup.getActivityCount() + 1);
+            if (rollup.getFirstAt() == null || row.getCreatedAt().isBefore(rollup.getFirstAt())) {
+                rollup.setFirstAt(row.getCreatedAt());
+            }
+            if (rollup.getLastAt() == null || row.getCreatedAt().isAfter(rollup.getLastAt())) {
+                rollup.setLastAt(row.getCreatedAt());
+            }
+            ids.add(row.getActivityId());
+        }
+
+        rollupRepository.saveAll(rollups.values());
+        if (archiveEnabled) {
+            // Written (and synced) before the delete commits; if the delete then fails, the rows are
+            // archived again next run and the archive drops the duplicates when reading
+            archive(rows);
+        }
+        activityLogRepository.deleteByActivityIdIn(ids);
+        return rows.size();
+    }
+
+    private void archive(List<ActivityLogRepo.ExpiredActivityRow> rows) {
+        List<ArchivedActivity> activities = new ArrayList<>(rows.size());
+        for (ActivityLogRepo.ExpiredActivityRow row : rows) {
+            activities.add(ArchivedActivity.builder()
+                    .activityId(row.getActivityId())
+                    .taskId(row.getTaskId())
+                    .taskTitle(row.getTaskTitle())
+                    .userId(row.getUserId())
+                    .userFullName(row.getUserFullName())
+                    .actionType(row.getActionType())
+                    .oldValue(row.getOldValue())
+                    .newValue(row.getNewValue())
+                    .description(row.getDescription())
+                    .createdAt(row.getCreatedAt())
+                    .build());
+        }
+        try {
+            archive.append(activities);
+        } catch (IOException e) {
+            // Rolls the batch back: the rows stay in activity_log until the archive can take them
+            throw new UncheckedIOException("Could not archive activity log rows", e);
+        }
+    }
+
+    private ActivityDailyRollup newRollup(RollupKey key) {
+        ActivityDailyRollup rollup = new ActivityDailyRollup();
+        rollup.setActivityDate(key.date());
+        rollup.setTask(taskRepository.getReferenceById(key.taskId()));
+        rollup.setUser(userRepository.getReferenceById(key.userId()));
+        rollup.setActionType(key.actionType());
+        return rollup;
+    }
+
+    // Gives concurrent writers room between batches
+    private boolean pause() {
+        try {
+            Thread.sleep(batchPause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static RollupKey rollupKey(ActivityLogRepo.ExpiredActivityRow row) {
+        return new RollupKey(row.getCreatedAt().toLocalDate(), row.getTaskId(), row.getUserId(), row.getActionType());
+    }
+}
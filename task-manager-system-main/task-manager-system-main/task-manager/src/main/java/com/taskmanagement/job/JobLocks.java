@@ -0,0 +1,55 @@
+package com.taskmanagement.job;
+
+import com.taskmanagement.repository.JobLockRepo;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Cross-node mutual exclusion for scheduled jobs, as leases in the job_locks table. A lease rather than a
+// held row lock or GET_LOCK, so the job can commit in many short transactions while holding it; a node
+// that dies mid-run blocks the job only until its lease runs out. Lease times come from each node's clock,
+// so leases should be long compared to the skew between nodes.
+@Component
+public class JobLocks {
+
+    private final JobLockRepo jobLockRepository;
+    // Unique per process, so a restarted node doesn't mistake its predecessor's lease for its own
+    private final String owner = hostName() + "/" + UUID.randomUUID();
+
+    public JobLocks(JobLockRepo jobLockRepository) {
+        this.jobLockRepository = jobLockRepository;
+    }
+
+    // Also extends the lease when this process already holds it
+    public boolean tryAcquire(String name, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        if (jobLockRepository.acquire(name, owner, now, now.plus(lease)) == 1) {
+            return true;
+        }
+        if (jobLockRepository.existsById(name)) {
+            return false;
+        }
+        try {
+            return jobLockRepository.insert(name, owner, now.plus(lease)) == 1;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    public void release(String name) {
+        jobLockRepository.release(name, owner, LocalDateTime.now());
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
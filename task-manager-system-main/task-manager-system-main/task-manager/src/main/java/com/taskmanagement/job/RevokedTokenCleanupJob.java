@@ -0,0 +1,34 @@
+package com.taskmanagement.job;
+
+import com.taskmanagement.repository.RevokedRefreshTokenRepo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// Deletes revoked refresh tokens past their expiry; by then verification rejects them anyway
+@Slf4j
+@Component
+public class RevokedTokenCleanupJob {
+
+    private final RevokedRefreshTokenRepo revokedTokenRepository;
+    private final Duration clockSkew;
+
+    public RevokedTokenCleanupJob(RevokedRefreshTokenRepo revokedTokenRepository,
+                                  @Value("${auth.tokens.clock-skew:30s}") Duration clockSkew) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.clockSkew = clockSkew;
+    }
+
+    // Idempotent, so running on every node at once is harmless
+    @Scheduled(cron = "${auth.tokens.cleanup-cron:0 45 * * * *}")
+    public void run() {
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now().minus(clockSkew));
+        if (deleted > 0) {
+            log.info("Deleted {} expired refresh token revocations", deleted);
+        }
+    }
+}
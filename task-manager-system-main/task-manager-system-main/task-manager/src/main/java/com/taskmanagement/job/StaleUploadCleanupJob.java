@@ -0,0 +1,37 @@
+package com.taskmanagement.job;
+
+import com.taskmanagement.storage.ChunkedUploadStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+
+// Deletes the partial files of uploads that were abandoned (nothing received for upload-expiry)
+@Slf4j
+@Component
+public class StaleUploadCleanupJob {
+
+    private final ChunkedUploadStore uploadStore;
+    private final Duration expiry;
+
+    public StaleUploadCleanupJob(ChunkedUploadStore uploadStore,
+                                 @Value("${attachments.upload-expiry:24h}") Duration expiry) {
+        this.uploadStore = uploadStore;
+        this.expiry = expiry;
+    }
+
+    @Scheduled(cron = "${attachments.upload-cleanup-cron:0 15 * * * *}")
+    public void run() {
+        try {
+            int deleted = uploadStore.deleteExpired(expiry);
+            if (deleted > 0) {
+                log.info("Deleted {} abandoned uploads", deleted);
+            }
+        } catch (IOException e) {
+            log.warn("Could not clean up abandoned uploads", e);
+        }
+    }
+}
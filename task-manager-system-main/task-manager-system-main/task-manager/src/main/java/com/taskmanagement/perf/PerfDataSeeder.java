@@ -0,0 +1,344 @@
+package com.taskmanagement.perf;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+// Fills the empty perf database with synthetic data of configurable volume (see application-perf.yml).
+// The shape follows real boards: ids grow with creation time, a few users create and hold most tasks, recent
+// tasks collect most of the comments and activity, most old tasks are DONE. Rows go in as plain JDBC batches,
+// a million tasks in minutes rather than hours through JPA, and only one batch is in memory at a time.
+// Runs before ApplicationReadyEvent, so the search index is rebuilt over the seeded rows. Every user's
+// password is perf.seed.password.
+@Slf4j
+@Component
+@Profile("perf")
+@ConditionalOnProperty(name = "perf.seed.enabled", havingValue = "true", matchIfMissing = true)
+public class PerfDataSeeder implements ApplicationRunner {
+
+    private static final String[] WORDS = {
+            "login", "report", "dashboard", "invoice", "export", "sync", "search", "upload", "profile", "billing",
+            "review", "deploy", "migrate", "refactor", "fix", "design", "api", "mobile", "email", "cache"
+    };
+    private static final String[] COLORS = {"#5B8DEF", "#5ECFB1", "#F5A864", "#F56565", "#9F7AEA", "#48BB78"};
+    private static final String[] COMMENT_CATEGORIES = {null, null, "question", "update", "blocker"};
+    // PENDING, TO_DO, IN_PROGRESS, DONE for tasks in the newest and the oldest half of the history
+    private static final int[] RECENT_STATUS_WEIGHTS = {15, 30, 35, 20};
+    private static final int[] OLD_STATUS_WEIGHTS = {5, 5, 10, 80};
+    private static final String[] STATUSES = {"PENDING", "TO_DO", "IN_PROGRESS", "DONE"};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "MEDIUM", "HIGH", "URGENT"};
+    private static final String[] FOLLOW_UP_ACTIONS = {"STATUS_CHANGED", "STATUS_CHANGED", "UPDATED", "ASSIGNED"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long randomSeed;
+    private final int users;
+    private final int categories;
+    private final int tags;
+    private final int tasks;
+    private final int assigneesPerTask;
+    private final int tagsPerTask;
+    private final int commentsPerTask;
+    private final double replyRatio;
+    private final int activitiesPerTask;
+    private final double skew;
+    private final int historyDays;
+    private final int batchSize;
+    private final String passwordHash;
+
+    private SplittableRandom random;
+    private LocalDateTime start;
+    private long historyMinutes;
+
+    public PerfDataSeeder(JdbcTemplate jdbcTemplate,
+                          @Value("${perf.seed.random-seed:42}") long randomSeed,
+                          @Value("${perf.seed.users:2000}") int users,
+                          @Value("${perf.seed.categories:20}") int categories,
+                          @Value("${perf.seed.tags:100}") int tags,
+                          @Value("${perf.seed.tasks:100000}") int tasks,
+                          @Value("${perf.seed.assignees-per-task:2}") int assigneesPerTask,
+                          @Value("${perf.seed.tags-per-task:2}") int tagsPerTask,
+                          @Value("${perf.seed.comments-per-task:3}") int commentsPerTask,
+                          @Value("${perf.seed.reply-ratio:0.3}") double replyRatio,
+                          @Value("${perf.seed.activities-per-task:5}") int activitiesPerTask,
+                          @Value("${perf.seed.skew:1.1}") double skew,
+                          @Value("${perf.seed.history-days:365}") int historyDays,
+                          @Value("${perf.seed.batch-size:1000}") int batchSize,
+                          @Value("${perf.seed.password:password}") String password,
+                          @Value("${auth.password.bcrypt-strength:10}") int bcryptStrength) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.randomSeed = randomSeed;
+        this.users = users;
+        this.categories = categories;
+        this.tags = tags;
+        this.tasks = tasks;
+        this.assigneesPerTask = assigneesPerTask;
+        this.tagsPerTask = tagsPerTask;
+        this.commentsPerTask = commentsPerTask;
+        this.replyRatio = replyRatio;
+        this.activitiesPerTask = activitiesPerTask;
+        this.skew = skew;
+        this.historyDays = historyDays;
+        this.batchSize = batchSize;
+        // One hash for everyone: hashing per user would dominate the seeding time
+        this.passwordHash = new BCryptPasswordEncoder(bcryptStrength).encode(password);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class);
+        if (existing != null && existing > 0) {
+            log.info("Perf database already has {} users, not seeding", existing);
+            return;
+        }
+        long startedAt = System.nanoTime();
+        random = new SplittableRandom(randomSeed);
+        start = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES).minusDays(historyDays);
+        historyMinutes = historyDays * 24L * 60;
+
+        seedUsers();
+        seedCategoriesAndTags();
+        seedTasks();
+        long comments = seedComments();
+        long activities = seedActivities();
+        resetIdGenerators();
+        log.info("Seeded {} users, {} categories, {} tags, {} tasks, {} comments and {} activities in {} s",
+                users, categories, tags, tasks, comments, activities, (System.nanoTime() - startedAt) / 1_000_000_000);
+    }
+
+    private void seedUsers() {
+        Batch batch = new Batch("""
+                INSERT INTO users (user_id, username, email, password_hash, full_name, role, status, avatar_color,
+                                   created_at, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""");
+        for (int id = 1; id <= users; id++) {
+            LocalDateTime createdAt = start.minusDays(random.nextInt(365));
+            batch.add(id, "user" + id, "user" + id + "@perf.local", passwordHash, "Perf User " + id,
+                    random.nextInt(20) == 0 ? "GROUP_LEADER" : "MEMBER",
+                    random.nextInt(30) == 0 ? "INACTIVE" : "ACTIVE",
+                    COLORS[id % COLORS.length], createdAt, createdAt);
+        }
+        batch.flush();
+    }
+
+    private void seedCategoriesAndTags() {
+        Batch categoryBatch = new Batch("INSERT INTO categories (category_id, name, color, created_at) VALUES (?, ?, ?, ?)");
+        for (int id = 1; id <= categories; id++) {
+            categoryBatch.add(id, "Category " + id, COLORS[id % COLORS.length], start);
+        }
+        categoryBatch.flush();
+        Batch tagBatch = new Batch("INSERT INTO tags (tag_id, name, color, created_at) VALUES (?, ?, ?, ?)");
+        for (int id = 1; id <= tags; id++) {
+            tagBatch.add(id, "tag-" + id, COLORS[id % COLORS.length], start);
+        }
+        tagBatch.flush();
+    }
+
+    private void seedTasks() {
+        ZipfSampler userSampler = new ZipfSampler(users, skew);
+        ZipfSampler categorySampler = new ZipfSampler(categories, skew);
+        ZipfSampler tagSampler = new ZipfSampler(tags, skew);
+        Batch taskBatch = new Batch("""
+                INSERT INTO tasks (task_id, title, description, status, priority, start_date, due_date, is_deleted,
+                                   deleted_at, created_at, updated_at, category_id, created_by)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""");
+        Batch assignmentBatch = new Batch(taskBatch,
+                "INSERT INTO task_assignments (assignment_id, task_id, user_id, assigned_at) VALUES (?, ?, ?, ?)");
+        Batch tagBatch = new Batch(taskBatch, "INSERT INTO task_tags (task_id, tag_id) VALUES (?, ?)");
+        int assignmentId = 0;
+        for (int id = 1; id <= tasks; id++) {
+            LocalDateTime createdAt = taskCreatedAt(id);
+            LocalDateTime updatedAt = between(createdAt);
+            boolean recent = id > tasks / 2;
+            boolean deleted = random.nextInt(100) < 3;
+            LocalDate startDate = random.nextInt(3) == 0 ? null : createdAt.toLocalDate();
+            taskBatch.add(id, title(id), random.nextInt(5) == 0 ? null : description(),
+                    STATUSES[weighted(recent ? RECENT_STATUS_WEIGHTS : OLD_STATUS_WEIGHTS)],
+                    PRIORITIES[random.nextInt(PRIORITIES.length)],
+                    startDate, createdAt.toLocalDate().plusDays(1 + random.nextInt(60)),
+                    deleted, deleted ? updatedAt : null, createdAt, updatedAt,
+                    random.nextInt(10) == 0 ? null : categorySampler.next(random) + 1,
+                    userSampler.next(random) + 1);
+
+            for (int userId : distinct(userSampler, random.nextInt(2 * assigneesPerTask + 1))) {
+                assignmentBatch.add(++assignmentId, id, userId, createdAt);
+            }
+            for (int tagId : distinct(tagSampler, random.nextInt(2 * tagsPerTask + 1))) {
+                tagBatch.add(id, tagId);
+            }
+        }
+        taskBatch.flush();
+        assignmentBatch.flush();
+        tagBatch.flush();
+    }
+
+    // Newest tasks are the hottest: rank 0 is the last task created
+    private long seedComments() {
+        ZipfSampler taskSampler = new ZipfSampler(tasks, skew);
+        ZipfSampler userSampler = new ZipfSampler(users, skew);
+        int[] lastTopLevel = new int[tasks + 1];
+        long total = (long) tasks * commentsPerTask;
+        Batch batch = new Batch("""
+                INSERT INTO comments (comment_id, task_id, user_id, parent_comment_id, text, category, created_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?)""");
+        for (int id = 1; id <= total; id++) {
+            int taskId = tasks - taskSampler.next(random);
+            Integer parentId = null;
+            if (lastTopLevel[taskId] != 0 && random.nextDouble() < replyRatio) {
+                parentId = lastTopLevel[taskId];
+            } else {
+                lastTopLevel[taskId] = id;
+            }
+            batch.add(id, taskId, userSampler.next(random) + 1, parentId, sentence(3 + random.nextInt(30)),
+                    COMMENT_CATEGORIES[random.nextInt(COMMENT_CATEGORIES.length)], between(taskCreatedAt(taskId)));
+        }
+        batch.flush();
+        return total;
+    }
+
+    // One CREATED row per task, the rest spread over tasks with the same skew as comments
+    private long seedActivities() {
+        ZipfSampler taskSampler = new ZipfSampler(tasks, skew);
+        ZipfSampler userSampler = new ZipfSampler(users, skew);
+        Batch batch = new Batch("""
+                INSERT INTO activity_log (activity_id, task_id, user_id, action_type, old_value, new_value, description,
+                                          created_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?)""");
+        int id = 0;
+        for (int taskId = 1; taskId <= tasks; taskId++) {
+            batch.add(++id, taskId, userSampler.next(random) + 1, "CREATED", null, null,
+                    "Created task " + title(taskId), taskCreatedAt(taskId));
+        }
+        long followUps = (long) tasks * Math.max(0, activitiesPerTask - 1);
+        for (long i = 0; i < followUps; i++) {
+            int taskId = tasks - taskSampler.next(random);
+            String action = FOLLOW_UP_ACTIONS[random.nextInt(FOLLOW_UP_ACTIONS.length)];
+            boolean statusChange = action.equals("STATUS_CHANGED");
+            batch.add(++id, taskId, userSampler.next(random) + 1, action,
+                    statusChange ? STATUSES[random.nextInt(3)] : null,
+                    statusChange ? STATUSES[1 + random.nextInt(3)] : null,
+                    action.toLowerCase() + " on " + title(taskId), between(taskCreatedAt(taskId)));
+        }
+        batch.flush();
+        return id;
+    }
+
+    // Rows were inserted with explicit ids; move the generators past them so the application's inserts don't collide
+    private void resetIdGenerators() {
+        restartIdentity("categories", "category_id", categories);
+        restartIdentity("tags", "tag_id", tags);
+        restartIdentity("comments", "comment_id", (long) tasks * commentsPerTask);
+        for (String[] generator : new String[][]{{"users", "users", "user_id"}, {"tasks", "tasks", "task_id"},
+                {"task_assignments", "task_assignments", "assignment_id"}, {"activity_log", "activity_log", "activity_id"}}) {
+            Long max = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(MAX(" + generator[2] + "), 0) FROM " + generator[1], Long.class);
+            jdbcTemplate.update("DELETE FROM id_generators WHERE gen_name = ?", generator[0]);
+            // Same convention as id_generators.sql: the first block handed out ends at next_val
+            jdbcTemplate.update("INSERT INTO id_generators (gen_name, next_val) VALUES (?, ?)", generator[0], max + 50);
+        }
+    }
+
+    private void restartIdentity(String table, String column, long maxId) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN " + column + " RESTART WITH " + (maxId + 1));
+    }
+
+    private LocalDateTime taskCreatedAt(int taskId) {
+        return start.plusMinutes(historyMinutes * taskId / (tasks + 1));
+    }
+
+    private LocalDateTime between(LocalDateTime from) {
+        long minutes = ChronoUnit.MINUTES.between(from, start.plusMinutes(historyMinutes));
+        return minutes <= 0 ? from : from.plusMinutes(random.nextLong(minutes));
+    }
+
+    private Set<Integer> distinct(ZipfSampler sampler, int count) {
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (int attempt = 0; ids.size() < count && attempt < count * 4; attempt++) {
+            ids.add(sampler.next(random) + 1);
+        }
+        return ids;
+    }
+
+    private int weighted(int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int pick = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            pick -= weights[i];
+            if (pick < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static String title(int taskId) {
+        return "Task " + taskId + ": " + WORDS[taskId % WORDS.length] + " " + WORDS[(taskId / WORDS.length) % WORDS.length];
+    }
+
+    private String description() {
+        return sentence(5 + random.nextInt(80));
+    }
+
+    private String sentence(int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    // Rows for one INSERT statement, sent as a JDBC batch every batch-size rows. A child batch (assignments of
+    // tasks) flushes its parent first, so foreign keys always point at rows already inserted.
+    private final class Batch {
+
+        private final Batch parent;
+        private final String sql;
+        private final List<Object[]> rows = new ArrayList<>(batchSize);
+
+        Batch(String sql) {
+            this(null, sql);
+        }
+
+        Batch(Batch parent, String sql) {
+            this.parent = parent;
+            this.sql = sql;
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            if (rows.size() == batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (parent != null) {
+                parent.flush();
+            }
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.taskmanagement.perf;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Draws ranks 0..n-1 with probability proportional to 1 / (rank + 1)^exponent: a few ranks take most of the
+// draws (busy users, hot tasks, popular tags) and the rest form a long tail. Exponent 0 is uniform.
+class ZipfSampler {
+
+    private final double[] cumulative;
+
+    ZipfSampler(int n, double exponent) {
+        cumulative = new double[n];
+        double total = 0;
+        for (int rank = 0; rank < n; rank++) {
+            total += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= total;
+        }
+    }
+
+    int next(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
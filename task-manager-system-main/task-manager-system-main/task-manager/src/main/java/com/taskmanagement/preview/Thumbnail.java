@@ -0,0 +1,17 @@
+package com.taskmanagement.preview;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.nio.file.Path;
+
+// A generated thumbnail, or pending = true while it is still being made (path is then null)
+@Value
+@Builder
+public class Thumbnail {
+    Integer attachmentId;
+    Path path;
+    long length;
+    long lastModified;
+    boolean pending;
+}
@@ -0,0 +1,230 @@
+package com.taskmanagement.preview;
+
+import com.taskmanagement.event.AttachmentUploadedEvent;
+import com.taskmanagement.storage.AttachmentStorage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Derives JPEG thumbnails and previews of image attachments off the request path. Committed uploads are
+// queued on a small bounded pool; the files are written next to the blob (<blob>.thumb.jpg, <blob>.preview.jpg),
+// so identical uploads share them. Transient failures are retried with exponential backoff; images that
+// can't be decoded get a <blob>.thumb-failed marker so they are not attempted again. When the queue is
+// full the work is dropped and redone on the first request for the thumbnail.
+@Slf4j
+@Component
+public class ThumbnailGenerator {
+
+    private static final String FAILED_SUFFIX = ".thumb-failed";
+
+    private final AttachmentStorage attachmentStorage;
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService retries = Executors.newSingleThreadScheduledExecutor(
+            runnable -> new Thread(runnable, "thumbnail-retry"));
+    // Sources queued, running or waiting for a retry; keeps concurrent requests from duplicating work
+    private final Set<Path> inFlight = ConcurrentHashMap.newKeySet();
+    private final int thumbnailSize;
+    private final int previewSize;
+    private final long maxPixels;
+    private final float quality;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Timer generation;
+    private final Counter generated;
+    private final Counter failed;
+    private final Counter retried;
+    private final Counter rejected;
+
+    public ThumbnailGenerator(AttachmentStorage attachmentStorage,
+                              MeterRegistry meterRegistry,
+                              @Value("${thumbnails.workers:2}") int workerThreads,
+                              @Value("${thumbnails.queue-capacity:500}") int queueCapacity,
+                              @Value("${thumbnails.thumbnail-size:256}") int thumbnailSize,
+                              @Value("${thumbnails.preview-size:1024}") int previewSize,
+                              @Value("${thumbnails.max-pixels:100000000}") long maxPixels,
+                              @Value("${thumbnails.quality:0.85}") float quality,
+                              @Value("${thumbnails.max-attempts:3}") int maxAttempts,
+                              @Value("${thumbnails.retry-backoff:2s}") Duration retryBackoff) {
+        this.attachmentStorage = attachmentStorage;
+        this.thumbnailSize = thumbnailSize;
+        this.previewSize = previewSize;
+        this.maxPixels = maxPixels;
+        this.quality = quality;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+
+        AtomicLong threadIds = new AtomicLong();
+        this.workers = new ThreadPoolExecutor(workerThreads, workerThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "thumbnail-worker-" + threadIds.incrementAndGet());
+                    // Decoding is CPU-heavy; let request threads win
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                });
+
+        this.generation = Timer.builder("thumbnails.generation")
+                .description("Time spent decoding an image and writing its thumbnail and preview, failures included")
+                .register(meterRegistry);
+        this.generated = Counter.builder("thumbnails.generated")
+                .description("Images whose thumbnail and preview were written")
+                .register(meterRegistry);
+        this.failed = Counter.builder("thumbnails.failed")
+                .description("Images given up on, either undecodable or out of retries")
+                .register(meterRegistry);
+        this.retried = Counter.builder("thumbnails.retried")
+                .description("Generation attempts rescheduled after a transient failure")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("thumbnails.rejected")
+                .description("Generation requests dropped because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder("thumbnails.queue.depth", workers, executor -> executor.getQueue().size())
+                .description("Images waiting for a thumbnail worker")
+                .register(meterRegistry);
+        Gauge.builder("thumbnails.in-flight", inFlight, Set::size)
+                .description("Images queued, being processed or waiting for a retry")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener
+    public void onAttachmentUploaded(AttachmentUploadedEvent event) {
+        if (!supports(event.getMimeType())) {
+            return;
+        }
+        attachmentStorage.resolve(event.getFilePath()).ifPresent(this::request);
+    }
+
+    // Only what ImageIO can decode; anything else is served without a thumbnail
+    public boolean supports(String mimeType) {
+        if (mimeType == null) {
+            return false;
+        }
+        int parameters = mimeType.indexOf(';');
+        String type = (parameters < 0 ? mimeType : mimeType.substring(0, parameters)).trim().toLowerCase(Locale.ROOT);
+        return type.startsWith("image/") && ImageIO.getImageReadersByMIMEType(type).hasNext();
+    }
+
+    public Optional<Path> find(Path source, ThumbnailVariant variant) {
+        Path thumbnail = variantPath(source, variant);
+        return Files.isRegularFile(thumbnail) ? Optional.of(thumbnail) : Optional.empty();
+    }
+
+    public boolean hasFailed(Path source) {
+        return Files.exists(sibling(source, FAILED_SUFFIX));
+    }
+
+    // Queues generation unless it is already pending; false when the queue is full
+    public boolean request(Path source) {
+        if (!inFlight.add(source)) {
+            return true;
+        }
+        return submit(source, 1);
+    }
+
+    private boolean submit(Path source, int attempt) {
+        try {
+            workers.execute(() -> generate(source, attempt));
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(source);
+            rejected.increment();
+            return false;
+        }
+    }
+
+    private void generate(Path source, int attempt) {
+        boolean rescheduled = false;
+        try {
+            if (find(source, ThumbnailVariant.THUMBNAIL).isPresent() && find(source, ThumbnailVariant.PREVIEW).isPresent()) {
+                return;
+            }
+            generation.recordCallable(() -> {
+                writeVariants(source);
+                return null;
+            });
+            generated.increment();
+        } catch (UnsupportedImageException e) {
+            log.info("No thumbnail for {}: {}", source.getFileName(), e.getMessage());
+            markFailed(source);
+        } catch (Exception e) {
+            if (attempt < maxAttempts && !workers.isShutdown()) {
+                // 1x, 4x, 16x the base backoff
+                long delay = retryBackoff.toMillis() << (2 * (attempt - 1));
+                log.debug("Thumbnail attempt {} for {} failed, retrying in {} ms", attempt, source.getFileName(), delay, e);
+                retried.increment();
+                try {
+                    retries.schedule(() -> {
+                        if (!submit(source, attempt + 1)) {
+                            log.debug("Thumbnail retry for {} dropped, queue full", source.getFileName());
+                        }
+                    }, delay, TimeUnit.MILLISECONDS);
+                    rescheduled = true;
+                } catch (RejectedExecutionException shuttingDown) {
+                    // Regenerated on the next request after restart
+                }
+            } else {
+                log.warn("Giving up on thumbnail for {} after {} attempts", source.getFileName(), attempt, e);
+                markFailed(source);
+            }
+        } finally {
+            if (!rescheduled) {
+                inFlight.remove(source);
+            }
+        }
+    }
+
+    // One subsampled decode serves both sizes; the thumbnail is scaled down from the preview
+    private void writeVariants(Path source) throws IOException, UnsupportedImageException {
+        BufferedImage decoded = ImageScaler.readSubsampled(source, previewSize, maxPixels);
+        BufferedImage preview = ImageScaler.scale(decoded, previewSize);
+        ImageScaler.writeJpeg(preview, variantPath(source, ThumbnailVariant.PREVIEW), quality);
+        ImageScaler.writeJpeg(ImageScaler.scale(preview, thumbnailSize), variantPath(source, ThumbnailVariant.THUMBNAIL), quality);
+    }
+
+    private void markFailed(Path source) {
+        failed.increment();
+        try {
+            Files.writeString(sibling(source, FAILED_SUFFIX), "");
+        } catch (IOException e) {
+            log.warn("Could not mark thumbnail of {} as failed", source.getFileName(), e);
+        }
+    }
+
+    private static Path variantPath(Path source, ThumbnailVariant variant) {
+        return sibling(source, "." + variant.getSuffix() + ".jpg");
+    }
+
+    private static Path sibling(Path source, String suffix) {
+        return source.resolveSibling(source.getFileName() + suffix);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retries.shutdownNow();
+        workers.shutdownNow();
+    }
+}
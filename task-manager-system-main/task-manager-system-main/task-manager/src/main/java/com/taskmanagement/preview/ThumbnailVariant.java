@@ -0,0 +1,18 @@
+package com.taskmanagement.preview;
+
+public enum ThumbnailVariant {
+    // Lists and cards
+    THUMBNAIL("thumb"),
+    // Task detail page
+    PREVIEW("preview");
+
+    private final String suffix;
+
+    ThumbnailVariant(String suffix) {
+        this.suffix = suffix;
+    }
+
+    public String getSuffix() {
+        return suffix;
+    }
+}
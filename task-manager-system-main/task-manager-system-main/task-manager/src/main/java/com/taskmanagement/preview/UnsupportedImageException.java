@@ -0,0 +1,9 @@
+package com.taskmanagement.preview;
+
+// The file can't be turned into a thumbnail (unknown format, corrupt, or too many pixels); retrying won't help
+public class UnsupportedImageException extends Exception {
+
+    public UnsupportedImageException(String message) {
+        super(message);
+    }
+}
@@ -1,19 +1,84 @@
 package com.taskmanagement.repository;
 
 import com.taskmanagement.entity.ActivityLog;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ActivityLogRepo extends JpaRepository<ActivityLog, Integer> {
-    
-    @Query("SELECT a FROM ActivityLog a ORDER BY a.createdAt DESC")
-    List<ActivityLog> findAllOrderByCreatedAtDesc();
-    
-    List<ActivityLog> findByTask_TaskIdOrderByCreatedAtDesc(Integer taskId);
-    
-}
 
+    // Keyset page over (created_at, activity_id), newest first; filters are optional.
+    // Task title and user name come from the joins in the same statement (a projection, so the
+    // EAGER associations of Task are not loaded per row)
+    @Query("""
+            SELECT a.activityId AS activityId, t.taskId AS taskId, t.title AS taskTitle,
+                   u.userId AS userId, u.fullName AS userFullName, a.actionType AS actionType,
+                   a.oldValue AS oldValue, a.newValue AS newValue, a.description AS description,
+                   a.createdAt AS createdAt
+            FROM ActivityLog a JOIN a.task t JOIN a.user u
+            WHERE (:userId IS NULL OR u.userId = :userId)
+              AND (:taskId IS NULL OR t.taskId = :taskId)
+              AND (:actionType IS NULL OR a.actionType = :actionType)
+              AND (:cursorCreatedAt IS NULL
+                    OR a.createdAt < :cursorCreatedAt
+                    OR (a.createdAt = :cursorCreatedAt AND a.activityId < :cursorActivityId))
+            ORDER BY a.createdAt DESC, a.activityId DESC
+            """)
+    List<ActivityFeedRow> findFeedPage(@Param("userId") Integer userId,
+                                       @Param("taskId") Integer taskId,
+                                       @Param("actionType") ActivityLog.ActionType actionType,
+                                       @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                       @Param("cursorActivityId") Integer cursorActivityId,
+                                       Pageable pageable);
+
+    // Oldest rows first, so the retention job works through them in created_at order on idx_activity_created.
+    // Carries the full row (plus task title and user name) for the cold-storage archive.
+    @Query("""
+            SELECT a.activityId AS activityId, t.taskId AS taskId, t.title AS taskTitle,
+                   u.userId AS userId, u.fullName AS userFullName, a.actionType AS actionType,
+                   a.oldValue AS oldValue, a.newValue AS newValue, a.description AS description,
+                   a.createdAt AS createdAt
+            FROM ActivityLog a JOIN a.task t JOIN a.user u
+            WHERE a.createdAt < :cutoff
+            ORDER BY a.createdAt ASC, a.activityId ASC
+            """)
+    List<ExpiredActivityRow> findExpired(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM ActivityLog a WHERE a.activityId IN :ids")
+    int deleteByActivityIdIn(@Param("ids") Collection<Integer> ids);
+
+    interface ActivityFeedRow {
+        Integer getActivityId();
+        Integer getTaskId();
+        String getTaskTitle();
+        Integer getUserId();
+        String getUserFullName();
+        ActivityLog.ActionType getActionType();
+        String getOldValue();
+        String getNewValue();
+        String getDescription();
+        LocalDateTime getCreatedAt();
+    }
+
+    interface ExpiredActivityRow {
+        Integer getActivityId();
+        Integer getTaskId();
+        String getTaskTitle();
+        Integer getUserId();
+        String getUserFullName();
+        ActivityLog.ActionType getActionType();
+        String getOldValue();
+        String getNewValue();
+        String getDescription();
+        LocalDateTime getCreatedAt();
+    }
+}
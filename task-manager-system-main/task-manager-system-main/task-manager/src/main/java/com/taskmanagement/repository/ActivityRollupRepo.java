@@ -0,0 +1,73 @@
+package com.taskmanagement.repository;
+
+import com.taskmanagement.entity.ActivityDailyRollup;
+import com.taskmanagement.entity.ActivityLog;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ActivityRollupRepo extends JpaRepository<ActivityDailyRollup, Integer>,
+        JpaSpecificationExecutor<ActivityDailyRollup> {
+
+    // Exactly the rollups with these keys: one OR'ed equality group per key, each a lookup on unique_rollup
+    default List<ActivityDailyRollup> findByKeys(Collection<RollupKey> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        Specification<ActivityDailyRollup> matchesKey = (root, query, cb) -> cb.or(keys.stream()
+                .map(key -> cb.and(
+                        cb.equal(root.get("activityDate"), key.date()),
+                        cb.equal(root.get("task").get("taskId"), key.taskId()),
+                        cb.equal(root.get("user").get("userId"), key.userId()),
+                        cb.equal(root.get("actionType"), key.actionType())))
+                .toArray(Predicate[]::new));
+        return findAll(matchesKey);
+    }
+
+    // Continuation of ActivityLogRepo.findFeedPage past the retention horizon: keyset over (activity_date, rollup_id)
+    @Query("""
+            SELECT r.rollupId AS rollupId, r.activityDate AS activityDate, t.taskId AS taskId,
+                   t.title AS taskTitle, u.userId AS userId, u.fullName AS userFullName,
+                   r.actionType AS actionType, r.activityCount AS activityCount, r.lastAt AS lastAt
+            FROM ActivityDailyRollup r JOIN r.task t JOIN r.user u
+            WHERE (:userId IS NULL OR u.userId = :userId)
+              AND (:taskId IS NULL OR t.taskId = :taskId)
+              AND (:actionType IS NULL OR r.actionType = :actionType)
+              AND (:cursorDate IS NULL
+                    OR r.activityDate < :cursorDate
+                    OR (r.activityDate = :cursorDate AND r.rollupId < :cursorRollupId))
+            ORDER BY r.activityDate DESC, r.rollupId DESC
+            """)
+    List<RollupFeedRow> findFeedPage(@Param("userId") Integer userId,
+                                     @Param("taskId") Integer taskId,
+                                     @Param("actionType") ActivityLog.ActionType actionType,
+                                     @Param("cursorDate") LocalDate cursorDate,
+                                     @Param("cursorRollupId") Integer cursorRollupId,
+                                     Pageable pageable);
+
+    record RollupKey(LocalDate date, Integer taskId, Integer userId, ActivityLog.ActionType actionType) {
+    }
+
+    interface RollupFeedRow {
+        Integer getRollupId();
+        LocalDate getActivityDate();
+        Integer getTaskId();
+        String getTaskTitle();
+        Integer getUserId();
+        String getUserFullName();
+        ActivityLog.ActionType getActionType();
+        Integer getActivityCount();
+        LocalDateTime getLastAt();
+    }
+}
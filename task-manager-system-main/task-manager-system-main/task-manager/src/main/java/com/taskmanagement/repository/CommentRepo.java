@@ -1,14 +1,126 @@
 package com.taskmanagement.repository;
 
 import com.taskmanagement.entity.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CommentRepo extends JpaRepository<Comment, Integer> {
-    List<Comment> findByTask_TaskIdOrderByCreatedAtAsc(Integer taskId);
-    List<Comment> findByTask_TaskIdAndParentCommentIdIsNullOrderByCreatedAtAsc(Integer taskId);
-}
 
+    // Read queries select the author columns directly; the task is never loaded, only its id is read
+    @Query("""
+            SELECT c.commentId AS commentId, c.task.taskId AS taskId, u.userId AS userId,
+                   u.username AS username, u.fullName AS userFullName, c.parentCommentId AS parentCommentId,
+                   c.text AS text, c.category AS category, c.createdAt AS createdAt
+            FROM Comment c JOIN c.user u
+            WHERE c.task.taskId = :taskId
+            ORDER BY c.createdAt, c.commentId
+            """)
+    List<CommentRow> findRowsByTaskId(@Param("taskId") Integer taskId);
+
+    @Query("""
+            SELECT c.commentId AS commentId, c.task.taskId AS taskId, u.userId AS userId,
+                   u.username AS username, u.fullName AS userFullName, c.parentCommentId AS parentCommentId,
+                   c.text AS text, c.category AS category, c.createdAt AS createdAt
+            FROM Comment c JOIN c.user u
+            WHERE c.commentId IN :ids
+            """)
+    List<CommentRow> findRowsByCommentIdIn(@Param("ids") Collection<Integer> ids);
+
+    // Search indexing: every comment's text in comment_id order
+    @Query("""
+            SELECT c.commentId AS commentId, c.task.taskId AS taskId, c.text AS text
+            FROM Comment c
+            WHERE c.commentId > :afterCommentId
+            ORDER BY c.commentId
+            """)
+    List<CommentTextRow> findTextRows(@Param("afterCommentId") Integer afterCommentId, Pageable pageable);
+
+    // Top-level comments of a task, oldest first, keyset-paginated over (created_at, comment_id)
+    @Query("""
+            SELECT c.commentId AS commentId, c.task.taskId AS taskId, u.userId AS userId,
+                   u.username AS username, u.fullName AS userFullName, c.parentCommentId AS parentCommentId,
+                   c.text AS text, c.category AS category, c.createdAt AS createdAt
+            FROM Comment c JOIN c.user u
+            WHERE c.task.taskId = :taskId
+              AND c.parentCommentId IS NULL
+              AND (:cursorCreatedAt IS NULL
+                    OR c.createdAt > :cursorCreatedAt
+                    OR (c.createdAt = :cursorCreatedAt AND c.commentId > :cursorCommentId))
+            ORDER BY c.createdAt, c.commentId
+            """)
+    List<CommentRow> findTopLevelPage(@Param("taskId") Integer taskId,
+                                      @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                      @Param("cursorCommentId") Integer cursorCommentId,
+                                      Pageable pageable);
+
+    // Replies to one comment; taskId is passed so the lookup stays on idx_comments_thread
+    @Query("""
+            SELECT c.commentId AS commentId, c.task.taskId AS taskId, u.userId AS userId,
+                   u.username AS username, u.fullName AS userFullName, c.parentCommentId AS parentCommentId,
+                   c.text AS text, c.category AS category, c.createdAt AS createdAt
+            FROM Comment c JOIN c.user u
+            WHERE c.task.taskId = :taskId
+              AND c.parentCommentId = :parentCommentId
+              AND (:cursorCreatedAt IS NULL
+                    OR c.createdAt > :cursorCreatedAt
+                    OR (c.createdAt = :cursorCreatedAt AND c.commentId > :cursorCommentId))
+            ORDER BY c.createdAt, c.commentId
+            """)
+    List<CommentRow> findRepliesPage(@Param("taskId") Integer taskId,
+                                     @Param("parentCommentId") Integer parentCommentId,
+                                     @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                     @Param("cursorCommentId") Integer cursorCommentId,
+                                     Pageable pageable);
+
+    // First :perThread replies of every given thread plus each thread's total reply count, in one statement
+    @Query(value = """
+            SELECT r.comment_id AS commentId, r.task_id AS taskId, u.user_id AS userId,
+                   u.username AS username, u.full_name AS userFullName, r.parent_comment_id AS parentCommentId,
+                   r.text AS text, r.category AS category, r.created_at AS createdAt, r.reply_count AS replyCount
+            FROM (SELECT c.comment_id, c.task_id, c.user_id, c.parent_comment_id, c.text, c.category, c.created_at,
+                         ROW_NUMBER() OVER (PARTITION BY c.parent_comment_id ORDER BY c.created_at, c.comment_id) AS rn,
+                         COUNT(*) OVER (PARTITION BY c.parent_comment_id) AS reply_count
+                  FROM comments c
+                  WHERE c.task_id = :taskId AND c.parent_comment_id IN (:parentCommentIds)) r
+            JOIN users u ON u.user_id = r.user_id
+            WHERE r.rn <= :perThread
+            ORDER BY r.parent_comment_id, r.created_at, r.comment_id
+            """, nativeQuery = true)
+    List<ReplyRow> findFirstReplies(@Param("taskId") Integer taskId,
+                                    @Param("parentCommentIds") Collection<Integer> parentCommentIds,
+                                    @Param("perThread") int perThread);
+
+    @Query("SELECT c.task.taskId FROM Comment c WHERE c.commentId = :commentId")
+    Optional<Integer> findTaskIdByCommentId(@Param("commentId") Integer commentId);
+
+    interface CommentRow {
+        Integer getCommentId();
+        Integer getTaskId();
+        Integer getUserId();
+        String getUsername();
+        String getUserFullName();
+        Integer getParentCommentId();
+        String getText();
+        String getCategory();
+        LocalDateTime getCreatedAt();
+    }
+
+    interface CommentTextRow {
+        Integer getCommentId();
+        Integer getTaskId();
+        String getText();
+    }
+
+    interface ReplyRow extends CommentRow {
+        Long getReplyCount();
+    }
+}
@@ -0,0 +1,44 @@
+package com.taskmanagement.repository;
+
+import com.taskmanagement.entity.JobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface JobLockRepo extends JpaRepository<JobLock, String> {
+
+    // Takes over an expired lease or extends our own; the row lock taken by the UPDATE makes this atomic
+    // across nodes. Returns 0 while another node holds the lease.
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE JobLock l SET l.lockedUntil = :until, l.lockedBy = :owner
+            WHERE l.name = :name AND (l.lockedUntil <= :now OR l.lockedBy = :owner)
+            """)
+    int acquire(@Param("name") String name,
+                @Param("owner") String owner,
+                @Param("now") LocalDateTime now,
+                @Param("until") LocalDateTime until);
+
+    // First use of a lock; fails with a DataIntegrityViolationException when another node created it first
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO job_locks (lock_name, locked_until, locked_by) VALUES (:name, :until, :owner)",
+            nativeQuery = true)
+    int insert(@Param("name") String name,
+               @Param("owner") String owner,
+               @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobLock l SET l.lockedUntil = :now WHERE l.name = :name AND l.lockedBy = :owner")
+    int release(@Param("name") String name,
+                @Param("owner") String owner,
+                @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,68 @@
+package com.taskmanagement.repository;
+
+import com.taskmanagement.entity.Category;
+import com.taskmanagement.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+// Resolves the users and categories a write refers to. Ids are looked up in the persistence context, then
+// in the second-level cache (see CacheConfig), and whatever is left is loaded with a single IN query,
+// so a request costs at most one select per type however many ids it carries.
+// Must be called inside a transaction; the returned entities are managed. Cached users may be up to the
+// region TTL behind changes made on other nodes, so don't decide on status or role from them.
+@Component
+public class ReferenceResolver {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Unknown ids are simply absent from the map; null ids are ignored
+    public Map<Integer, User> users(Collection<Integer> userIds) {
+        return load(User.class, userIds, User::getUserId);
+    }
+
+    public Map<Integer, Category> categories(Collection<Integer> categoryIds) {
+        return load(Category.class, categoryIds, Category::getCategoryId);
+    }
+
+    public Optional<User> user(Integer userId) {
+        return Optional.ofNullable(users(Collections.singletonList(userId)).get(userId));
+    }
+
+    private <T> Map<Integer, T> load(Class<T> type, Collection<Integer> ids, Function<T, Integer> idOf) {
+        Set<Integer> distinct = new LinkedHashSet<>();
+        for (Integer id : ids) {
+            if (id != null) {
+                distinct.add(id);
+            }
+        }
+        Map<Integer, T> entities = new HashMap<>();
+        if (distinct.isEmpty()) {
+            return entities;
+        }
+        List<T> loaded = entityManager.unwrap(Session.class)
+                .byMultipleIds(type)
+                .with(CacheMode.NORMAL)
+                .enableSessionCheck(true)
+                .multiLoad(new ArrayList<>(distinct));
+        loaded.stream()
+                .filter(Objects::nonNull)
+                .forEach(entity -> entities.put(idOf.apply(entity), entity));
+        return entities;
+    }
+}
@@ -0,0 +1,30 @@
+package com.taskmanagement.repository;
+
+import com.taskmanagement.entity.RevokedRefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface RevokedRefreshTokenRepo extends JpaRepository<RevokedRefreshToken, String> {
+
+    // A plain INSERT rather than save(): save() merges into an existing row, while this fails with a
+    // DataIntegrityViolationException when the token is already revoked, on whichever node revoked it
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO revoked_refresh_tokens (token_id, user_id, expires_at) VALUES (:tokenId, :userId, :expiresAt)",
+            nativeQuery = true)
+    int insert(@Param("tokenId") String tokenId,
+               @Param("userId") Integer userId,
+               @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedRefreshToken t WHERE t.expiresAt < :cutoff")
+    int deleteExpired(@Param("cutoff") LocalDateTime cutoff);
+}
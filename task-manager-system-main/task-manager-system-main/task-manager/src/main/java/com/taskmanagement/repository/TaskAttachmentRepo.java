@@ -0,0 +1,28 @@
+package com.taskmanagement.repository;
+
+import com.taskmanagement.entity.TaskAttachment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TaskAttachmentRepo extends JpaRepository<TaskAttachment, Integer> {
+
+    // Just the columns needed to serve the file; skips the EAGER task and uploader
+    @Query("""
+            SELECT a.attachmentId AS attachmentId, a.fileName AS fileName, a.filePath AS filePath, a.mimeType AS mimeType
+            FROM TaskAttachment a
+            WHERE a.attachmentId = :attachmentId AND a.task.isDeleted = false
+            """)
+    Optional<AttachmentFileRow> findFileRow(@Param("attachmentId") Integer attachmentId);
+
+    interface AttachmentFileRow {
+        Integer getAttachmentId();
+        String getFileName();
+        String getFilePath();
+        String getMimeType();
+    }
+}
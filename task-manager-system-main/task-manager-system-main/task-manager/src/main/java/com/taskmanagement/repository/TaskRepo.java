@@ -1,11 +1,198 @@
 package com.taskmanagement.repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.taskmanagement.entity.Task;
 
 @Repository
 public interface TaskRepo extends JpaRepository<Task, Integer> {
 
-}
\ No newline at end of file
+    // List queries join-fetch the EAGER to-one associations so they don't cost one select each;
+    // collections are then loaded for the whole list with fetchBoardDetails()
+    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.category LEFT JOIN FETCH t.createdBy WHERE t.isDeleted = false")
+    List<Task> findActive();
+
+    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.category LEFT JOIN FETCH t.createdBy WHERE t.isDeleted = true")
+    List<Task> findDeleted();
+
+    @Query("""
+            SELECT t FROM Task t LEFT JOIN FETCH t.category LEFT JOIN FETCH t.createdBy
+            WHERE t.isDeleted = false AND t.status = :status
+            """)
+    List<Task> findActiveByStatus(@Param("status") Task.TaskStatus status);
+
+    // Keyset page over (updated_at, task_id), newest first; all filters are optional
+    @Query("""
+            SELECT t FROM Task t LEFT JOIN FETCH t.category LEFT JOIN FETCH t.createdBy
+            WHERE t.isDeleted = false
+              AND (:status IS NULL OR t.status = :status)
+              AND (:priority IS NULL OR t.priority = :priority)
+              AND (:categoryId IS NULL OR t.category.categoryId = :categoryId)
+              AND (:assigneeId IS NULL OR EXISTS (
+                    SELECT 1 FROM TaskAssignment a WHERE a.task = t AND a.user.userId = :assigneeId))
+              AND (:dueFrom IS NULL OR t.dueDate >= :dueFrom)
+              AND (:dueTo IS NULL OR t.dueDate <= :dueTo)
+              AND (:cursorUpdatedAt IS NULL
+                    OR t.updatedAt < :cursorUpdatedAt
+                    OR (t.updatedAt = :cursorUpdatedAt AND t.taskId < :cursorTaskId))
+            ORDER BY t.updatedAt DESC, t.taskId DESC
+            """)
+    List<Task> findActivePage(@Param("status") Task.TaskStatus status,
+                              @Param("priority") Task.TaskPriority priority,
+                              @Param("categoryId") Integer categoryId,
+                              @Param("assigneeId") Integer assigneeId,
+                              @Param("dueFrom") LocalDate dueFrom,
+                              @Param("dueTo") LocalDate dueTo,
+                              @Param("cursorUpdatedAt") LocalDateTime cursorUpdatedAt,
+                              @Param("cursorTaskId") Integer cursorTaskId,
+                              Pageable pageable);
+
+    // Delta sync: everything (including soft-deleted tasks) changed after the cursor, in commit order
+    @Query("""
+            SELECT t FROM Task t LEFT JOIN FETCH t.category LEFT JOIN FETCH t.createdBy
+            WHERE :sinceSeq IS NULL
+               OR t.changeSeq > :sinceSeq
+               OR (t.changeSeq = :sinceSeq AND t.taskId > :sinceTaskId)
+            ORDER BY t.changeSeq ASC, t.taskId ASC
+            """)
+    List<Task> findChangedSince(@Param("sinceSeq") Long sinceSeq,
+                                @Param("sinceTaskId") Integer sinceTaskId,
+                                Pageable pageable);
+
+    // Takes the next change sequence number. The upsert keeps the counter row locked until the caller
+    // commits, so writers get their numbers in commit order. Flushes first so new tasks exist for the stamp.
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query(value = """
+            INSERT INTO id_generators (gen_name, next_val) VALUES ('task_changes', 1)
+            ON DUPLICATE KEY UPDATE next_val = next_val + 1
+            """, nativeQuery = true)
+    int advanceChangeSequence();
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE tasks SET change_seq = (SELECT next_val FROM id_generators WHERE gen_name = 'task_changes')
+            WHERE task_id IN (:taskIds)
+            """, nativeQuery = true)
+    int stampChangeSequence(@Param("taskIds") Collection<Integer> taskIds);
+
+    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.category LEFT JOIN FETCH t.createdBy WHERE t.taskId IN :ids")
+    List<Task> findByTaskIdIn(@Param("ids") Collection<Integer> ids);
+
+    @EntityGraph(attributePaths = {"category", "createdBy", "taskAssignments", "taskAssignments.user", "tags"})
+    @Query("SELECT t FROM Task t WHERE t.taskId = :id")
+    Optional<Task> findWithDetailsById(@Param("id") Integer id);
+
+    @Query("SELECT DISTINCT t FROM Task t LEFT JOIN FETCH t.taskAssignments a LEFT JOIN FETCH a.user WHERE t IN :tasks")
+    List<Task> fetchAssignments(@Param("tasks") Collection<Task> tasks);
+
+    @Query("SELECT DISTINCT t FROM Task t LEFT JOIN FETCH t.tags WHERE t IN :tasks")
+    List<Task> fetchTags(@Param("tasks") Collection<Task> tasks);
+
+    // Dashboard counts: one grouped scan over the (optionally scoped) active tasks
+    @Query("""
+            SELECT t.status AS status, t.priority AS priority, c.name AS categoryName,
+                   COUNT(t) AS total,
+                   SUM(CASE WHEN t.dueDate < :today AND t.status <> :doneStatus THEN 1 ELSE 0 END) AS overdue
+            FROM Task t LEFT JOIN t.category c
+            WHERE t.isDeleted = false
+              AND (:userId IS NULL OR EXISTS (
+                    SELECT 1 FROM TaskAssignment a WHERE a.task = t AND a.user.userId = :userId))
+              AND (:dueFrom IS NULL OR t.dueDate >= :dueFrom)
+              AND (:dueTo IS NULL OR t.dueDate <= :dueTo)
+            GROUP BY t.status, t.priority, c.name
+            """)
+    List<TaskCountRow> countGrouped(@Param("userId") Integer userId,
+                                    @Param("dueFrom") LocalDate dueFrom,
+                                    @Param("dueTo") LocalDate dueTo,
+                                    @Param("today") LocalDate today,
+                                    @Param("doneStatus") Task.TaskStatus doneStatus);
+
+    // Assignee counts need the assignment join, so they can't share the grouping above
+    // without double-counting tasks that have several assignees
+    @Query("""
+            SELECT a.user.userId AS userId, COUNT(a) AS total
+            FROM TaskAssignment a JOIN a.task t
+            WHERE t.isDeleted = false
+              AND (:userId IS NULL OR EXISTS (
+                    SELECT 1 FROM TaskAssignment scope WHERE scope.task = t AND scope.user.userId = :userId))
+              AND (:dueFrom IS NULL OR t.dueDate >= :dueFrom)
+              AND (:dueTo IS NULL OR t.dueDate <= :dueTo)
+            GROUP BY a.user.userId
+            """)
+    List<AssigneeCountRow> countByAssignee(@Param("userId") Integer userId,
+                                           @Param("dueFrom") LocalDate dueFrom,
+                                           @Param("dueTo") LocalDate dueTo);
+
+    // Search indexing reads plain columns only, in task_id order
+    @Query("""
+            SELECT t.taskId AS taskId, t.title AS title, t.description AS description, t.isDeleted AS deleted
+            FROM Task t
+            WHERE t.taskId > :afterTaskId
+            ORDER BY t.taskId
+            """)
+    List<TaskSearchRow> findSearchRows(@Param("afterTaskId") Integer afterTaskId, Pageable pageable);
+
+    @Query("""
+            SELECT t.taskId AS taskId, t.title AS title, t.description AS description, t.isDeleted AS deleted
+            FROM Task t
+            WHERE t.taskId IN :ids
+            """)
+    List<TaskSearchRow> findSearchRowsByTaskIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT t.taskId AS taskId, tag.name AS name FROM Task t JOIN t.tags tag WHERE t.taskId IN :ids")
+    List<TaskTagRow> findTagNames(@Param("ids") Collection<Integer> ids);
+
+    // Largest IN list fetchBoardDetails() sends in one statement
+    int BOARD_DETAILS_CHUNK = 500;
+
+    // Initializes assignments (with their users) and tags for every task in two queries per
+    // BOARD_DETAILS_CHUNK tasks, so whole-board lists never build an unbounded IN list
+    default List<Task> fetchBoardDetails(List<Task> tasks) {
+        for (int start = 0; start < tasks.size(); start += BOARD_DETAILS_CHUNK) {
+            List<Task> chunk = tasks.subList(start, Math.min(start + BOARD_DETAILS_CHUNK, tasks.size()));
+            fetchAssignments(chunk);
+            fetchTags(chunk);
+        }
+        return tasks;
+    }
+
+    interface TaskCountRow {
+        Task.TaskStatus getStatus();
+        Task.TaskPriority getPriority();
+        String getCategoryName();
+        Long getTotal();
+        Long getOverdue();
+    }
+
+    interface TaskSearchRow {
+        Integer getTaskId();
+        String getTitle();
+        String getDescription();
+        Boolean getDeleted();
+    }
+
+    interface TaskTagRow {
+        Integer getTaskId();
+        String getName();
+    }
+
+    interface AssigneeCountRow {
+        Integer getUserId();
+        Long getTotal();
+    }
+}
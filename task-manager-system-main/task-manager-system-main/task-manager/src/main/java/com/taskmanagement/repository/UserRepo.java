@@ -2,8 +2,16 @@ package com.taskmanagement.repository;
 
 
 import com.taskmanagement.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,4 +22,25 @@ public interface UserRepo extends JpaRepository<User, Integer> {
     // Add these two methods:
     Boolean existsByUsername(String username);
     Boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    // Straight from the database, never the node-local second-level cache: another node may have
+    // deactivated the user or bumped tokenVersion since this node cached the row (see AuthService.refresh
+    // and the UserServiceImpl writes)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    @Query("SELECT u FROM User u WHERE u.userId = :userId")
+    Optional<User> findCurrentById(@Param("userId") Integer userId);
+
+    // Users holding any of the given usernames or emails: the uniqueness check for a whole import chunk
+    @Query("""
+            SELECT u.username AS username, u.email AS email
+            FROM User u
+            WHERE u.username IN :usernames OR u.email IN :emails
+            """)
+    List<UserIdentityRow> findIdentities(@Param("usernames") Collection<String> usernames,
+                                         @Param("emails") Collection<String> emails);
+
+    interface UserIdentityRow {
+        String getUsername();
+        String getEmail();
+    }
+}
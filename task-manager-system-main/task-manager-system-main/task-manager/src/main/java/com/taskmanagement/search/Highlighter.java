@@ -0,0 +1,65 @@
+package com.taskmanagement.search;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// Renders text as escaped HTML with matched terms wrapped in <mark>
+public final class Highlighter {
+
+    private Highlighter() {
+    }
+
+    public static String highlight(String text, Set<String> terms) {
+        if (text == null) {
+            return null;
+        }
+        return render(text, matches(text, terms), 0, text.length());
+    }
+
+    // A window of at most maxLength characters around the first match (or the start of the text)
+    public static String snippet(String text, Set<String> terms, int maxLength) {
+        if (text == null) {
+            return null;
+        }
+        List<int[]> matches = matches(text, terms);
+        if (text.length() <= maxLength) {
+            return render(text, matches, 0, text.length());
+        }
+        int start = matches.isEmpty() ? 0 : Math.max(0, matches.get(0)[0] - maxLength / 4);
+        // Don't start in the middle of a word
+        while (start > 0 && !Character.isWhitespace(text.charAt(start - 1)) && matches.get(0)[0] - start < maxLength / 2) {
+            start--;
+        }
+        int end = Math.min(text.length(), start + maxLength);
+        return (start > 0 ? "…" : "") + render(text, matches, start, end) + (end < text.length() ? "…" : "");
+    }
+
+    private static List<int[]> matches(String text, Set<String> terms) {
+        List<int[]> matches = new ArrayList<>();
+        Tokenizer.tokenize(text, (token, start, end) -> {
+            if (terms.contains(token)) {
+                matches.add(new int[]{start, end});
+            }
+        });
+        return matches;
+    }
+
+    private static String render(String text, List<int[]> matches, int start, int end) {
+        StringBuilder html = new StringBuilder(end - start + matches.size() * 13);
+        int position = start;
+        for (int[] match : matches) {
+            if (match[0] < start || match[1] > end) {
+                continue;
+            }
+            html.append(HtmlUtils.htmlEscape(text.substring(position, match[0])))
+                    .append("<mark>")
+                    .append(HtmlUtils.htmlEscape(text.substring(match[0], match[1])))
+                    .append("</mark>");
+            position = match[1];
+        }
+        return html.append(HtmlUtils.htmlEscape(text.substring(position, end))).toString();
+    }
+}
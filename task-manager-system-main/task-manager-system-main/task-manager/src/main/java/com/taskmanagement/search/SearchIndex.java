@@ -0,0 +1,355 @@
+package com.taskmanagement.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory inverted index over tasks (title, tags, description) and comments, ranked with BM25.
+// Re-indexing a document tombstones its old number and appends a new one, so posting lists stay
+// sorted and append-only; once dead documents outnumber the live ones, the live ones are renumbered
+// densely and dead postings dropped, so per-document arrays stay proportional to the live set.
+// Comments of soft-deleted tasks stay indexed but are hidden until the task is restored.
+public class SearchIndex {
+
+    public enum DocType {
+        TASK, COMMENT
+    }
+
+    static final float TITLE_BOOST = 3f;
+    static final float TAG_BOOST = 2f;
+    static final float BODY_BOOST = 1f;
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int MIN_PURGE_DOCS = 10_000;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    // Indexed by document number
+    private int[] docIds = new int[1024];
+    private int[] docTaskIds = new int[1024];
+    private int[] docLengths = new int[1024];
+    private BitSet commentDocs = new BitSet();
+    private BitSet live = new BitSet();
+    private int docCount;
+    private int liveCount;
+    private long liveLength;
+    private int deadSincePurge;
+
+    // Entity id -> document number + 1 (0 = not indexed); ids are dense auto-increment keys
+    private int[] taskDocs = new int[1024];
+    private int[] commentDocNumbers = new int[1024];
+    private final BitSet hiddenTasks = new BitSet();
+
+    public record Hit(DocType type, int id, int taskId, float score) {
+    }
+
+    public record Result(int total, List<Hit> hits) {
+    }
+
+    public void indexTask(int taskId, String title, String description, Collection<String> tags) {
+        Map<String, float[]> terms = new HashMap<>();
+        int length = addTerms(terms, title, TITLE_BOOST);
+        for (String tag : tags) {
+            length += addTerms(terms, tag, TAG_BOOST);
+        }
+        length += addTerms(terms, description, BODY_BOOST);
+
+        lock.writeLock().lock();
+        try {
+            hiddenTasks.clear(taskId);
+            taskDocs = grow(taskDocs, taskId);
+            taskDocs[taskId] = add(DocType.TASK, taskId, taskId, terms, length, taskDocs[taskId]) + 1;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexComment(int commentId, int taskId, String text) {
+        Map<String, float[]> terms = new HashMap<>();
+        int length = addTerms(terms, text, BODY_BOOST);
+
+        lock.writeLock().lock();
+        try {
+            commentDocNumbers = grow(commentDocNumbers, commentId);
+            commentDocNumbers[commentId] = add(DocType.COMMENT, commentId, taskId, terms, length,
+                    commentDocNumbers[commentId]) + 1;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Soft delete: the task disappears from results along with its comments
+    public void removeTask(int taskId) {
+        lock.writeLock().lock();
+        try {
+            hiddenTasks.set(taskId);
+            if (taskId < taskDocs.length && taskDocs[taskId] != 0) {
+                kill(taskDocs[taskId] - 1);
+                taskDocs[taskId] = 0;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeComment(int commentId) {
+        lock.writeLock().lock();
+        try {
+            if (commentId < commentDocNumbers.length && commentDocNumbers[commentId] != 0) {
+                kill(commentDocNumbers[commentId] - 1);
+                commentDocNumbers[commentId] = 0;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Document numbers in use, including dead ones not yet purged
+    int documentCount() {
+        lock.readLock().lock();
+        try {
+            return docCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Documents matching any query term, best first; type == null searches tasks and comments
+    public Result search(String query, DocType type, int offset, int limit) {
+        Set<String> terms = new HashSet<>(Tokenizer.tokens(query));
+        lock.readLock().lock();
+        try {
+            if (terms.isEmpty() || liveCount == 0) {
+                return new Result(0, List.of());
+            }
+            float averageLength = (float) liveLength / liveCount;
+            float[] scores = new float[docCount];
+            int[] matched = new int[64];
+            int total = 0;
+
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                // Dead postings stay in the list until the next purge; only live documents count
+                int frequency = list.liveSize(live);
+                float idf = (float) Math.log(1 + (liveCount - frequency + 0.5) / (frequency + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    int doc = list.docs[i];
+                    if (!visible(doc, type)) {
+                        continue;
+                    }
+                    float tf = list.weights[i];
+                    float norm = K1 * (1 - B + B * docLengths[doc] / averageLength);
+                    if (scores[doc] == 0) {
+                        matched = grow(matched, total);
+                        matched[total++] = doc;
+                    }
+                    scores[doc] += idf * tf * (K1 + 1) / (tf + norm);
+                }
+            }
+
+            // Min-heap of the best offset + limit documents; ties go to the more recently indexed one
+            int wanted = offset + limit;
+            Comparator<Integer> byScore = (a, b) -> scores[a] != scores[b]
+                    ? Float.compare(scores[a], scores[b])
+                    : Integer.compare(a, b);
+            PriorityQueue<Integer> top = new PriorityQueue<>(Math.min(wanted, Math.max(total, 1)) + 1, byScore);
+            for (int i = 0; i < total; i++) {
+                int doc = matched[i];
+                // Most matches can't beat the current k-th best; skip them without boxing
+                if (top.size() < wanted) {
+                    top.offer(doc);
+                } else if (scores[doc] > scores[top.peek()] || (scores[doc] == scores[top.peek()] && doc > top.peek())) {
+                    top.poll();
+                    top.offer(doc);
+                }
+            }
+            Hit[] ranked = new Hit[top.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                int doc = top.poll();
+                ranked[i] = new Hit(commentDocs.get(doc) ? DocType.COMMENT : DocType.TASK,
+                        docIds[doc], docTaskIds[doc], scores[doc]);
+            }
+            List<Hit> hits = offset < ranked.length
+                    ? Arrays.asList(ranked).subList(offset, ranked.length)
+                    : List.of();
+            return new Result(total, new ArrayList<>(hits));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean visible(int doc, DocType type) {
+        if (!live.get(doc)) {
+            return false;
+        }
+        boolean comment = commentDocs.get(doc);
+        if (type != null && (type == DocType.COMMENT) != comment) {
+            return false;
+        }
+        return !comment || !hiddenTasks.get(docTaskIds[doc]);
+    }
+
+    // Returns the new document number; previousDoc is the old number + 1, or 0
+    private int add(DocType type, int id, int taskId, Map<String, float[]> terms, int length, int previousDoc) {
+        if (previousDoc != 0) {
+            kill(previousDoc - 1);
+        }
+        int doc = docCount++;
+        docIds = grow(docIds, doc);
+        docTaskIds = grow(docTaskIds, doc);
+        docLengths = grow(docLengths, doc);
+        docIds[doc] = id;
+        docTaskIds[doc] = taskId;
+        docLengths[doc] = length;
+        commentDocs.set(doc, type == DocType.COMMENT);
+        live.set(doc);
+        liveCount++;
+        liveLength += length;
+
+        for (Map.Entry<String, float[]> term : terms.entrySet()) {
+            postings.computeIfAbsent(term.getKey(), key -> new Postings()).add(doc, term.getValue()[0]);
+        }
+        return doc;
+    }
+
+    private void kill(int doc) {
+        if (!live.get(doc)) {
+            return;
+        }
+        live.clear(doc);
+        liveCount--;
+        liveLength -= docLengths[doc];
+        if (++deadSincePurge > Math.max(liveCount, MIN_PURGE_DOCS)) {
+            purge();
+        }
+    }
+
+    // Renumbers the live documents 0..liveCount-1 in their current order, so postings stay sorted and
+    // ties still go to the more recently indexed document
+    private void purge() {
+        int[] renumbered = new int[docCount];
+        int capacity = Math.max(1024, liveCount + (liveCount >> 1));
+        int[] ids = new int[capacity];
+        int[] taskIds = new int[capacity];
+        int[] lengths = new int[capacity];
+        BitSet comments = new BitSet();
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (!live.get(doc)) {
+                renumbered[doc] = -1;
+                continue;
+            }
+            renumbered[doc] = next;
+            ids[next] = docIds[doc];
+            taskIds[next] = docTaskIds[doc];
+            lengths[next] = docLengths[doc];
+            comments.set(next, commentDocs.get(doc));
+            next++;
+        }
+        postings.values().removeIf(list -> list.renumber(renumbered) == 0);
+        // In place: callers may be about to store a new number into these arrays
+        renumber(taskDocs, renumbered);
+        renumber(commentDocNumbers, renumbered);
+
+        docIds = ids;
+        docTaskIds = taskIds;
+        docLengths = lengths;
+        commentDocs = comments;
+        live = new BitSet(capacity);
+        live.set(0, next);
+        docCount = next;
+        deadSincePurge = 0;
+    }
+
+    // Entries hold document number + 1; ones that pointed at dead documents become 0
+    private static void renumber(int[] docNumbers, int[] renumbered) {
+        for (int i = 0; i < docNumbers.length; i++) {
+            if (docNumbers[i] != 0) {
+                docNumbers[i] = renumbered[docNumbers[i] - 1] + 1;
+            }
+        }
+    }
+
+    // Adds the text's terms with the given weight; returns the number of tokens
+    private static int addTerms(Map<String, float[]> terms, String text, float weight) {
+        int[] count = new int[1];
+        Tokenizer.tokenize(text, (token, start, end) -> {
+            terms.computeIfAbsent(token, key -> new float[1])[0] += weight;
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    private static int[] grow(int[] array, int index) {
+        return index < array.length ? array : Arrays.copyOf(array, Math.max(array.length * 2, index + 1));
+    }
+
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private float[] weights = new float[4];
+        private int size;
+
+        private void add(int doc, float weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+        }
+
+        private int liveSize(BitSet live) {
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (live.get(docs[i])) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        // Drops postings of dead documents (renumbered to -1) and shrinks lists that became mostly empty
+        private int renumber(int[] renumbered) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = renumbered[docs[i]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    weights[kept] = weights[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            if (kept > 4 && kept < docs.length / 4) {
+                docs = Arrays.copyOf(docs, kept * 2);
+                weights = Arrays.copyOf(weights, kept * 2);
+            }
+            return kept;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.taskmanagement.search;
+
+import com.taskmanagement.event.DataChangedEvent;
+import com.taskmanagement.repository.CommentRepo;
+import com.taskmanagement.repository.TaskRepo;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Owns the live SearchIndex. It is built from the database once the application is ready and then
+// kept current from committed task and comment changes. All index writes happen on one background
+// thread, so a rebuild and the updates committed while it runs are applied in order.
+@Slf4j
+@Component
+public class SearchIndexer {
+
+    private final TaskRepo taskRepository;
+    private final CommentRepo commentRepository;
+    private final ExecutorService indexer = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "search-indexer"));
+    private final Timer rebuildTimer;
+    private final int batchSize;
+    private volatile SearchIndex index = new SearchIndex();
+
+    public SearchIndexer(TaskRepo taskRepository,
+                         CommentRepo commentRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${search.rebuild-batch-size:1000}") int batchSize) {
+        this.taskRepository = taskRepository;
+        this.commentRepository = commentRepository;
+        this.batchSize = batchSize;
+        this.rebuildTimer = Timer.builder("search.index.rebuild")
+                .description("Time to build the search index from the database")
+                .register(meterRegistry);
+        Gauge.builder("search.index.documents", this, indexer -> indexer.index.size())
+                .description("Tasks and comments in the search index")
+                .register(meterRegistry);
+    }
+
+    public SearchIndex.Result search(String query, SearchIndex.DocType type, int offset, int limit) {
+        return index.search(query, type, offset, limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        indexer.execute(this::rebuild);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataChanged(DataChangedEvent event) {
+        if (event.getResource() == DataChangedEvent.Resource.TASKS && event.getTaskId() != null) {
+            indexer.execute(() -> reindexTask(event.getTaskId()));
+        } else if (event.getResource() == DataChangedEvent.Resource.COMMENTS && event.getId() != null) {
+            indexer.execute(() -> reindexComment(event.getId()));
+        }
+    }
+
+    // Builds a new index next to the live one and swaps it in; searches keep using the old one meanwhile
+    void rebuild() {
+        try {
+            SearchIndex fresh = new SearchIndex();
+            long started = System.nanoTime();
+            int afterTaskId = 0;
+            List<TaskRepo.TaskSearchRow> tasks;
+            do {
+                tasks = taskRepository.findSearchRows(afterTaskId, PageRequest.of(0, batchSize));
+                addTasks(fresh, tasks);
+                if (!tasks.isEmpty()) {
+                    afterTaskId = tasks.get(tasks.size() - 1).getTaskId();
+                }
+            } while (tasks.size() == batchSize);
+
+            int afterCommentId = 0;
+            List<CommentRepo.CommentTextRow> comments;
+            do {
+                comments = commentRepository.findTextRows(afterCommentId, PageRequest.of(0, batchSize));
+                comments.forEach(comment -> fresh.indexComment(comment.getCommentId(), comment.getTaskId(), comment.getText()));
+                if (!comments.isEmpty()) {
+                    afterCommentId = comments.get(comments.size() - 1).getCommentId();
+                }
+            } while (comments.size() == batchSize);
+
+            index = fresh;
+            long elapsed = System.nanoTime() - started;
+            rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            log.info("Built search index with {} documents in {} ms", fresh.size(), elapsed / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Could not build the search index", e);
+        }
+    }
+
+    private void reindexTask(Integer taskId) {
+        try {
+            List<TaskRepo.TaskSearchRow> rows = taskRepository.findSearchRowsByTaskIdIn(List.of(taskId));
+            if (rows.isEmpty()) {
+                index.removeTask(taskId);
+            } else {
+                addTasks(index, rows);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not update task {} in the search index", taskId, e);
+        }
+    }
+
+    private void reindexComment(Integer commentId) {
+        try {
+            commentRepository.findRowsByCommentIdIn(List.of(commentId)).forEach(comment ->
+                    index.indexComment(comment.getCommentId(), comment.getTaskId(), comment.getText()));
+        } catch (RuntimeException e) {
+            log.warn("Could not update comment {} in the search index", commentId, e);
+        }
+    }
+
+    private void addTasks(SearchIndex target, List<TaskRepo.TaskSearchRow> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        Map<Integer, List<String>> tags = new HashMap<>();
+        taskRepository.findTagNames(tasks.stream().map(TaskRepo.TaskSearchRow::getTaskId).toList())
+                .forEach(tag -> tags.computeIfAbsent(tag.getTaskId(), id -> new ArrayList<>()).add(tag.getName()));
+        for (TaskRepo.TaskSearchRow task : tasks) {
+            if (Boolean.TRUE.equals(task.getDeleted())) {
+                target.removeTask(task.getTaskId());
+            } else {
+                target.indexTask(task.getTaskId(), task.getTitle(), task.getDescription(),
+                        tags.getOrDefault(task.getTaskId(), List.of()));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        indexer.shutdownNow();
+    }
+}
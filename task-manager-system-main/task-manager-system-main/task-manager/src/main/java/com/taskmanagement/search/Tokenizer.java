@@ -0,0 +1,76 @@
+package com.taskmanagement.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Splits text into lowercase, accent-free terms ("Cập nhật" -> "cap", "nhat") so queries match
+// regardless of case and diacritics. Offsets refer to the original text, for highlighting.
+public final class Tokenizer {
+
+    static final int MAX_TOKEN_LENGTH = 40;
+
+    @FunctionalInterface
+    public interface TokenConsumer {
+        void accept(String token, int start, int end);
+    }
+
+    private Tokenizer() {
+    }
+
+    public static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        tokenize(text, (token, start, end) -> tokens.add(token));
+        return tokens;
+    }
+
+    public static void tokenize(String text, TokenConsumer consumer) {
+        if (text == null) {
+            return;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            int codePoint = text.codePointAt(i);
+            if (!Character.isLetterOrDigit(codePoint)) {
+                i += Character.charCount(codePoint);
+                continue;
+            }
+            int start = i;
+            boolean ascii = true;
+            while (i < length) {
+                codePoint = text.codePointAt(i);
+                // Combining marks belong to the word when the text is already decomposed
+                if (!Character.isLetterOrDigit(codePoint) && Character.getType(codePoint) != Character.NON_SPACING_MARK) {
+                    break;
+                }
+                ascii &= codePoint < 0x80;
+                i += Character.charCount(codePoint);
+            }
+            String token = ascii
+                    ? text.substring(start, i).toLowerCase(Locale.ROOT)
+                    : normalize(text.substring(start, i));
+            if (!token.isEmpty() && token.length() <= MAX_TOKEN_LENGTH) {
+                consumer.accept(token, start, i);
+            }
+        }
+    }
+
+    static String normalize(String word) {
+        String decomposed = Normalizer.normalize(word, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            // Has no decomposition, so NFD leaves it alone
+            if (c == 'đ' || c == 'Đ') {
+                c = 'd';
+            }
+            normalized.append(c);
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,11 @@
+package com.taskmanagement.security;
+
+import lombok.Value;
+
+// Principal set by TokenAuthenticationFilter; everything comes from the token, nothing from the database
+@Value
+public class AuthenticatedUser {
+    Integer userId;
+    String username;
+    String role;
+}
@@ -0,0 +1,51 @@
+package com.taskmanagement.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+// Picks the BCrypt cost factor for this host: the highest strength whose hash still fits the latency budget.
+// Each step doubles the work, so measuring upward from the floor stops after a few hashes. Existing hashes
+// carry their own cost, so changing it only affects passwords hashed from now on.
+@Slf4j
+public final class BcryptCalibration {
+
+    private static final int MAX_STRENGTH = 16;
+    private static final int SAMPLES = 3;
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+    private BcryptCalibration() {
+    }
+
+    // Never returns less than minimumStrength, even when the host is too slow for the budget
+    public static int strengthFor(Duration targetLatency, int minimumStrength) {
+        long budget = targetLatency.toNanos();
+        int strength = minimumStrength;
+        long nanos = measure(strength);
+        while (strength < MAX_STRENGTH && nanos * 2 <= budget) {
+            long next = measure(strength + 1);
+            if (next > budget) {
+                break;
+            }
+            strength++;
+            nanos = next;
+        }
+        log.info("BCrypt strength {} takes {} ms per hash (budget {} ms)",
+                strength, Duration.ofNanos(nanos).toMillis(), targetLatency.toMillis());
+        return strength;
+    }
+
+    // Fastest of a few runs after a warm-up; slower runs are noise from other work on the host
+    public static long measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        String hash = encoder.encode(SAMPLE_PASSWORD);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.matches(SAMPLE_PASSWORD, hash);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,108 @@
+package com.taskmanagement.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// Token buckets on login attempts, one per client IP (credential stuffing from one source) and one per
+// username (guessing one account from many sources). Every attempt takes a token from both; buckets refill
+// continuously and idle ones are forgotten. The IP is the request's remote address, so behind a proxy
+// server.forward-headers-strategy has to be set for it to be the client's.
+@Component
+public class LoginThrottle {
+
+    private final Cache<String, TokenBucket> ipBuckets;
+    private final Cache<String, TokenBucket> usernameBuckets;
+    private final int ipCapacity;
+    private final double ipTokensPerNano;
+    private final int usernameCapacity;
+    private final double usernameTokensPerNano;
+    private final Counter ipThrottled;
+    private final Counter usernameThrottled;
+
+    public LoginThrottle(MeterRegistry meterRegistry,
+                         @Value("${auth.login-throttle.ip-capacity:20}") int ipCapacity,
+                         @Value("${auth.login-throttle.ip-refill-period:1m}") Duration ipRefillPeriod,
+                         @Value("${auth.login-throttle.username-capacity:5}") int usernameCapacity,
+                         @Value("${auth.login-throttle.username-refill-period:1m}") Duration usernameRefillPeriod,
+                         @Value("${auth.login-throttle.max-tracked:100000}") long maxTracked) {
+        this.ipCapacity = ipCapacity;
+        this.ipTokensPerNano = (double) ipCapacity / ipRefillPeriod.toNanos();
+        this.usernameCapacity = usernameCapacity;
+        this.usernameTokensPerNano = (double) usernameCapacity / usernameRefillPeriod.toNanos();
+        // A bucket idle for a full refill period is full again, so forgetting it changes nothing
+        this.ipBuckets = Caffeine.newBuilder()
+                .expireAfterAccess(ipRefillPeriod)
+                .maximumSize(maxTracked)
+                .build();
+        this.usernameBuckets = Caffeine.newBuilder()
+                .expireAfterAccess(usernameRefillPeriod)
+                .maximumSize(maxTracked)
+                .build();
+        this.ipThrottled = Counter.builder("auth.login.throttled")
+                .tag("scope", "ip")
+                .description("Login attempts refused by the token-bucket throttle")
+                .register(meterRegistry);
+        this.usernameThrottled = Counter.builder("auth.login.throttled")
+                .tag("scope", "username")
+                .description("Login attempts refused by the token-bucket throttle")
+                .register(meterRegistry);
+    }
+
+    // 0 when the attempt may proceed, otherwise the seconds to wait before retrying
+    public long tryAcquire(String ip, String username) {
+        long now = System.nanoTime();
+        if (ip != null) {
+            long wait = ipBuckets.get(ip, key -> new TokenBucket(ipCapacity, ipTokensPerNano, now)).tryTake(now);
+            if (wait > 0) {
+                ipThrottled.increment();
+                return toRetryAfterSeconds(wait);
+            }
+        }
+        if (username != null && !username.isBlank()) {
+            String key = username.trim().toLowerCase(Locale.ROOT);
+            long wait = usernameBuckets.get(key, k -> new TokenBucket(usernameCapacity, usernameTokensPerNano, now)).tryTake(now);
+            if (wait > 0) {
+                usernameThrottled.increment();
+                return toRetryAfterSeconds(wait);
+            }
+        }
+        return 0;
+    }
+
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    private static final class TokenBucket {
+        private final int capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long refilledAt;
+
+        private TokenBucket(int capacity, double tokensPerNano, long now) {
+            this.capacity = capacity;
+            this.tokensPerNano = tokensPerNano;
+            this.tokens = capacity;
+            this.refilledAt = now;
+        }
+
+        // 0 if a token was taken, otherwise nanoseconds until one is available
+        private synchronized long tryTake(long now) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+    }
+}
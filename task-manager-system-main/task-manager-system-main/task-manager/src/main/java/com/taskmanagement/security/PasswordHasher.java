@@ -0,0 +1,137 @@
+package com.taskmanagement.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Runs BCrypt on a small dedicated pool instead of request threads, so a burst of logins can use at most
+// hash-threads CPUs and the other endpoints stay responsive. Admission control: when the queue is full, or a
+// task has waited longer than max-queue-wait (its client has likely given up), it fails with
+// PasswordHashingBusyException instead of adding to the backlog.
+// Bulk imports hash on a second, smaller pool, so a large import can't push logins into admission control.
+@Component
+public class PasswordHasher {
+
+    // Compared against for unknown or inactive users, so they take as long as a wrong password
+    private static final String DUMMY_PASSWORD = "not-a-real-password";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor bulkExecutor;
+    private final long maxQueueWaitNanos;
+    private final String dummyHash;
+    private final Timer hashing;
+    private final Counter rejected;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          MeterRegistry meterRegistry,
+                          @Value("${auth.password.hash-threads:0}") int hashThreads,
+                          @Value("${auth.password.queue-capacity:64}") int queueCapacity,
+                          @Value("${auth.password.max-queue-wait:2s}") Duration maxQueueWait,
+                          @Value("${auth.password.bulk-hash-threads:0}") int bulkHashThreads) {
+        this.passwordEncoder = passwordEncoder;
+        this.maxQueueWaitNanos = maxQueueWait.toNanos();
+        // 0 = half the cores, leaving the rest for request handling
+        int threads = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = newPool("password-hasher-", threads, new ArrayBlockingQueue<>(queueCapacity));
+        // 0 = a quarter of the cores. Unbounded queue: each import submits one chunk at a time and waits for it
+        int bulkThreads = bulkHashThreads > 0 ? bulkHashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+        this.bulkExecutor = newPool("bulk-password-hasher-", bulkThreads, new LinkedBlockingQueue<>());
+        this.dummyHash = passwordEncoder.encode(DUMMY_PASSWORD);
+
+        this.hashing = Timer.builder("auth.password.hashing")
+                .description("Time spent computing password hashes, excluding queueing")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("auth.password.rejected")
+                .description("Hashing requests refused because the pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Password hashes waiting for a hashing thread")
+                .register(meterRegistry);
+    }
+
+    // encodedPassword may be null (unknown user); the result is then false after a full-cost comparison
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        if (encodedPassword == null) {
+            return submit(() -> {
+                passwordEncoder.matches(rawPassword, dummyHash);
+                return false;
+            });
+        }
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    // Blocks the caller until the hash is ready; call it outside database transactions
+    public String encode(String rawPassword) {
+        try {
+            return submit(() -> passwordEncoder.encode(rawPassword)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Hashes a batch in parallel on the bulk pool and blocks until all are done; call it outside database
+    // transactions. Never rejected, the caller bounds the batch size.
+    public List<String> encodeAll(List<String> rawPasswords) {
+        List<CompletableFuture<String>> hashes = new ArrayList<>(rawPasswords.size());
+        for (String rawPassword : rawPasswords) {
+            hashes.add(CompletableFuture.supplyAsync(
+                    () -> hashing.record(() -> passwordEncoder.encode(rawPassword)), bulkExecutor));
+        }
+        return hashes.stream().map(CompletableFuture::join).toList();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long enqueuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                if (System.nanoTime() - enqueuedAt > maxQueueWaitNanos) {
+                    rejected.increment();
+                    throw new PasswordHashingBusyException();
+                }
+                return hashing.record(task);
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new PasswordHashingBusyException());
+        }
+    }
+
+    private static ThreadPoolExecutor newPool(String namePrefix, int threads, BlockingQueue<Runnable> queue) {
+        AtomicLong threadIds = new AtomicLong();
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, queue,
+                runnable -> {
+                    Thread thread = new Thread(runnable, namePrefix + threadIds.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        bulkExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,9 @@
+package com.taskmanagement.security;
+
+// The hashing pool is at capacity; the caller should answer 503 and let the client retry
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException() {
+        super("Password hashing is at capacity");
+    }
+}
@@ -0,0 +1,43 @@
+package com.taskmanagement.security;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+// Payload of a signed token; times are epoch milliseconds
+@Value
+@Builder
+@Jacksonized
+public class TokenClaims {
+
+    @JsonProperty("typ")
+    TokenType type;
+
+    @JsonProperty("sub")
+    Integer userId;
+
+    @JsonProperty("name")
+    String username;
+
+    @JsonProperty("role")
+    String role;
+
+    // Unique per token, so a single token can be revoked
+    @JsonProperty("jti")
+    String tokenId;
+
+    // User.tokenVersion at issue time
+    @JsonProperty("ver")
+    int version;
+
+    @JsonProperty("iat")
+    long issuedAt;
+
+    @JsonProperty("exp")
+    long expiresAt;
+
+    public enum TokenType {
+        ACCESS, REFRESH
+    }
+}
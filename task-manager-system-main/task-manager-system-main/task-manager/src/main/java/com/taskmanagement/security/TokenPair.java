@@ -0,0 +1,13 @@
+package com.taskmanagement.security;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class TokenPair {
+    String accessToken;
+    String refreshToken;
+    long accessExpiresAt;
+    long refreshExpiresAt;
+}
@@ -0,0 +1,59 @@
+package com.taskmanagement.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskmanagement.event.UserTokensRevokedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+// In-memory revocation list. Entries only need to outlive the tokens they revoke, so both caches
+// expire after the refresh-token lifetime. Each node keeps its own list: an access token revoked on one
+// node stays usable on others until it expires, which is why access tokens are short-lived. Refresh tokens
+// are additionally checked against the database (see AuthService.refresh), so they stop everywhere at once.
+@Component
+public class TokenRevocations {
+
+    // Revoked token ids (logout, rotated refresh tokens)
+    private final Cache<String, Boolean> revokedTokens;
+    // userId -> epoch millis; every token of the user issued before it is rejected
+    private final Cache<Integer, Long> revokedUsers;
+
+    public TokenRevocations(@Value("${auth.tokens.refresh-ttl:14d}") Duration refreshTtl,
+                            @Value("${auth.tokens.revocation-cache-size:100000}") long maximumSize) {
+        this.revokedTokens = Caffeine.newBuilder()
+                .expireAfterWrite(refreshTtl)
+                .maximumSize(maximumSize)
+                .build();
+        this.revokedUsers = Caffeine.newBuilder()
+                .expireAfterWrite(refreshTtl)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public void revoke(TokenClaims claims) {
+        revokedTokens.put(claims.getTokenId(), Boolean.TRUE);
+    }
+
+    // Deactivation, role or password change: the user has to log in again
+    public void revokeUser(Integer userId) {
+        revokedUsers.put(userId, System.currentTimeMillis());
+    }
+
+    // Only once the change is committed: revoking earlier would let a login in between read the old
+    // password, role or status and get a token issued after the cut-off
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserTokensRevoked(UserTokensRevokedEvent event) {
+        revokeUser(event.getUserId());
+    }
+
+    public boolean isRevoked(TokenClaims claims) {
+        if (revokedTokens.getIfPresent(claims.getTokenId()) != null) {
+            return true;
+        }
+        Long notBefore = revokedUsers.getIfPresent(claims.getUserId());
+        return notBefore != null && claims.getIssuedAt() <= notBefore;
+    }
+}
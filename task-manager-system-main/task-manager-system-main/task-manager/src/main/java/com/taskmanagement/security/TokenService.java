@@ -0,0 +1,155 @@
+package com.taskmanagement.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanagement.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+
+// Issues and verifies HMAC-SHA256 signed tokens: "v1.<base64url payload>.<base64url signature>".
+// Verification needs only the shared secret and the revocation list, so any node can check a token
+// without a database round trip. All nodes must be configured with the same auth.tokens.secret.
+@Slf4j
+@Component
+public class TokenService {
+
+    private static final String VERSION = "v1";
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final ObjectMapper objectMapper;
+    private final TokenRevocations revocations;
+    // Mac instances aren't thread-safe; one per thread avoids re-initializing the key on every request
+    private final ThreadLocal<Mac> macs;
+    private final SecureRandom random = new SecureRandom();
+    private final Duration accessTtl;
+    private final Duration refreshTtl;
+    private final long clockSkewMillis;
+
+    public TokenService(ObjectMapper objectMapper,
+                        TokenRevocations revocations,
+                        @Value("${auth.tokens.secret:}") String secret,
+                        @Value("${auth.tokens.access-ttl:15m}") Duration accessTtl,
+                        @Value("${auth.tokens.refresh-ttl:14d}") Duration refreshTtl,
+                        @Value("${auth.tokens.clock-skew:30s}") Duration clockSkew) {
+        this.objectMapper = objectMapper;
+        this.revocations = revocations;
+        this.accessTtl = accessTtl;
+        this.refreshTtl = refreshTtl;
+        this.clockSkewMillis = clockSkew.toMillis();
+
+        byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (secret.isBlank()) {
+            // Fine for a single node in development; tokens stop working on restart
+            log.warn("auth.tokens.secret is not set; using a random key, tokens won't be accepted by other nodes or after restart");
+            secretBytes = new byte[MIN_SECRET_BYTES];
+            random.nextBytes(secretBytes);
+        } else if (secretBytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("auth.tokens.secret must be at least " + MIN_SECRET_BYTES + " bytes");
+        }
+        SecretKeySpec key = new SecretKeySpec(secretBytes, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    public TokenPair issue(User user) {
+        long now = System.currentTimeMillis();
+        TokenClaims access = claims(user, TokenClaims.TokenType.ACCESS, now, accessTtl);
+        TokenClaims refresh = claims(user, TokenClaims.TokenType.REFRESH, now, refreshTtl);
+        return TokenPair.builder()
+                .accessToken(sign(access))
+                .refreshToken(sign(refresh))
+                .accessExpiresAt(access.getExpiresAt())
+                .refreshExpiresAt(refresh.getExpiresAt())
+                .build();
+    }
+
+    // Signature, type, expiry and revocation; empty for anything that doesn't pass
+    public Optional<TokenClaims> verify(String token, TokenClaims.TokenType expectedType) {
+        return decode(token)
+                .filter(claims -> claims.getType() == expectedType)
+                .filter(claims -> claims.getExpiresAt() + clockSkewMillis > System.currentTimeMillis())
+                .filter(claims -> !revocations.isRevoked(claims));
+    }
+
+    // Signature only: lets logout revoke a token that has already expired
+    public Optional<TokenClaims> decode(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int first = token.indexOf('.');
+        int second = token.indexOf('.', first + 1);
+        if (first < 0 || second < 0 || token.indexOf('.', second + 1) >= 0
+                || !VERSION.equals(token.substring(0, first))) {
+            return Optional.empty();
+        }
+        try {
+            byte[] expected = mac(token.substring(0, second));
+            byte[] actual = DECODER.decode(token.substring(second + 1));
+            // Constant-time comparison
+            if (!MessageDigest.isEqual(expected, actual)) {
+                return Optional.empty();
+            }
+            TokenClaims claims = objectMapper.readValue(DECODER.decode(token.substring(first + 1, second)), TokenClaims.class);
+            if (claims.getType() == null || claims.getUserId() == null || claims.getTokenId() == null) {
+                return Optional.empty();
+            }
+            return Optional.of(claims);
+        } catch (IllegalArgumentException | IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    public Duration getAccessTtl() {
+        return accessTtl;
+    }
+
+    private TokenClaims claims(User user, TokenClaims.TokenType type, long now, Duration ttl) {
+        byte[] id = new byte[16];
+        random.nextBytes(id);
+        return TokenClaims.builder()
+                .type(type)
+                .userId(user.getUserId())
+                .username(user.getUsername())
+                .role(user.getRole().name())
+                .tokenId(ENCODER.encodeToString(id))
+                .version(user.getTokenVersion())
+                .issuedAt(now)
+                .expiresAt(now + ttl.toMillis())
+                .build();
+    }
+
+    private String sign(TokenClaims claims) {
+        try {
+            String unsigned = VERSION + "." + ENCODER.encodeToString(objectMapper.writeValueAsBytes(claims));
+            return unsigned + "." + ENCODER.encodeToString(mac(unsigned));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] mac(String data) {
+        return macs.get().doFinal(data.getBytes(StandardCharsets.US_ASCII));
+    }
+}
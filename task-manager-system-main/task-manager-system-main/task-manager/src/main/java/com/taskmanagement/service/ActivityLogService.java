@@ -1,12 +1,14 @@
 package com.taskmanagement.service;
 
 import com.taskmanagement.dto.response.ActivityLogDTO;
+import com.taskmanagement.dto.response.CursorPage;
 
 import java.util.List;
 
 public interface ActivityLogService {
     List<ActivityLogDTO> getRecentActivities(int limit);
-    List<ActivityLogDTO> getActivitiesByTaskId(Integer taskId);
+    CursorPage<ActivityLogDTO> getActivityFeed(Integer userId, Integer taskId, String actionType, String cursor, int limit);
+    CursorPage<ActivityLogDTO> getActivitiesByTaskId(Integer taskId, String cursor, int limit);
     ActivityLogDTO createActivityLog(Integer taskId, Integer userId, String actionType, String oldValue, String newValue, String description);
 }
 
@@ -0,0 +1,19 @@
+package com.taskmanagement.service;
+
+import java.io.InputStream;
+import java.util.Optional;
+
+import com.taskmanagement.dto.request.StartUploadRequest;
+import com.taskmanagement.dto.response.UploadStatusDTO;
+import com.taskmanagement.preview.Thumbnail;
+import com.taskmanagement.preview.ThumbnailVariant;
+import com.taskmanagement.storage.AttachmentDownload;
+
+public interface AttachmentService {
+    Optional<AttachmentDownload> getDownload(Integer attachmentId);
+    Optional<Thumbnail> getThumbnail(Integer attachmentId, ThumbnailVariant variant);
+    UploadStatusDTO startUpload(StartUploadRequest request);
+    Optional<UploadStatusDTO> getUploadStatus(String uploadId);
+    Optional<UploadStatusDTO> uploadChunk(String uploadId, long offset, long length, InputStream content);
+    boolean cancelUpload(String uploadId);
+}
@@ -1,12 +1,17 @@
 package com.taskmanagement.service;
 
 import java.util.List;
+import java.util.Optional;
 
 import com.taskmanagement.dto.request.CreateCommentRequest;
 import com.taskmanagement.dto.response.CommentDTO;
+import com.taskmanagement.dto.response.CommentThreadDTO;
+import com.taskmanagement.dto.response.CursorPage;
 
 public interface CommentService {
     List<CommentDTO> getCommentsByTaskId(Integer taskId);
+    CursorPage<CommentThreadDTO> getCommentThreads(Integer taskId, String cursor, int limit, int repliesPerThread);
+    Optional<CursorPage<CommentDTO>> getReplies(Integer commentId, String cursor, int limit);
     CommentDTO createComment(CreateCommentRequest request);
 }
 
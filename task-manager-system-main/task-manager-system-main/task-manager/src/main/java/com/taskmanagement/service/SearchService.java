@@ -0,0 +1,7 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.dto.response.SearchResultDTO;
+
+public interface SearchService {
+    SearchResultDTO search(String query, String type, int page, int size);
+}
@@ -1,21 +1,34 @@
 package com.taskmanagement.service;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import com.taskmanagement.dto.request.BulkUpdateTaskRequest;
 import com.taskmanagement.dto.request.CreateTaskRequest;
+import com.taskmanagement.dto.request.TaskFilter;
 import com.taskmanagement.dto.request.UpdateTaskRequest;
+import com.taskmanagement.dto.response.BulkTaskResultDTO;
+import com.taskmanagement.dto.response.CursorPage;
+import com.taskmanagement.dto.response.TaskChangesDTO;
 import com.taskmanagement.dto.response.TaskDTO;
 import com.taskmanagement.dto.response.TaskSimpleDTO;
+import com.taskmanagement.dto.response.TaskStatsDTO;
 
 public interface TaskService {
     List<TaskSimpleDTO> getAllActiveTasks();
+    List<TaskSimpleDTO> findAllActiveTasks(TaskFilter filter);
+    CursorPage<TaskSimpleDTO> findActiveTasks(TaskFilter filter, String cursor, int limit);
     Optional<TaskDTO> getTaskById(Integer id);
     TaskDTO createTask(CreateTaskRequest request);
+    BulkTaskResultDTO createTasks(List<CreateTaskRequest> requests);
     Optional<TaskDTO> updateTask(Integer id, UpdateTaskRequest request);
+    BulkTaskResultDTO updateTasks(List<BulkUpdateTaskRequest> requests);
     boolean softDeleteTask(Integer id);
     List<TaskSimpleDTO> getDeletedTasks();
     Optional<TaskDTO> restoreTask(Integer id);
     List<TaskSimpleDTO> getTasksByStatus(String status);
+    TaskChangesDTO getTaskChanges(String since, int limit);
+    TaskStatsDTO getTaskStats(Integer userId, LocalDate dueFrom, LocalDate dueTo);
 }
 
@@ -3,9 +3,14 @@ package com.taskmanagement.service;
 import com.taskmanagement.dto.request.CreateUserRequest;
 import com.taskmanagement.dto.request.UpdateUserRequest;
 import com.taskmanagement.dto.response.UserDTO;
+import com.taskmanagement.dto.response.UserImportResultDTO;
+import com.taskmanagement.dto.response.UserImportSummaryDTO;
+import com.taskmanagement.importer.UserImportRow;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface UserService {
     List<UserDTO> getAllUsers();
@@ -14,4 +19,5 @@ public interface UserService {
     Optional<UserDTO> updateUser(Integer id, UpdateUserRequest request);
     boolean deactivateUser(Integer id);
     Optional<UserDTO> activateUser(Integer id);
+    UserImportSummaryDTO importUsers(Iterator<UserImportRow> rows, Consumer<List<UserImportResultDTO>> results);
 }
@@ -1,47 +1,195 @@
 package com.taskmanagement.service.impl;
 
+import com.taskmanagement.archive.ActivityArchive;
+import com.taskmanagement.archive.ArchivedActivity;
+import com.taskmanagement.dto.ActivityDtoMapper;
 import com.taskmanagement.dto.response.ActivityLogDTO;
+import com.taskmanagement.dto.response.CursorPage;
 import com.taskmanagement.entity.ActivityLog;
+import com.taskmanagement.event.DataChangedEvent;
 import com.taskmanagement.repository.ActivityLogRepo;
+import com.taskmanagement.repository.ActivityRollupRepo;
+import com.taskmanagement.repository.ReferenceResolver;
 import com.taskmanagement.repository.TaskRepo;
-import com.taskmanagement.repository.UserRepo;
 import com.taskmanagement.service.ActivityLogService;
+import com.taskmanagement.util.KeysetCursor;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
+@Timed("service.invocations")
+@Counted(value = "service.failures", recordFailuresOnly = true)
 public class ActivityLogServiceImpl implements ActivityLogService {
 
     private final ActivityLogRepo activityLogRepository;
+    private final ActivityRollupRepo rollupRepository;
+    private final ActivityArchive activityArchive;
     private final TaskRepo taskRepository;
-    private final UserRepo userRepository;
+    private final ReferenceResolver referenceResolver;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final Comparator<ActivityLogDTO> NEWEST_FIRST = Comparator
+            .comparing(ActivityLogDTO::getCreatedAt)
+            .thenComparing(ActivityLogDTO::getActivityId)
+            .reversed();
 
     @Override
     public List<ActivityLogDTO> getRecentActivities(int limit) {
-        Pageable pageable = PageRequest.of(0, limit);
-        return activityLogRepository.findAll(pageable)
-                .getContent()
-                .stream()
-                .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
-                .limit(limit)
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return getActivityFeed(null, null, null, null, limit).getItems();
+    }
+
+    // Reads the raw activity_log rows first and, once they run out, continues into the daily rollups of
+    // rows pruned by the retention job. Rollup positions are encoded with a negative id in the cursor.
+    @Override
+    public CursorPage<ActivityLogDTO> getActivityFeed(Integer userId, Integer taskId, String actionType, String cursor, int limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        ActivityLog.ActionType type = actionType != null ? ActivityLog.ActionType.valueOf(actionType.toUpperCase()) : null;
+        boolean inRollups = after != null && after.getId() < 0;
+        List<ActivityLogDTO> items = new ArrayList<>(limit);
+
+        if (!inRollups) {
+            // Fetch one extra row to know whether another page exists
+            List<ActivityLogRepo.ActivityFeedRow> rows = activityLogRepository.findFeedPage(
+                    userId,
+                    taskId,
+                    type,
+                    after != null ? after.getTimestamp() : null,
+                    after != null ? after.getId() : null,
+                    PageRequest.of(0, limit + 1));
+
+            if (rows.size() > limit) {
+                rows = rows.subList(0, limit);
+                ActivityLogRepo.ActivityFeedRow last = rows.get(limit - 1);
+                rows.forEach(row -> items.add(ActivityDtoMapper.toDTO(row)));
+                return CursorPage.<ActivityLogDTO>builder()
+                        .items(items)
+                        .nextCursor(new KeysetCursor(last.getCreatedAt(), last.getActivityId()).encode())
+                        .build();
+            }
+            rows.forEach(row -> items.add(ActivityDtoMapper.toDTO(row)));
+        }
+
+        int remaining = limit - items.size();
+        List<ActivityRollupRepo.RollupFeedRow> rollups = rollupRepository.findFeedPage(
+                userId,
+                taskId,
+                type,
+                inRollups ? after.getTimestamp().toLocalDate() : null,
+                inRollups ? -after.getId() : null,
+                PageRequest.of(0, remaining + 1));
+
+        String nextCursor = null;
+        if (rollups.size() > remaining) {
+            rollups = rollups.subList(0, remaining);
+            if (remaining > 0) {
+                ActivityRollupRepo.RollupFeedRow last = rollups.get(remaining - 1);
+                nextCursor = new KeysetCursor(last.getActivityDate().atStartOfDay(), -last.getRollupId()).encode();
+            } else {
+                // The page filled up exactly with raw rows; the next one starts at the first rollup
+                ActivityLogDTO last = items.get(items.size() - 1);
+                nextCursor = new KeysetCursor(last.getCreatedAt(), last.getActivityId()).encode();
+            }
+        }
+        rollups.forEach(rollup -> items.add(ActivityDtoMapper.toDTO(rollup)));
+
+        return CursorPage.<ActivityLogDTO>builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .build();
     }
 
+    // Full history of a task, newest first, with the same keyset cursor as the feed: activity_log rows
+    // merged with archived rows from cold storage (both carry real activity ids), then rollups for days the
+    // archive doesn't hold (pruned before archiving was enabled), positioned by a negative id
     @Override
-    public List<ActivityLogDTO> getActivitiesByTaskId(Integer taskId) {
-        return activityLogRepository.findByTask_TaskIdOrderByCreatedAtDesc(taskId)
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public CursorPage<ActivityLogDTO> getActivitiesByTaskId(Integer taskId, String cursor, int limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        boolean inRollups = after != null && after.getId() < 0;
+        List<ActivityLogDTO> items = new ArrayList<>(limit);
+
+        if (!inRollups) {
+            List<ActivityLogDTO> rows = new ArrayList<>();
+            activityLogRepository.findFeedPage(null, taskId, null,
+                            after != null ? after.getTimestamp() : null,
+                            after != null ? after.getId() : null,
+                            PageRequest.of(0, limit + 1))
+                    .forEach(row -> rows.add(ActivityDtoMapper.toDTO(row)));
+            // A batch whose delete rolled back is both in activity_log and the archive
+            Set<Integer> seen = rows.stream().map(ActivityLogDTO::getActivityId).collect(Collectors.toSet());
+            activityArchive.findByTask(taskId, null, after != null ? after.getTimestamp() : null).stream()
+                    .filter(archived -> after == null || isBefore(archived, after))
+                    .filter(archived -> seen.add(archived.getActivityId()))
+                    .limit(limit + 1)
+                    .forEach(archived -> rows.add(ActivityDtoMapper.toDTO(archived)));
+            rows.sort(NEWEST_FIRST);
+
+            if (rows.size() > limit) {
+                ActivityLogDTO last = rows.get(limit - 1);
+                return CursorPage.<ActivityLogDTO>builder()
+                        .items(new ArrayList<>(rows.subList(0, limit)))
+                        .nextCursor(new KeysetCursor(last.getCreatedAt(), last.getActivityId()).encode())
+                        .build();
+            }
+            items.addAll(rows);
+        }
+
+        int remaining = limit - items.size();
+        List<ActivityRollupRepo.RollupFeedRow> rollups = rollupRepository.findFeedPage(
+                null,
+                taskId,
+                null,
+                inRollups ? after.getTimestamp().toLocalDate() : null,
+                inRollups ? -after.getId() : null,
+                PageRequest.of(0, remaining + 1));
+
+        String nextCursor = null;
+        if (rollups.size() > remaining) {
+            rollups = rollups.subList(0, remaining);
+            if (remaining > 0) {
+                ActivityRollupRepo.RollupFeedRow last = rollups.get(remaining - 1);
+                nextCursor = new KeysetCursor(last.getActivityDate().atStartOfDay(), -last.getRollupId()).encode();
+            } else {
+                // The page filled up exactly with activity rows; the next one starts at the first rollup
+                ActivityLogDTO last = items.get(items.size() - 1);
+                nextCursor = new KeysetCursor(last.getCreatedAt(), last.getActivityId()).encode();
+            }
+        }
+        if (!rollups.isEmpty()) {
+            // Days the archive holds are already listed activity by activity; such pages may come out short
+            Set<LocalDate> archivedDays = activityArchive.findByTask(taskId,
+                            rollups.get(rollups.size() - 1).getActivityDate().atStartOfDay(),
+                            rollups.get(0).getActivityDate().plusDays(1).atStartOfDay()).stream()
+                    .map(archived -> archived.getCreatedAt().toLocalDate())
+                    .collect(Collectors.toSet());
+            rollups.stream()
+                    .filter(rollup -> !archivedDays.contains(rollup.getActivityDate()))
+                    .forEach(rollup -> items.add(ActivityDtoMapper.toDTO(rollup)));
+        }
+
+        return CursorPage.<ActivityLogDTO>builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    // Strictly past the cursor in (createdAt, activityId) descending order
+    private static boolean isBefore(ArchivedActivity archived, KeysetCursor after) {
+        int byTime = archived.getCreatedAt().compareTo(after.getTimestamp());
+        return byTime < 0 || (byTime == 0 && archived.getActivityId() < after.getId());
     }
 
     @Override
@@ -50,7 +198,7 @@ public class ActivityLogServiceImpl implements ActivityLogService {
         ActivityLog activityLog = new ActivityLog();
         
         taskRepository.findById(taskId).ifPresent(activityLog::setTask);
-        userRepository.findById(userId).ifPresent(activityLog::setUser);
+        referenceResolver.user(userId).ifPresent(activityLog::setUser);
         
         try {
             activityLog.setActionType(ActivityLog.ActionType.valueOf(actionType));
@@ -63,25 +211,7 @@ public class ActivityLogServiceImpl implements ActivityLogService {
         activityLog.setDescription(description);
         
         ActivityLog saved = activityLogRepository.save(activityLog);
-        return convertToDTO(saved);
-    }
-
-    private ActivityLogDTO convertToDTO(ActivityLog activityLog) {
-        Integer taskId = activityLog.getTask() != null ? activityLog.getTask().getTaskId() : null;
-        Integer userId = activityLog.getUser() != null ? activityLog.getUser().getUserId() : null;
-        
-        return ActivityLogDTO.builder()
-                .activityId(activityLog.getActivityId())
-                .taskId(taskId)
-                .taskTitle(activityLog.getTask() != null ? activityLog.getTask().getTitle() : null)
-                .userId(userId)
-                .userFullName(activityLog.getUser() != null ? activityLog.getUser().getFullName() : null)
-                .actionType(activityLog.getActionType() != null ? activityLog.getActionType().toString() : null)
-                .oldValue(activityLog.getOldValue())
-                .newValue(activityLog.getNewValue())
-                .description(activityLog.getDescription())
-                .createdAt(activityLog.getCreatedAt())
-                .build();
+        eventPublisher.publishEvent(DataChangedEvent.activityCreated(saved.getActivityId(), taskId));
+        return ActivityDtoMapper.toDTO(saved);
     }
 }
-
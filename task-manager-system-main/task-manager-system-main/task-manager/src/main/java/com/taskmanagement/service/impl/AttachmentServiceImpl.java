@@ -0,0 +1,248 @@
+package com.taskmanagement.service.impl;
+
+import com.taskmanagement.dto.request.StartUploadRequest;
+import com.taskmanagement.dto.response.AttachmentDTO;
+import com.taskmanagement.dto.response.UploadStatusDTO;
+import com.taskmanagement.entity.ActivityLog;
+import com.taskmanagement.entity.Task;
+import com.taskmanagement.entity.TaskAttachment;
+import com.taskmanagement.event.ActivityRecordedEvent;
+import com.taskmanagement.event.AttachmentUploadedEvent;
+import com.taskmanagement.event.DataChangedEvent;
+import com.taskmanagement.preview.Thumbnail;
+import com.taskmanagement.preview.ThumbnailGenerator;
+import com.taskmanagement.preview.ThumbnailVariant;
+import com.taskmanagement.repository.TaskAttachmentRepo;
+import com.taskmanagement.repository.TaskRepo;
+import com.taskmanagement.repository.UserRepo;
+import com.taskmanagement.service.AttachmentService;
+import com.taskmanagement.storage.AttachmentDownload;
+import com.taskmanagement.storage.AttachmentStorage;
+import com.taskmanagement.storage.ChunkedUploadStore;
+import com.taskmanagement.storage.StoredBlob;
+import com.taskmanagement.storage.UploadSession;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Optional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class AttachmentServiceImpl implements AttachmentService {
+
+    private final TaskAttachmentRepo attachmentRepository;
+    private final AttachmentStorage attachmentStorage;
+    private final ChunkedUploadStore uploadStore;
+    private final ThumbnailGenerator thumbnailGenerator;
+    private final TaskRepo taskRepository;
+    private final UserRepo userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final int MAX_FILE_NAME_LENGTH = 255;
+
+    // Size and modification time come from the file itself, so validators change whenever its content does
+    @Override
+    public Optional<AttachmentDownload> getDownload(Integer attachmentId) {
+        return attachmentRepository.findFileRow(attachmentId).flatMap(row -> {
+            Optional<Path> path = attachmentStorage.resolve(row.getFilePath());
+            if (path.isEmpty()) {
+                log.warn("File of attachment {} is missing: {}", attachmentId, row.getFilePath());
+                return Optional.empty();
+            }
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(path.get(), BasicFileAttributes.class);
+                return Optional.of(AttachmentDownload.builder()
+                        .attachmentId(row.getAttachmentId())
+                        .fileName(row.getFileName())
+                        .mimeType(row.getMimeType())
+                        .path(path.get())
+                        .length(attributes.size())
+                        .lastModified(attributes.lastModifiedTime().toMillis())
+                        .build());
+            } catch (IOException e) {
+                log.warn("Could not read attachment {}", attachmentId, e);
+                return Optional.empty();
+            }
+        });
+    }
+
+    // Never generates on the calling thread: a missing thumbnail is queued and reported as pending.
+    // Empty for non-images and images that could not be decoded.
+    @Override
+    public Optional<Thumbnail> getThumbnail(Integer attachmentId, ThumbnailVariant variant) {
+        return attachmentRepository.findFileRow(attachmentId)
+                .filter(row -> thumbnailGenerator.supports(row.getMimeType()))
+                .flatMap(row -> attachmentStorage.resolve(row.getFilePath()))
+                .flatMap(source -> {
+                    Optional<Path> thumbnail = thumbnailGenerator.find(source, variant);
+                    if (thumbnail.isPresent()) {
+                        try {
+                            BasicFileAttributes attributes = Files.readAttributes(thumbnail.get(), BasicFileAttributes.class);
+                            return Optional.of(Thumbnail.builder()
+                                    .attachmentId(attachmentId)
+                                    .path(thumbnail.get())
+                                    .length(attributes.size())
+                                    .lastModified(attributes.lastModifiedTime().toMillis())
+                                    .build());
+                        } catch (IOException e) {
+                            log.warn("Could not read thumbnail of attachment {}", attachmentId, e);
+                            return Optional.empty();
+                        }
+                    }
+                    if (thumbnailGenerator.hasFailed(source)) {
+                        return Optional.empty();
+                    }
+                    // Covers files uploaded before thumbnails existed and requests dropped on a full queue
+                    thumbnailGenerator.request(source);
+                    return Optional.of(Thumbnail.builder().attachmentId(attachmentId).pending(true).build());
+                });
+    }
+
+    @Override
+    public UploadStatusDTO startUpload(StartUploadRequest request) {
+        if (request.getTaskId() == null || request.getUserId() == null
+                || request.getFileName() == null || request.getFileName().isBlank()
+                || request.getFileSize() == null || request.getFileSize() <= 0) {
+            throw new IllegalArgumentException("taskId, userId, fileName and a positive fileSize are required");
+        }
+        if (taskRepository.findById(request.getTaskId()).filter(task -> !task.isDeleted()).isEmpty()) {
+            throw new IllegalArgumentException("Task not found: " + request.getTaskId());
+        }
+        if (!userRepository.existsById(request.getUserId())) {
+            throw new IllegalArgumentException("User not found: " + request.getUserId());
+        }
+        String fileName = baseName(request.getFileName());
+        if (fileName.isEmpty()) {
+            throw new IllegalArgumentException("Invalid file name");
+        }
+        try {
+            UploadSession session = uploadStore.create(UploadSession.builder()
+                    .taskId(request.getTaskId())
+                    .userId(request.getUserId())
+                    .fileName(fileName)
+                    .mimeType(request.getMimeType())
+                    .fileSize(request.getFileSize())
+                    .build());
+            return uploadStatus(session, 0, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Optional<UploadStatusDTO> getUploadStatus(String uploadId) {
+        try {
+            Optional<UploadSession> session = uploadStore.find(uploadId);
+            if (session.isEmpty()) {
+                return Optional.empty();
+            }
+            return Optional.of(uploadStatus(session.get(), uploadStore.offset(uploadId), null));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Streams straight to disk outside any transaction; only the final attachment row is written in one
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<UploadStatusDTO> uploadChunk(String uploadId, long offset, long length, InputStream content) {
+        try {
+            Optional<UploadSession> found = uploadStore.find(uploadId);
+            if (found.isEmpty()) {
+                return Optional.empty();
+            }
+            UploadSession session = found.get();
+            long received = uploadStore.append(session, offset, content, length);
+            if (received < session.getFileSize()) {
+                return Optional.of(uploadStatus(session, received, null));
+            }
+            StoredBlob blob = uploadStore.complete(session);
+            AttachmentDTO attachment = transactionTemplate.execute(status -> saveAttachment(session, blob));
+            return Optional.of(uploadStatus(session, received, attachment));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean cancelUpload(String uploadId) {
+        try {
+            if (uploadStore.find(uploadId).isEmpty()) {
+                return false;
+            }
+            uploadStore.cancel(uploadId);
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private AttachmentDTO saveAttachment(UploadSession session, StoredBlob blob) {
+        Task task = taskRepository.findById(session.getTaskId())
+                .orElseThrow(() -> new IllegalArgumentException("Task not found: " + session.getTaskId()));
+
+        TaskAttachment attachment = new TaskAttachment();
+        attachment.setTask(task);
+        attachment.setUploadedBy(userRepository.getReferenceById(session.getUserId()));
+        attachment.setFileName(session.getFileName());
+        attachment.setFilePath(blob.getFilePath());
+        attachment.setFileSize(blob.getSize());
+        attachment.setMimeType(session.getMimeType());
+        TaskAttachment saved = attachmentRepository.save(attachment);
+
+        // Written after commit by ActivityLogWriter
+        eventPublisher.publishEvent(ActivityRecordedEvent.builder()
+                .taskId(task.getTaskId())
+                .userId(session.getUserId())
+                .actionType(ActivityLog.ActionType.FILE_UPLOADED)
+                .description("Uploaded " + session.getFileName() + " to " + task.getTitle())
+                .newValue(session.getFileName())
+                .build());
+        eventPublisher.publishEvent(DataChangedEvent.taskChanged(DataChangedEvent.ChangeType.UPDATED, task.getTaskId()));
+        // Thumbnails are generated in the background once the row is committed (ThumbnailGenerator)
+        eventPublisher.publishEvent(new AttachmentUploadedEvent(
+                saved.getAttachmentId(), task.getTaskId(), saved.getFilePath(), saved.getMimeType()));
+
+        return AttachmentDTO.builder()
+                .attachmentId(saved.getAttachmentId())
+                .taskId(task.getTaskId())
+                .fileName(saved.getFileName())
+                .fileSize(saved.getFileSize())
+                .mimeType(saved.getMimeType())
+                .uploadedById(session.getUserId())
+                .uploadedAt(saved.getUploadedAt())
+                .build();
+    }
+
+    private UploadStatusDTO uploadStatus(UploadSession session, long offset, AttachmentDTO attachment) {
+        return UploadStatusDTO.builder()
+                .uploadId(session.getUploadId())
+                .fileName(session.getFileName())
+                .fileSize(session.getFileSize())
+                .offset(offset)
+                .complete(attachment != null)
+                .attachment(attachment)
+                .build();
+    }
+
+    // Browsers may send a full client-side path; keep only the file name
+    private static String baseName(String fileName) {
+        String name = fileName.substring(Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf('\\')) + 1).trim();
+        return name.length() > MAX_FILE_NAME_LENGTH ? name.substring(name.length() - MAX_FILE_NAME_LENGTH) : name;
+    }
+}
@@ -2,38 +2,118 @@ package com.taskmanagement.service.impl;
 
 import com.taskmanagement.dto.request.CreateCommentRequest;
 import com.taskmanagement.dto.response.CommentDTO;
+import com.taskmanagement.dto.response.CommentThreadDTO;
+import com.taskmanagement.dto.response.CursorPage;
 import com.taskmanagement.entity.ActivityLog;
 import com.taskmanagement.entity.Comment;
-import com.taskmanagement.repository.ActivityLogRepo;
+import com.taskmanagement.event.ActivityRecordedEvent;
+import com.taskmanagement.event.DataChangedEvent;
 import com.taskmanagement.repository.CommentRepo;
+import com.taskmanagement.repository.ReferenceResolver;
 import com.taskmanagement.repository.TaskRepo;
-import com.taskmanagement.repository.UserRepo;
 import com.taskmanagement.service.CommentService;
+import com.taskmanagement.util.KeysetCursor;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
+@Timed("service.invocations")
+@Counted(value = "service.failures", recordFailuresOnly = true)
 public class CommentServiceImpl implements CommentService {
 
     private final CommentRepo commentRepository;
     private final TaskRepo taskRepository;
-    private final UserRepo userRepository;
-    private final ActivityLogRepo activityLogRepository;
+    private final ReferenceResolver referenceResolver;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<CommentDTO> getCommentsByTaskId(Integer taskId) {
-        return commentRepository.findByTask_TaskIdOrderByCreatedAtAsc(taskId)
+        return commentRepository.findRowsByTaskId(taskId)
                 .stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    // A page of top-level comments with the first replies of each thread: two statements regardless
+    // of page size or thread length
+    @Override
+    public CursorPage<CommentThreadDTO> getCommentThreads(Integer taskId, String cursor, int limit, int repliesPerThread) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        // Fetch one extra row to know whether another page exists
+        List<CommentRepo.CommentRow> rows = commentRepository.findTopLevelPage(
+                taskId,
+                after != null ? after.getTimestamp() : null,
+                after != null ? after.getId() : null,
+                PageRequest.of(0, limit + 1));
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            nextCursor = cursorAfter(rows.get(limit - 1));
+        }
+
+        Map<Integer, List<CommentRepo.ReplyRow>> repliesByThread = new HashMap<>();
+        if (!rows.isEmpty() && repliesPerThread > 0) {
+            List<Integer> threadIds = rows.stream().map(CommentRepo.CommentRow::getCommentId).toList();
+            for (CommentRepo.ReplyRow reply : commentRepository.findFirstReplies(taskId, threadIds, repliesPerThread)) {
+                repliesByThread.computeIfAbsent(reply.getParentCommentId(), id -> new ArrayList<>()).add(reply);
+            }
+        }
+
+        List<CommentThreadDTO> threads = new ArrayList<>(rows.size());
+        for (CommentRepo.CommentRow row : rows) {
+            List<CommentRepo.ReplyRow> replies = repliesByThread.getOrDefault(row.getCommentId(), List.of());
+            long replyCount = replies.isEmpty() ? 0 : replies.get(0).getReplyCount();
+            threads.add(CommentThreadDTO.builder()
+                    .comment(convertToDTO(row))
+                    .replies(replies.stream().map(this::convertToDTO).collect(Collectors.toList()))
+                    .replyCount(replyCount)
+                    .repliesCursor(replyCount > replies.size() ? cursorAfter(replies.get(replies.size() - 1)) : null)
+                    .build());
+        }
+        return CursorPage.<CommentThreadDTO>builder()
+                .items(threads)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    public Optional<CursorPage<CommentDTO>> getReplies(Integer commentId, String cursor, int limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        return commentRepository.findTaskIdByCommentId(commentId).map(taskId -> {
+            List<CommentRepo.CommentRow> rows = commentRepository.findRepliesPage(
+                    taskId,
+                    commentId,
+                    after != null ? after.getTimestamp() : null,
+                    after != null ? after.getId() : null,
+                    PageRequest.of(0, limit + 1));
+
+            String nextCursor = null;
+            if (rows.size() > limit) {
+                rows = rows.subList(0, limit);
+                nextCursor = cursorAfter(rows.get(limit - 1));
+            }
+            return CursorPage.<CommentDTO>builder()
+                    .items(rows.stream().map(this::convertToDTO).collect(Collectors.toList()))
+                    .nextCursor(nextCursor)
+                    .build();
+        });
+    }
+
     @Override
     @Transactional
     public CommentDTO createComment(CreateCommentRequest request) {
@@ -42,7 +122,7 @@ public class CommentServiceImpl implements CommentService {
         taskRepository.findById(request.getTaskId())
                 .ifPresent(comment::setTask);
         
-        userRepository.findById(request.getUserId())
+        referenceResolver.user(request.getUserId())
                 .ifPresent(comment::setUser);
         
         comment.setParentCommentId(request.getParentCommentId());
@@ -53,18 +133,40 @@ public class CommentServiceImpl implements CommentService {
         
         // Create activity log for the comment
         if (saved.getTask() != null && saved.getUser() != null) {
-            ActivityLog activityLog = new ActivityLog();
-            activityLog.setTask(saved.getTask());
-            activityLog.setUser(saved.getUser());
-            activityLog.setActionType(ActivityLog.ActionType.UPDATED); // Using UPDATED as comment action
-            activityLog.setDescription("Commented on " + saved.getTask().getTitle());
-            activityLog.setNewValue(saved.getCategory() != null ? saved.getCategory() : "Commented");
-            activityLogRepository.save(activityLog);
+            // Written after commit by ActivityLogWriter
+            eventPublisher.publishEvent(ActivityRecordedEvent.builder()
+                    .taskId(saved.getTask().getTaskId())
+                    .userId(saved.getUser().getUserId())
+                    .actionType(ActivityLog.ActionType.UPDATED) // Using UPDATED as comment action
+                    .description("Commented on " + saved.getTask().getTitle())
+                    .newValue(saved.getCategory() != null ? saved.getCategory() : "Commented")
+                    .build());
         }
         
+        if (saved.getTask() != null) {
+            eventPublisher.publishEvent(DataChangedEvent.commentCreated(saved.getCommentId(), saved.getTask().getTaskId()));
+        }
         return convertToDTO(saved);
     }
 
+    private static String cursorAfter(CommentRepo.CommentRow row) {
+        return new KeysetCursor(row.getCreatedAt(), row.getCommentId()).encode();
+    }
+
+    private CommentDTO convertToDTO(CommentRepo.CommentRow row) {
+        return CommentDTO.builder()
+                .commentId(row.getCommentId())
+                .taskId(row.getTaskId())
+                .userId(row.getUserId())
+                .username(row.getUsername())
+                .userFullName(row.getUserFullName())
+                .parentCommentId(row.getParentCommentId())
+                .text(row.getText())
+                .category(row.getCategory())
+                .createdAt(row.getCreatedAt())
+                .build();
+    }
+
     private CommentDTO convertToDTO(Comment comment) {
         return CommentDTO.builder()
                 .commentId(comment.getCommentId())
@@ -0,0 +1,93 @@
+package com.taskmanagement.service.impl;
+
+import com.taskmanagement.dto.response.SearchHitDTO;
+import com.taskmanagement.dto.response.SearchResultDTO;
+import com.taskmanagement.repository.CommentRepo;
+import com.taskmanagement.repository.TaskRepo;
+import com.taskmanagement.search.Highlighter;
+import com.taskmanagement.search.SearchIndex;
+import com.taskmanagement.search.SearchIndexer;
+import com.taskmanagement.search.Tokenizer;
+import com.taskmanagement.service.SearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SearchServiceImpl implements SearchService {
+
+    private static final int SNIPPET_LENGTH = 160;
+
+    private final SearchIndexer searchIndexer;
+    private final TaskRepo taskRepository;
+    private final CommentRepo commentRepository;
+
+    // Ranking comes from the in-memory index; only the hits on the requested page are loaded
+    // from the database, in one query per document type, to build titles and snippets
+    @Override
+    public SearchResultDTO search(String query, String type, int page, int size) {
+        SearchIndex.DocType docType = type != null ? SearchIndex.DocType.valueOf(type.toUpperCase()) : null;
+        SearchIndex.Result result = searchIndexer.search(query, docType, page * size, size);
+
+        Set<Integer> taskIds = new HashSet<>();
+        Set<Integer> commentIds = new HashSet<>();
+        for (SearchIndex.Hit hit : result.hits()) {
+            taskIds.add(hit.taskId());
+            if (hit.type() == SearchIndex.DocType.COMMENT) {
+                commentIds.add(hit.id());
+            }
+        }
+        Map<Integer, TaskRepo.TaskSearchRow> tasks = taskIds.isEmpty() ? Map.of()
+                : taskRepository.findSearchRowsByTaskIdIn(taskIds).stream()
+                        .collect(Collectors.toMap(TaskRepo.TaskSearchRow::getTaskId, Function.identity()));
+        Map<Integer, CommentRepo.CommentRow> comments = commentIds.isEmpty() ? Map.of()
+                : commentRepository.findRowsByCommentIdIn(commentIds).stream()
+                        .collect(Collectors.toMap(CommentRepo.CommentRow::getCommentId, Function.identity()));
+
+        Set<String> terms = new HashSet<>(Tokenizer.tokens(query));
+        List<SearchHitDTO> hits = new ArrayList<>(result.hits().size());
+        for (SearchIndex.Hit hit : result.hits()) {
+            TaskRepo.TaskSearchRow task = tasks.get(hit.taskId());
+            if (task == null) {
+                // Removed after the index was queried
+                continue;
+            }
+            String body;
+            if (hit.type() == SearchIndex.DocType.COMMENT) {
+                CommentRepo.CommentRow comment = comments.get(hit.id());
+                if (comment == null) {
+                    continue;
+                }
+                body = comment.getText();
+            } else {
+                body = task.getDescription();
+            }
+            hits.add(SearchHitDTO.builder()
+                    .type(hit.type().toString())
+                    .id(hit.id())
+                    .taskId(hit.taskId())
+                    .title(Highlighter.highlight(task.getTitle(), terms))
+                    .snippet(Highlighter.snippet(body, terms, SNIPPET_LENGTH))
+                    .score(hit.score())
+                    .build());
+        }
+
+        return SearchResultDTO.builder()
+                .query(query)
+                .total(result.total())
+                .page(page)
+                .size(size)
+                .hits(hits)
+                .build();
+    }
+}
@@ -1,184 +1,264 @@
 package com.taskmanagement.service.impl;
 
+import com.taskmanagement.config.CacheConfig;
+import com.taskmanagement.dto.TaskDtoMapper;
+import com.taskmanagement.dto.request.BulkUpdateTaskRequest;
 import com.taskmanagement.dto.request.CreateTaskRequest;
+import com.taskmanagement.dto.request.TaskFilter;
 import com.taskmanagement.dto.request.UpdateTaskRequest;
+import com.taskmanagement.dto.response.BulkItemResultDTO;
+import com.taskmanagement.dto.response.BulkTaskResultDTO;
+import com.taskmanagement.dto.response.CursorPage;
+import com.taskmanagement.dto.response.TaskChangeDTO;
+import com.taskmanagement.dto.response.TaskChangesDTO;
 import com.taskmanagement.dto.response.TaskDTO;
 import com.taskmanagement.dto.response.TaskSimpleDTO;
+import com.taskmanagement.dto.response.TaskStatsDTO;
 import com.taskmanagement.entity.ActivityLog;
+import com.taskmanagement.entity.Category;
+import com.taskmanagement.event.ActivityRecordedEvent;
+import com.taskmanagement.event.DataChangedEvent;
 import com.taskmanagement.entity.Task;
 import com.taskmanagement.entity.TaskAssignment;
 import com.taskmanagement.entity.User;
-import com.taskmanagement.repository.ActivityLogRepo;
-import com.taskmanagement.repository.CategoryRepo;
+import com.taskmanagement.repository.ReferenceResolver;
 import com.taskmanagement.repository.TaskRepo;
-import com.taskmanagement.repository.UserRepo;
 import com.taskmanagement.service.TaskService;
+import com.taskmanagement.util.ChangeCursor;
+import com.taskmanagement.util.KeysetCursor;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
+@Timed("service.invocations")
+@Counted(value = "service.failures", recordFailuresOnly = true)
 public class TaskServiceImpl implements TaskService {
 
+    private static final String UNCATEGORIZED = "Uncategorized";
+    private static final int MAX_TITLE_LENGTH = 200;
+    private static final String BULK_CREATED = "CREATED";
+    private static final String BULK_UPDATED = "UPDATED";
+    private static final String BULK_NOT_FOUND = "NOT_FOUND";
+    private static final String BULK_INVALID = "INVALID";
+
     private final TaskRepo taskRepository;
-    private final UserRepo userRepository;
-    private final CategoryRepo categoryRepository;
-    private final ActivityLogRepo activityLogRepository;
+    private final ReferenceResolver referenceResolver;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.TASK_LISTS, key = "{" + CacheConfig.TASKS_VERSION + ", 'active'}")
     public List<TaskSimpleDTO> getAllActiveTasks() {
-        return taskRepository.findAll().stream()
-                .filter(task -> !task.isDeleted())
-                .map(this::convertToSimpleDTO)
+        return taskRepository.fetchBoardDetails(taskRepository.findActive()).stream()
+                .map(TaskDtoMapper::toSimpleDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.TASK_LISTS, key = "{" + CacheConfig.TASKS_VERSION + ", 'all', #filter}")
+    public List<TaskSimpleDTO> findAllActiveTasks(TaskFilter filter) {
+        // One query in page order, so a task updated mid-read can't be skipped as it could between pages
+        return taskRepository.fetchBoardDetails(findActive(filter, null, Pageable.unpaged())).stream()
+                .map(TaskDtoMapper::toSimpleDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.TASK_LISTS, key = "{" + CacheConfig.TASKS_VERSION + ", 'page', #filter, #cursor, #limit}")
+    public CursorPage<TaskSimpleDTO> findActiveTasks(TaskFilter filter, String cursor, int limit) {
+        // Fetch one extra row to know whether another page exists
+        List<Task> tasks = findActive(filter, KeysetCursor.decode(cursor), PageRequest.of(0, limit + 1));
+
+        String nextCursor = null;
+        if (tasks.size() > limit) {
+            tasks = tasks.subList(0, limit);
+            Task last = tasks.get(limit - 1);
+            nextCursor = new KeysetCursor(last.getUpdatedAt(), last.getTaskId()).encode();
+        }
+        taskRepository.fetchBoardDetails(tasks);
+
+        return CursorPage.<TaskSimpleDTO>builder()
+                .items(tasks.stream()
+                        .map(TaskDtoMapper::toSimpleDTO)
+                        .collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.TASK_BY_ID, key = "#id", unless = "#result == null")
     public Optional<TaskDTO> getTaskById(Integer id) {
-        return taskRepository.findById(id).map(this::convertToFullDTO);
+        return taskRepository.findWithDetailsById(id).map(TaskDtoMapper::toFullDTO);
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.TASK_LISTS, CacheConfig.TASK_STATS}, allEntries = true)
     public TaskDTO createTask(CreateTaskRequest request) {
-        Task task = new Task();
-        task.setTitle(request.getTitle());
-        task.setDescription(request.getDescription());
-        task.setStatus(Task.TaskStatus.valueOf(request.getStatus()));
-        task.setPriority(Task.TaskPriority.valueOf(request.getPriority()));
-        task.setStartDate(request.getStartDate());
-        task.setDueDate(request.getDueDate());
-        task.setDeleted(false);
+        Map<Integer, User> users = referenceResolver.users(referencedUserIds(request.getCreatedById(), request.getAssigneeIds()));
+        Map<Integer, Category> categories = referenceResolver.categories(Collections.singletonList(request.getCategoryId()));
+        Task savedTask = persistNewTask(request, users, categories);
 
-        if (request.getCategoryId() != null) {
-            categoryRepository.findById(request.getCategoryId())
-                    .ifPresent(task::setCategory);
+        // Create activity log for task creation
+        if (savedTask.getCreatedBy() != null) {
+            eventPublisher.publishEvent(createdActivity(savedTask));
         }
 
-        userRepository.findById(request.getCreatedById())
-                .ifPresent(task::setCreatedBy);
-
-        // Save task first to get the ID
-        Task savedTask = taskRepository.save(task);
+        eventPublisher.publishEvent(DataChangedEvent.taskChanged(DataChangedEvent.ChangeType.CREATED, savedTask.getTaskId()));
+        return TaskDtoMapper.toFullDTO(savedTask);
+    }
 
-        // Add task assignments if provided
-        if (request.getAssigneeIds() != null && !request.getAssigneeIds().isEmpty()) {
-            final Task finalTask = savedTask;
-            request.getAssigneeIds().forEach(userId -> {
-                userRepository.findById(userId).ifPresent(user -> {
-                    TaskAssignment assignment = new TaskAssignment();
-                    assignment.setTask(finalTask);
-                    assignment.setUser(user);
-                    finalTask.getTaskAssignments().add(assignment);
-                });
-            });
-            savedTask = taskRepository.save(finalTask);
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.TASK_LISTS, CacheConfig.TASK_STATS}, allEntries = true)
+    public BulkTaskResultDTO createTasks(List<CreateTaskRequest> requests) {
+        // Resolve every referenced user and category up front instead of per item
+        List<Integer> userIds = new ArrayList<>();
+        List<Integer> categoryIds = new ArrayList<>();
+        for (CreateTaskRequest request : requests) {
+            if (request != null) {
+                userIds.addAll(referencedUserIds(request.getCreatedById(), request.getAssigneeIds()));
+                categoryIds.add(request.getCategoryId());
+            }
         }
+        Map<Integer, User> users = referenceResolver.users(userIds);
+        Map<Integer, Category> categories = referenceResolver.categories(categoryIds);
 
-        // Create activity log for task creation
-        if (savedTask.getCreatedBy() != null) {
-            ActivityLog activityLog = new ActivityLog();
-            activityLog.setTask(savedTask);
-            activityLog.setUser(savedTask.getCreatedBy());
-            activityLog.setActionType(ActivityLog.ActionType.CREATED);
-            activityLog.setDescription("Started on " + savedTask.getTitle());
-            activityLog.setNewValue(savedTask.getStatus().toString());
-            activityLogRepository.save(activityLog);
+        List<BulkItemResultDTO> results = new ArrayList<>(requests.size());
+        List<Task> createdTasks = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CreateTaskRequest request = requests.get(i);
+            // Invalid items are rejected here, before anything is written, so they can't fail the whole batch
+            String error = validateCreate(request, users);
+            if (error != null) {
+                results.add(itemResult(i, null, BULK_INVALID, error));
+                continue;
+            }
+            Task task = persistNewTask(request, users, categories);
+            createdTasks.add(task);
+            eventPublisher.publishEvent(createdActivity(task));
+            results.add(itemResult(i, task.getTaskId(), BULK_CREATED, null));
         }
 
-        return convertToFullDTO(savedTask);
+        // Ids are already assigned, so tasks and assignments are flushed as JDBC batches at commit
+        for (Task task : createdTasks) {
+            eventPublisher.publishEvent(DataChangedEvent.taskChanged(DataChangedEvent.ChangeType.CREATED, task.getTaskId()));
+        }
+        return bulkResult(results);
     }
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TASK_BY_ID, key = "#id"),
+            @CacheEvict(cacheNames = {CacheConfig.TASK_LISTS, CacheConfig.TASK_STATS}, allEntries = true)
+    })
     public Optional<TaskDTO> updateTask(Integer id, UpdateTaskRequest request) {
-        return taskRepository.findById(id)
+        return taskRepository.findWithDetailsById(id)
                 .map(task -> {
+                    Map<Integer, User> users = referenceResolver.users(referencedUserIds(request.getUserId(), request.getAssigneeIds()));
+                    Map<Integer, Category> categories = referenceResolver.categories(Collections.singletonList(request.getCategoryId()));
+
                     // Store old status for activity log
                     Task.TaskStatus oldStatus = task.getStatus();
-                    
-                    if (request.getTitle() != null) task.setTitle(request.getTitle());
-                    if (request.getDescription() != null) task.setDescription(request.getDescription());
-                    if (request.getStatus() != null) task.setStatus(Task.TaskStatus.valueOf(request.getStatus()));
-                    if (request.getPriority() != null) task.setPriority(Task.TaskPriority.valueOf(request.getPriority()));
-                    if (request.getStartDate() != null) task.setStartDate(request.getStartDate());
-                    if (request.getDueDate() != null) task.setDueDate(request.getDueDate());
-                    
-                    // Update category if provided
-                    if (request.getCategoryId() != null) {
-                        categoryRepository.findById(request.getCategoryId())
-                                .ifPresent(task::setCategory);
-                    }
-                    
-                    // Update task assignments if provided
-                    if (request.getAssigneeIds() != null) {
-                        // Remove all existing assignments
-                        task.getTaskAssignments().clear();
-                        
-                        // Add new assignments
-                        request.getAssigneeIds().forEach(userId -> {
-                            userRepository.findById(userId).ifPresent(user -> {
-                                TaskAssignment assignment = new TaskAssignment();
-                                assignment.setTask(task);
-                                assignment.setUser(user);
-                                task.getTaskAssignments().add(assignment);
-                            });
-                        });
-                    }
-                    
+                    applyUpdate(task, request, users, categories);
                     Task savedTask = taskRepository.save(task);
-                    
-                    // Get user for activity log from request, fallback to createdBy or first assignee
-                    User activityUser = null;
-                    if (request.getUserId() != null) {
-                        activityUser = userRepository.findById(request.getUserId()).orElse(null);
-                    }
-                    if (activityUser == null) {
-                        activityUser = savedTask.getCreatedBy();
-                    }
-                    if (activityUser == null && !savedTask.getTaskAssignments().isEmpty()) {
-                        activityUser = savedTask.getTaskAssignments().iterator().next().getUser();
-                    }
-                    
-                    // Create activity log for status change
-                    if (request.getStatus() != null && !oldStatus.toString().equals(request.getStatus())) {
-                        if (activityUser != null) {
-                            ActivityLog activityLog = new ActivityLog();
-                            activityLog.setTask(savedTask);
-                            activityLog.setUser(activityUser);
-                            activityLog.setActionType(ActivityLog.ActionType.STATUS_CHANGED);
-                            activityLog.setOldValue(oldStatus.toString());
-                            activityLog.setNewValue(savedTask.getStatus().toString());
-                            activityLog.setDescription("updated status to " + savedTask.getTitle());
-                            activityLogRepository.save(activityLog);
-                        }
-                    }
-                    
-                    // Create activity log for general update (if status didn't change)
-                    else if (request.getStatus() == null || oldStatus.toString().equals(request.getStatus())) {
-                        if (activityUser != null) {
-                            ActivityLog activityLog = new ActivityLog();
-                            activityLog.setTask(savedTask);
-                            activityLog.setUser(activityUser);
-                            activityLog.setActionType(ActivityLog.ActionType.UPDATED);
-                            activityLog.setDescription("updated " + savedTask.getTitle());
-                            activityLogRepository.save(activityLog);
-                        }
+
+                    ActivityRecordedEvent activity = updatedActivity(savedTask, oldStatus, request, users);
+                    if (activity != null) {
+                        eventPublisher.publishEvent(activity);
                     }
-                    
-                    return convertToFullDTO(savedTask);
+
+                    eventPublisher.publishEvent(DataChangedEvent.taskChanged(DataChangedEvent.ChangeType.UPDATED, savedTask.getTaskId()));
+                    return TaskDtoMapper.toFullDTO(savedTask);
                 });
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.TASK_BY_ID, CacheConfig.TASK_LISTS, CacheConfig.TASK_STATS}, allEntries = true)
+    public BulkTaskResultDTO updateTasks(List<BulkUpdateTaskRequest> requests) {
+        List<Integer> taskIds = new ArrayList<>();
+        List<Integer> userIds = new ArrayList<>();
+        List<Integer> categoryIds = new ArrayList<>();
+        for (BulkUpdateTaskRequest request : requests) {
+            if (request != null && request.getTaskId() != null) {
+                taskIds.add(request.getTaskId());
+                userIds.addAll(referencedUserIds(request.getUserId(), request.getAssigneeIds()));
+                categoryIds.add(request.getCategoryId());
+            }
+        }
+        // Tasks with their assignments and tags, users and categories: a fixed number of queries per call
+        Map<Integer, Task> tasks = new HashMap<>();
+        if (!taskIds.isEmpty()) {
+            for (Task task : taskRepository.fetchBoardDetails(taskRepository.findByTaskIdIn(taskIds))) {
+                tasks.put(task.getTaskId(), task);
+            }
+        }
+        Map<Integer, User> users = referenceResolver.users(userIds);
+        Map<Integer, Category> categories = referenceResolver.categories(categoryIds);
+
+        List<BulkItemResultDTO> results = new ArrayList<>(requests.size());
+        Set<Integer> updatedTaskIds = new LinkedHashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            BulkUpdateTaskRequest request = requests.get(i);
+            String error = validateUpdate(request);
+            if (error != null) {
+                results.add(itemResult(i, request != null ? request.getTaskId() : null, BULK_INVALID, error));
+                continue;
+            }
+            Task task = tasks.get(request.getTaskId());
+            if (task == null) {
+                results.add(itemResult(i, request.getTaskId(), BULK_NOT_FOUND, "Task not found"));
+                continue;
+            }
+            Task.TaskStatus oldStatus = task.getStatus();
+            applyUpdate(task, request, users, categories);
+            ActivityRecordedEvent activity = updatedActivity(task, oldStatus, request, users);
+            if (activity != null) {
+                eventPublisher.publishEvent(activity);
+            }
+            updatedTaskIds.add(task.getTaskId());
+            results.add(itemResult(i, task.getTaskId(), BULK_UPDATED, null));
+        }
+
+        // Loaded tasks are managed, so their updates are flushed (batched) at commit
+        for (Integer taskId : updatedTaskIds) {
+            eventPublisher.publishEvent(DataChangedEvent.taskChanged(DataChangedEvent.ChangeType.UPDATED, taskId));
+        }
+        return bulkResult(results);
+    }
+
+    @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TASK_BY_ID, key = "#id"),
+            @CacheEvict(cacheNames = {CacheConfig.TASK_LISTS, CacheConfig.TASK_STATS}, allEntries = true)
+    })
     public boolean softDeleteTask(Integer id) {
         return taskRepository.findById(id)
                 .map(task -> {
@@ -193,31 +273,36 @@ public class TaskServiceImpl implements TaskService {
                     }
                     
                     if (activityUser != null) {
-                        ActivityLog activityLog = new ActivityLog();
-                        activityLog.setTask(savedTask);
-                        activityLog.setUser(activityUser);
-                        activityLog.setActionType(ActivityLog.ActionType.DELETED);
-                        activityLog.setDescription("deleted " + savedTask.getTitle());
-                        activityLogRepository.save(activityLog);
+                        eventPublisher.publishEvent(ActivityRecordedEvent.builder()
+                                .taskId(savedTask.getTaskId())
+                                .userId(activityUser.getUserId())
+                                .actionType(ActivityLog.ActionType.DELETED)
+                                .description("deleted " + savedTask.getTitle())
+                                .build());
                     }
                     
+                    eventPublisher.publishEvent(DataChangedEvent.taskChanged(DataChangedEvent.ChangeType.DELETED, savedTask.getTaskId()));
                     return true;
                 })
                 .orElse(false);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.TASK_LISTS, key = "{" + CacheConfig.TASKS_VERSION + ", 'deleted'}")
     public List<TaskSimpleDTO> getDeletedTasks() {
-        return taskRepository.findAll().stream()
-                .filter(Task::isDeleted)
-                .map(this::convertToSimpleDTO)
+        return taskRepository.fetchBoardDetails(taskRepository.findDeleted()).stream()
+                .map(TaskDtoMapper::toSimpleDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TASK_BY_ID, key = "#id"),
+            @CacheEvict(cacheNames = {CacheConfig.TASK_LISTS, CacheConfig.TASK_STATS}, allEntries = true)
+    })
     public Optional<TaskDTO> restoreTask(Integer id) {
-        return taskRepository.findById(id)
+        return taskRepository.findWithDetailsById(id)
                 .map(task -> {
                     task.setDeleted(false);
                     task.setDeletedAt(null);
@@ -230,77 +315,287 @@ public class TaskServiceImpl implements TaskService {
                     }
                     
                     if (activityUser != null) {
-                        ActivityLog activityLog = new ActivityLog();
-                        activityLog.setTask(savedTask);
-                        activityLog.setUser(activityUser);
-                        activityLog.setActionType(ActivityLog.ActionType.RESTORED);
-                        activityLog.setDescription("restored " + savedTask.getTitle());
-                        activityLogRepository.save(activityLog);
+                        eventPublisher.publishEvent(ActivityRecordedEvent.builder()
+                                .taskId(savedTask.getTaskId())
+                                .userId(activityUser.getUserId())
+                                .actionType(ActivityLog.ActionType.RESTORED)
+                                .description("restored " + savedTask.getTitle())
+                                .build());
                     }
                     
-                    return convertToFullDTO(savedTask);
+                    eventPublisher.publishEvent(DataChangedEvent.taskChanged(DataChangedEvent.ChangeType.RESTORED, savedTask.getTaskId()));
+                    return TaskDtoMapper.toFullDTO(savedTask);
                 });
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.TASK_LISTS, key = "{" + CacheConfig.TASKS_VERSION + ", 'status', #status.toUpperCase()}")
     public List<TaskSimpleDTO> getTasksByStatus(String status) {
         Task.TaskStatus taskStatus = Task.TaskStatus.valueOf(status.toUpperCase());
-        return taskRepository.findAll().stream()
-                .filter(task -> !task.isDeleted() && task.getStatus() == taskStatus)
-                .map(this::convertToSimpleDTO)
+        return taskRepository.fetchBoardDetails(taskRepository.findActiveByStatus(taskStatus)).stream()
+                .map(TaskDtoMapper::toSimpleDTO)
                 .collect(Collectors.toList());
     }
 
-    private TaskSimpleDTO convertToSimpleDTO(Task task) {
-        List<String> tagNames = task.getTags().stream()
-                .map(tag -> tag.getName())
-                .collect(Collectors.toList());
-        List<Integer> assigneeIds = task.getTaskAssignments().stream()
-                .map(assignment -> assignment.getUser().getUserId())
-                .collect(Collectors.toList());
-        List<String> assigneeNames = task.getTaskAssignments().stream()
-                .map(assignment -> assignment.getUser().getFullName())
+    @Override
+    public TaskChangesDTO getTaskChanges(String since, int limit) {
+        // Ordered by change sequence, which is assigned in commit order (TaskChangeSequencer), so every
+        // row committed later sorts after the cursor handed out now
+        ChangeCursor after = ChangeCursor.decode(since);
+        List<Task> tasks = taskRepository.findChangedSince(
+                after != null ? after.getSequence() : null,
+                after != null ? after.getId() : null,
+                PageRequest.of(0, limit + 1));
+
+        boolean hasMore = tasks.size() > limit;
+        if (hasMore) {
+            tasks = tasks.subList(0, limit);
+        }
+        taskRepository.fetchBoardDetails(tasks.stream().filter(task -> !task.isDeleted()).collect(Collectors.toList()));
+
+        List<TaskChangeDTO> changes = tasks.stream()
+                .map(task -> TaskChangeDTO.builder()
+                        .taskId(task.getTaskId())
+                        .deleted(task.isDeleted())
+                        .task(task.isDeleted() ? null : TaskDtoMapper.toSimpleDTO(task))
+                        .changedAt(task.getUpdatedAt())
+                        .build())
                 .collect(Collectors.toList());
 
-        return TaskSimpleDTO.builder()
+        String cursor = since;
+        if (!tasks.isEmpty()) {
+            Task last = tasks.get(tasks.size() - 1);
+            cursor = new ChangeCursor(last.getChangeSeq(), last.getTaskId()).encode();
+        }
+
+        return TaskChangesDTO.builder()
+                .changes(changes)
+                .cursor(cursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.TASK_STATS, key = "{" + CacheConfig.TASKS_VERSION + ", #userId, #dueFrom, #dueTo}")
+    public TaskStatsDTO getTaskStats(Integer userId, LocalDate dueFrom, LocalDate dueTo) {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (Task.TaskStatus status : Task.TaskStatus.values()) {
+            byStatus.put(status.name(), 0L);
+        }
+        Map<String, Long> byPriority = new LinkedHashMap<>();
+        for (Task.TaskPriority priority : Task.TaskPriority.values()) {
+            byPriority.put(priority.name(), 0L);
+        }
+        Map<String, Long> byCategory = new LinkedHashMap<>();
+        long total = 0;
+        long overdue = 0;
+
+        // Rows are grouped by (status, priority, category); roll them up per dimension
+        for (TaskRepo.TaskCountRow row : taskRepository.countGrouped(
+                userId, dueFrom, dueTo, LocalDate.now(), Task.TaskStatus.DONE)) {
+            long count = row.getTotal();
+            byStatus.merge(row.getStatus().name(), count, Long::sum);
+            byPriority.merge(row.getPriority().name(), count, Long::sum);
+            byCategory.merge(row.getCategoryName() != null ? row.getCategoryName() : UNCATEGORIZED, count, Long::sum);
+            total += count;
+            overdue += row.getOverdue() != null ? row.getOverdue() : 0;
+        }
+
+        Map<Integer, Long> byAssignee = new LinkedHashMap<>();
+        for (TaskRepo.AssigneeCountRow row : taskRepository.countByAssignee(userId, dueFrom, dueTo)) {
+            byAssignee.put(row.getUserId(), row.getTotal());
+        }
+
+        return TaskStatsDTO.builder()
+                .total(total)
+                .overdue(overdue)
+                .byStatus(byStatus)
+                .byPriority(byPriority)
+                .byCategory(byCategory)
+                .byAssignee(byAssignee)
+                .build();
+    }
+
+    private List<Task> findActive(TaskFilter filter, KeysetCursor after, Pageable pageable) {
+        return taskRepository.findActivePage(
+                filter.getStatus() != null ? Task.TaskStatus.valueOf(filter.getStatus().toUpperCase()) : null,
+                filter.getPriority() != null ? Task.TaskPriority.valueOf(filter.getPriority().toUpperCase()) : null,
+                filter.getCategoryId(),
+                filter.getAssigneeId(),
+                filter.getDueFrom(),
+                filter.getDueTo(),
+                after != null ? after.getTimestamp() : null,
+                after != null ? after.getId() : null,
+                pageable);
+    }
+
+    // Persists the task first, which assigns its id from the table generator without an insert;
+    // assignments compare by task, so they can only go into its set once the id is known
+    private Task persistNewTask(CreateTaskRequest request, Map<Integer, User> users, Map<Integer, Category> categories) {
+        Task task = new Task();
+        task.setTitle(request.getTitle());
+        task.setDescription(request.getDescription());
+        task.setStatus(Task.TaskStatus.valueOf(request.getStatus()));
+        task.setPriority(Task.TaskPriority.valueOf(request.getPriority()));
+        task.setStartDate(request.getStartDate());
+        task.setDueDate(request.getDueDate());
+        task.setDeleted(false);
+        task.setCategory(categories.get(request.getCategoryId()));
+        task.setCreatedBy(users.get(request.getCreatedById()));
+
+        Task savedTask = taskRepository.save(task);
+        if (request.getAssigneeIds() != null) {
+            assignUsers(savedTask, request.getAssigneeIds(), users);
+        }
+        return savedTask;
+    }
+
+    private void applyUpdate(Task task, UpdateTaskRequest request, Map<Integer, User> users, Map<Integer, Category> categories) {
+        if (request.getTitle() != null) task.setTitle(request.getTitle());
+        if (request.getDescription() != null) task.setDescription(request.getDescription());
+        if (request.getStatus() != null) task.setStatus(Task.TaskStatus.valueOf(request.getStatus()));
+        if (request.getPriority() != null) task.setPriority(Task.TaskPriority.valueOf(request.getPriority()));
+        if (request.getStartDate() != null) task.setStartDate(request.getStartDate());
+        if (request.getDueDate() != null) task.setDueDate(request.getDueDate());
+
+        // Update category if provided
+        Category category = categories.get(request.getCategoryId());
+        if (category != null) {
+            task.setCategory(category);
+        }
+
+        // Update task assignments if provided
+        if (request.getAssigneeIds() != null) {
+            // Assignment rows live in their own table; touch the task so it sorts as recently updated on the board
+            task.setUpdatedAt(LocalDateTime.now());
+            assignUsers(task, request.getAssigneeIds(), users);
+        }
+    }
+
+    // Replaces the task's assignees, keeping the rows of users that stay assigned. Clearing and re-adding
+    // them would insert the new rows before deleting the old ones and trip the (task_id, user_id) unique key.
+    private void assignUsers(Task task, List<Integer> userIds, Map<Integer, User> users) {
+        Set<User> assignees = new LinkedHashSet<>();
+        for (Integer userId : userIds) {
+            User user = users.get(userId);
+            if (user != null) {
+                assignees.add(user);
+            }
+        }
+        task.getTaskAssignments().removeIf(assignment -> !assignees.remove(assignment.getUser()));
+        for (User user : assignees) {
+            TaskAssignment assignment = new TaskAssignment();
+            assignment.setTask(task);
+            assignment.setUser(user);
+            task.getTaskAssignments().add(assignment);
+        }
+    }
+
+    // Activity rows are written after commit by ActivityLogWriter
+    private ActivityRecordedEvent createdActivity(Task task) {
+        return ActivityRecordedEvent.builder()
                 .taskId(task.getTaskId())
-                .title(task.getTitle())
-                .description(task.getDescription())
-                .status(task.getStatus().toString())
-                .priority(task.getPriority().toString())
-                .startDate(task.getStartDate())
-                .dueDate(task.getDueDate())
-                .categoryName(task.getCategory() != null ? task.getCategory().getName() : null)
-                .createdByUsername(task.getCreatedBy() != null ? task.getCreatedBy().getUsername() : null)
-                .assigneeCount(assigneeIds.size())
-                .assigneeIds(assigneeIds)
-                .assigneeNames(assigneeNames)
-                .tags(tagNames)
-                .createdAt(task.getCreatedAt())
-                .updatedAt(task.getUpdatedAt())
+                .userId(task.getCreatedBy().getUserId())
+                .actionType(ActivityLog.ActionType.CREATED)
+                .description("Started on " + task.getTitle())
+                .newValue(task.getStatus().toString())
                 .build();
     }
 
-    private TaskDTO convertToFullDTO(Task task) {
-        return TaskDTO.builder()
+    private ActivityRecordedEvent updatedActivity(Task task, Task.TaskStatus oldStatus, UpdateTaskRequest request, Map<Integer, User> users) {
+        // Get user for activity log from request, fallback to createdBy or first assignee
+        User activityUser = users.get(request.getUserId());
+        if (activityUser == null) {
+            activityUser = task.getCreatedBy();
+        }
+        if (activityUser == null && !task.getTaskAssignments().isEmpty()) {
+            activityUser = task.getTaskAssignments().iterator().next().getUser();
+        }
+        if (activityUser == null) {
+            return null;
+        }
+
+        ActivityRecordedEvent.ActivityRecordedEventBuilder activity = ActivityRecordedEvent.builder()
                 .taskId(task.getTaskId())
-                .title(task.getTitle())
-                .description(task.getDescription())
-                .status(task.getStatus().toString())
-                .priority(task.getPriority().toString())
-                .startDate(task.getStartDate())
-                .dueDate(task.getDueDate())
-                .categoryName(task.getCategory() != null ? task.getCategory().getName() : null)
-                .createdByUsername(task.getCreatedBy() != null ? task.getCreatedBy().getUsername() : null)
-                .assignedUsers(task.getTaskAssignments().stream()
-                        .map(assignment -> assignment.getUser().getFullName())
-                        .collect(Collectors.toList()))
-                .tags(task.getTags().stream()
-                        .map(tag -> tag.getName())
-                        .collect(Collectors.toList()))
-                .createdAt(task.getCreatedAt())
-                .updatedAt(task.getUpdatedAt())
+                .userId(activityUser.getUserId());
+        if (request.getStatus() != null && !oldStatus.toString().equals(request.getStatus())) {
+            activity.actionType(ActivityLog.ActionType.STATUS_CHANGED)
+                    .oldValue(oldStatus.toString())
+                    .newValue(task.getStatus().toString())
+                    .description("updated status to " + task.getTitle());
+        } else {
+            activity.actionType(ActivityLog.ActionType.UPDATED)
+                    .description("updated " + task.getTitle());
+        }
+        return activity.build();
+    }
+
+    private static List<Integer> referencedUserIds(Integer userId, List<Integer> assigneeIds) {
+        List<Integer> ids = new ArrayList<>();
+        ids.add(userId);
+        if (assigneeIds != null) {
+            ids.addAll(assigneeIds);
+        }
+        return ids;
+    }
+
+    private static String validateCreate(CreateTaskRequest request, Map<Integer, User> users) {
+        if (request == null) {
+            return "Missing task";
+        }
+        if (request.getTitle() == null || request.getTitle().isBlank()) {
+            return "title is required";
+        }
+        if (request.getDueDate() == null) {
+            return "dueDate is required";
+        }
+        if (request.getStatus() == null || request.getPriority() == null) {
+            return "status and priority are required";
+        }
+        if (!users.containsKey(request.getCreatedById())) {
+            return "Unknown createdById: " + request.getCreatedById();
+        }
+        return validateFields(request.getTitle(), request.getStatus(), request.getPriority());
+    }
+
+    private static String validateUpdate(BulkUpdateTaskRequest request) {
+        if (request == null || request.getTaskId() == null) {
+            return "taskId is required";
+        }
+        if (request.getTitle() != null && request.getTitle().isBlank()) {
+            return "title must not be blank";
+        }
+        return validateFields(request.getTitle(), request.getStatus(), request.getPriority());
+    }
+
+    private static String validateFields(String title, String status, String priority) {
+        if (title != null && title.length() > MAX_TITLE_LENGTH) {
+            return "title is longer than " + MAX_TITLE_LENGTH + " characters";
+        }
+        try {
+            if (status != null) Task.TaskStatus.valueOf(status);
+            if (priority != null) Task.TaskPriority.valueOf(priority);
+        } catch (IllegalArgumentException ex) {
+            return "Invalid status or priority";
+        }
+        return null;
+    }
+
+    private static BulkItemResultDTO itemResult(int index, Integer taskId, String status, String error) {
+        return BulkItemResultDTO.builder()
+                .index(index)
+                .taskId(taskId)
+                .status(status)
+                .error(error)
                 .build();
     }
-}
 
+    private static BulkTaskResultDTO bulkResult(List<BulkItemResultDTO> results) {
+        int failed = (int) results.stream().filter(result -> result.getError() != null).count();
+        return BulkTaskResultDTO.builder()
+                .succeeded(results.size() - failed)
+                .failed(failed)
+                .results(results)
+                .build();
+    }
+}
@@ -1,33 +1,65 @@
 package com.taskmanagement.service.impl;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.taskmanagement.config.CacheConfig;
 import com.taskmanagement.dto.request.CreateUserRequest;
 import com.taskmanagement.dto.request.UpdateUserRequest;
 import com.taskmanagement.dto.response.UserDTO;
+import com.taskmanagement.dto.response.UserImportResultDTO;
+import com.taskmanagement.dto.response.UserImportSummaryDTO;
 import com.taskmanagement.entity.User;
+import com.taskmanagement.event.DataChangedEvent;
+import com.taskmanagement.event.UserTokensRevokedEvent;
+import com.taskmanagement.importer.UserImportRow;
 import com.taskmanagement.repository.UserRepo;
+import com.taskmanagement.security.PasswordHasher;
 import com.taskmanagement.service.UserService;
 
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
+@Timed("service.invocations")
+@Counted(value = "service.failures", recordFailuresOnly = true)
 public class UserServiceImpl implements UserService {
 
     private final UserRepo userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
     private static final String[] DEFAULT_COLORS = {
             "#5B8DEF", "#5ECFB1", "#F5A864", "#F56565", "#9F7AEA", "#48BB78"
     };
 
+    private static final String IMPORT_CREATED = "CREATED";
+    private static final String IMPORT_DUPLICATE = "DUPLICATE";
+    private static final String IMPORT_INVALID = "INVALID";
+    private static final String IMPORT_FAILED = "FAILED";
+
+    @Value("${users.import.chunk-size:500}")
+    private int importChunkSize;
+
     public List<UserDTO> getAllUsers() {
         return userRepository.findAll()
                 .stream()
@@ -39,7 +71,8 @@ public class UserServiceImpl implements UserService {
         return userRepository.findById(id).map(this::convertToDTO);
     }
 
-    @Transactional
+    // The password is hashed before the transaction starts, so no connection is held during BCrypt
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserDTO createUser(CreateUserRequest request) {
         if (userRepository.existsByUsername(request.getUsername())) {
             throw new IllegalArgumentException("Username already exists");
@@ -47,23 +80,54 @@ public class UserServiceImpl implements UserService {
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new IllegalArgumentException("Email already exists");
         }
+        String passwordHash = passwordHasher.encode(request.getPassword());
 
-        User user = new User();
-        user.setUsername(request.getUsername());
-        user.setEmail(request.getEmail());
-        user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
-        user.setFullName(request.getFullName());
-        user.setRole(User.UserRole.valueOf(request.getRole()));
-        user.setStatus(User.UserStatus.ACTIVE);
-        user.setAvatarColor(resolveAvatarColor(request.getAvatarColor()));
+        return transactionTemplate.execute(status -> {
+            User saved = userRepository.save(newUser(request, passwordHash));
+            eventPublisher.publishEvent(DataChangedEvent.userChanged(DataChangedEvent.ChangeType.CREATED, saved.getUserId()));
+            return convertToDTO(saved);
+        });
+    }
 
-        User saved = userRepository.save(user);
-        return convertToDTO(saved);
+    // Works through the rows a chunk at a time: one query for the usernames and emails already taken, passwords
+    // hashed in parallel on the bulk hashing pool, then one transaction whose inserts go out as JDBC batches.
+    // Each chunk's results are handed to the sink before the next chunk is read, so memory stays flat
+    // however long the input is. Committed chunks stay committed if a later one fails.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserImportSummaryDTO importUsers(Iterator<UserImportRow> rows, Consumer<List<UserImportResultDTO>> results) {
+        int created = 0;
+        int failed = 0;
+        List<UserImportRow> chunk = new ArrayList<>(importChunkSize);
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+            if (chunk.size() == importChunkSize || !rows.hasNext()) {
+                List<UserImportResultDTO> chunkResults = importChunk(chunk);
+                for (UserImportResultDTO result : chunkResults) {
+                    if (IMPORT_CREATED.equals(result.getStatus())) {
+                        created++;
+                    } else {
+                        failed++;
+                    }
+                }
+                results.accept(chunkResults);
+                chunk.clear();
+            }
+        }
+        return UserImportSummaryDTO.builder()
+                .created(created)
+                .failed(failed)
+                .build();
     }
 
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    // Usernames and full names are denormalized into the cached task DTOs
+    @CacheEvict(cacheNames = {CacheConfig.TASK_LISTS, CacheConfig.TASK_BY_ID, CacheConfig.TASK_STATS}, allEntries = true)
     public Optional<UserDTO> updateUser(Integer id, UpdateUserRequest request) {
-        return userRepository.findById(id)
+        String passwordHash = request.getPassword() != null && !request.getPassword().isEmpty()
+                ? passwordHasher.encode(request.getPassword())
+                : null;
+        // Role, status and tokenVersion decide what gets revoked; read them past the node-local cache
+        return transactionTemplate.execute(status -> userRepository.findCurrentById(id)
                 .map(user -> {
                     // Update username if provided and different from current
                     if (request.getUsername() != null && !request.getUsername().trim().isEmpty()) {
@@ -88,22 +152,38 @@ public class UserServiceImpl implements UserService {
                             user.setEmail(newEmail);
                         }
                     }
+                    User.UserRole previousRole = user.getRole();
+                    User.UserStatus previousStatus = user.getStatus();
                     if (request.getRole() != null) user.setRole(User.UserRole.valueOf(request.getRole()));
                     if (request.getStatus() != null) user.setStatus(User.UserStatus.valueOf(request.getStatus()));
                     if (request.getAvatarColor() != null) user.setAvatarColor(request.getAvatarColor());
-                    if (request.getPassword() != null && !request.getPassword().isEmpty()) {
-                        user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+                    if (passwordHash != null) user.setPasswordHash(passwordHash);
+                    // Issued tokens carry the role and outlive a password change; make the user log in again.
+                    // The version bump reaches refresh on every node, the in-memory revocation this node's access checks.
+                    boolean revokeTokens = passwordHash != null || user.getRole() != previousRole
+                            || (previousStatus == User.UserStatus.ACTIVE && user.getStatus() != User.UserStatus.ACTIVE);
+                    if (revokeTokens) user.setTokenVersion(user.getTokenVersion() + 1);
+                    User saved = userRepository.save(user);
+                    if (revokeTokens) {
+                        eventPublisher.publishEvent(new UserTokensRevokedEvent(saved.getUserId()));
                     }
-                    return convertToDTO(userRepository.save(user));
-                });
+                    eventPublisher.publishEvent(DataChangedEvent.userChanged(DataChangedEvent.ChangeType.UPDATED, saved.getUserId()));
+                    // Task DTOs carry assignee and creator names
+                    eventPublisher.publishEvent(DataChangedEvent.taskChanged(DataChangedEvent.ChangeType.UPDATED, null));
+                    return convertToDTO(saved);
+                }));
     }
 
     @Transactional
     public boolean deactivateUser(Integer id) {
-        return userRepository.findById(id)
+        // Past the node-local cache, so the tokenVersion bump builds on bumps made by other nodes
+        return userRepository.findCurrentById(id)
                 .map(user -> {
                     user.setStatus(User.UserStatus.INACTIVE);
+                    user.setTokenVersion(user.getTokenVersion() + 1);
                     userRepository.save(user);
+                    eventPublisher.publishEvent(new UserTokensRevokedEvent(id));
+                    eventPublisher.publishEvent(DataChangedEvent.userChanged(DataChangedEvent.ChangeType.UPDATED, id));
                     return true;
                 })
                 .orElse(false);
@@ -111,13 +191,170 @@ public class UserServiceImpl implements UserService {
 
     @Transactional
     public Optional<UserDTO> activateUser(Integer id) {
-        return userRepository.findById(id)
+        return userRepository.findCurrentById(id)
                 .map(user -> {
                     user.setStatus(User.UserStatus.ACTIVE);
-                    return convertToDTO(userRepository.save(user));
+                    User saved = userRepository.save(user);
+                    eventPublisher.publishEvent(DataChangedEvent.userChanged(DataChangedEvent.ChangeType.UPDATED, id));
+                    return convertToDTO(saved);
                 });
     }
 
+    private List<UserImportResultDTO> importChunk(List<UserImportRow> chunk) {
+        UserImportResultDTO[] results = new UserImportResultDTO[chunk.size()];
+        // Usernames and emails are compared case-insensitively, like the MySQL unique keys
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            UserImportRow row = chunk.get(i);
+            String error = row.getError() != null ? row.getError() : validateImport(row.getRequest());
+            if (error != null) {
+                results[i] = importResult(row, null, IMPORT_INVALID, error);
+                continue;
+            }
+            String username = normalize(row.getRequest().getUsername());
+            String email = normalize(row.getRequest().getEmail());
+            if (usernames.contains(username) || emails.contains(email)) {
+                results[i] = importResult(row, null, IMPORT_DUPLICATE, "Username or email repeats an earlier row");
+                continue;
+            }
+            usernames.add(username);
+            emails.add(email);
+            candidates.add(i);
+        }
+
+        // Rows of earlier chunks are committed by now, so this also catches repeats across chunks
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        if (!candidates.isEmpty()) {
+            for (UserRepo.UserIdentityRow taken : userRepository.findIdentities(usernames, emails)) {
+                takenUsernames.add(normalize(taken.getUsername()));
+                takenEmails.add(normalize(taken.getEmail()));
+            }
+        }
+        List<Integer> accepted = new ArrayList<>(candidates.size());
+        for (Integer i : candidates) {
+            CreateUserRequest request = chunk.get(i).getRequest();
+            if (takenUsernames.contains(normalize(request.getUsername()))) {
+                results[i] = importResult(chunk.get(i), null, IMPORT_DUPLICATE, "Username already exists");
+            } else if (takenEmails.contains(normalize(request.getEmail()))) {
+                results[i] = importResult(chunk.get(i), null, IMPORT_DUPLICATE, "Email already exists");
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            List<String> passwordHashes = passwordHasher.encodeAll(accepted.stream()
+                    .map(i -> chunk.get(i).getRequest().getPassword())
+                    .toList());
+            try {
+                List<User> saved = transactionTemplate.execute(status -> insertUsers(accepted.stream()
+                        .map(i -> chunk.get(i).getRequest())
+                        .toList(), passwordHashes));
+                for (int k = 0; k < accepted.size(); k++) {
+                    int i = accepted.get(k);
+                    results[i] = importResult(chunk.get(i), saved.get(k).getUserId(), IMPORT_CREATED, null);
+                }
+            } catch (DataIntegrityViolationException e) {
+                // Someone else took a username or email since the check; retry one row per transaction to find it
+                for (int k = 0; k < accepted.size(); k++) {
+                    int i = accepted.get(k);
+                    results[i] = importSingle(chunk.get(i), passwordHashes.get(k));
+                }
+            }
+        }
+        return List.of(results);
+    }
+
+    private UserImportResultDTO importSingle(UserImportRow row, String passwordHash) {
+        try {
+            List<User> saved = transactionTemplate.execute(status ->
+                    insertUsers(List.of(row.getRequest()), List.of(passwordHash)));
+            return importResult(row, saved.get(0).getUserId(), IMPORT_CREATED, null);
+        } catch (DataIntegrityViolationException e) {
+            return importResult(row, null, IMPORT_DUPLICATE, "Username or email already exists");
+        } catch (RuntimeException e) {
+            return importResult(row, null, IMPORT_FAILED, e.getMessage());
+        }
+    }
+
+    // Ids come from the pooled table generator, so the inserts are flushed as JDBC batches at commit
+    private List<User> insertUsers(List<CreateUserRequest> requests, List<String> passwordHashes) {
+        List<User> users = new ArrayList<>(requests.size());
+        for (int k = 0; k < requests.size(); k++) {
+            users.add(newUser(requests.get(k), passwordHashes.get(k)));
+        }
+        List<User> saved = userRepository.saveAll(users);
+        for (User user : saved) {
+            eventPublisher.publishEvent(DataChangedEvent.userChanged(DataChangedEvent.ChangeType.CREATED, user.getUserId()));
+        }
+        return saved;
+    }
+
+    private static String validateImport(CreateUserRequest request) {
+        if (request == null) {
+            return "Missing user";
+        }
+        if (request.getUsername() == null || request.getUsername().isBlank()) {
+            return "username is required";
+        }
+        if (request.getUsername().length() > 50) {
+            return "username is longer than 50 characters";
+        }
+        if (request.getEmail() == null || !request.getEmail().matches("[^@\\s]+@[^@\\s]+")) {
+            return "email is not a valid address";
+        }
+        if (request.getEmail().length() > 100) {
+            return "email is longer than 100 characters";
+        }
+        if (request.getPassword() == null || request.getPassword().isBlank()) {
+            return "password is required";
+        }
+        if (request.getFullName() == null || request.getFullName().isBlank()) {
+            return "fullName is required";
+        }
+        if (request.getFullName().length() > 100) {
+            return "fullName is longer than 100 characters";
+        }
+        if (request.getAvatarColor() != null && request.getAvatarColor().length() > 7) {
+            return "avatarColor must be a #RRGGBB color";
+        }
+        try {
+            User.UserRole.valueOf(request.getRole());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return "Unknown role: " + request.getRole();
+        }
+        return null;
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static UserImportResultDTO importResult(UserImportRow row, Integer userId, String status, String error) {
+        return UserImportResultDTO.builder()
+                .line(row.getLine())
+                .username(row.getRequest() != null ? row.getRequest().getUsername() : null)
+                .userId(userId)
+                .status(status)
+                .error(error)
+                .build();
+    }
+
+    private User newUser(CreateUserRequest request, String passwordHash) {
+        User user = new User();
+        user.setUsername(request.getUsername());
+        user.setEmail(request.getEmail());
+        user.setPasswordHash(passwordHash);
+        user.setFullName(request.getFullName());
+        user.setRole(User.UserRole.valueOf(request.getRole()));
+        user.setStatus(User.UserStatus.ACTIVE);
+        user.setAvatarColor(resolveAvatarColor(request.getAvatarColor()));
+        return user;
+    }
+
     private UserDTO convertToDTO(User user) {
         return UserDTO.builder()
                 .userId(user.getUserId())
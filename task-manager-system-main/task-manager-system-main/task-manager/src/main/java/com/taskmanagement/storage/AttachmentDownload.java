@@ -0,0 +1,17 @@
+package com.taskmanagement.storage;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.nio.file.Path;
+
+@Value
+@Builder
+public class AttachmentDownload {
+    Integer attachmentId;
+    String fileName;
+    String mimeType;
+    Path path;
+    long length;
+    long lastModified;
+}
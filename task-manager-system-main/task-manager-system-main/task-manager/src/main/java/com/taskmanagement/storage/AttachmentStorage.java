@@ -0,0 +1,33 @@
+package com.taskmanagement.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+// Attachment files live under one root directory; task_attachments.file_path is relative to it
+@Component
+public class AttachmentStorage {
+
+    private final Path root;
+
+    public AttachmentStorage(@Value("${attachments.dir:data/attachments}") Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    // Empty when the file is missing or the stored path points outside the root
+    public Optional<Path> resolve(String filePath) {
+        try {
+            Path resolved = root.resolve(filePath).normalize();
+            if (!resolved.startsWith(root) || !Files.isRegularFile(resolved)) {
+                return Optional.empty();
+            }
+            return Optional.of(resolved);
+        } catch (InvalidPathException e) {
+            return Optional.empty();
+        }
+    }
+}
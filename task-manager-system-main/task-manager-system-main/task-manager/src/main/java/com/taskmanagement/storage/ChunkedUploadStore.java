@@ -0,0 +1,245 @@
+package com.taskmanagement.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Resumable uploads into content-addressed storage. Chunks are appended to uploads/<id>.part through
+// a fixed-size buffer while a running SHA-256 is updated, so memory per request is bounded and the
+// hash is ready when the last byte arrives. Completed files move to blobs/ab/cd/<sha256>; content
+// that is already stored is not stored again.
+@Slf4j
+@Component
+public class ChunkedUploadStore {
+
+    private static final String PART_SUFFIX = ".part";
+    private static final String SESSION_SUFFIX = ".json";
+
+    private final ObjectMapper objectMapper;
+    private final Path root;
+    private final Path uploads;
+    private final int bufferSize;
+    private final Map<String, UploadState> states = new ConcurrentHashMap<>();
+
+    public ChunkedUploadStore(ObjectMapper objectMapper,
+                              @Value("${attachments.dir:data/attachments}") Path root,
+                              @Value("${attachments.upload-buffer-size:65536}") int bufferSize) {
+        this.objectMapper = objectMapper;
+        this.root = root.toAbsolutePath().normalize();
+        this.uploads = this.root.resolve("uploads");
+        this.bufferSize = bufferSize;
+    }
+
+    public UploadSession create(UploadSession session) throws IOException {
+        session.setUploadId(UUID.randomUUID().toString());
+        session.setCreatedAt(LocalDateTime.now());
+        Files.createDirectories(uploads);
+        Files.createFile(part(session.getUploadId()));
+        objectMapper.writeValue(sessionFile(session.getUploadId()).toFile(), session);
+        return session;
+    }
+
+    public Optional<UploadSession> find(String uploadId) throws IOException {
+        if (!isValidId(uploadId)) {
+            return Optional.empty();
+        }
+        Path sessionFile = sessionFile(uploadId);
+        if (!Files.exists(sessionFile)) {
+            return Optional.empty();
+        }
+        return Optional.of(objectMapper.readValue(sessionFile.toFile(), UploadSession.class));
+    }
+
+    // Bytes received so far; a resumed upload continues from here
+    public long offset(String uploadId) throws IOException {
+        return Files.size(part(uploadId));
+    }
+
+    // Appends up to length bytes at offset, which must be the current end of the upload.
+    // Returns the new offset; it is short of offset + length if the client stopped sending.
+    public long append(UploadSession session, long offset, InputStream in, long length) throws IOException {
+        String uploadId = session.getUploadId();
+        UploadState state = states.computeIfAbsent(uploadId, id -> new UploadState());
+        if (!state.lock.tryLock()) {
+            throw new UploadConflictException("Another chunk of this upload is being written", offset(uploadId));
+        }
+        try (FileChannel channel = FileChannel.open(part(uploadId), StandardOpenOption.WRITE)) {
+            long current = channel.size();
+            if (offset != current) {
+                throw new UploadConflictException("Chunk must start at offset " + current, current);
+            }
+            if (offset + length > session.getFileSize()) {
+                throw new IllegalArgumentException("Chunk extends past the declared file size");
+            }
+            MessageDigest digest = state.digestFor(part(uploadId), current, bufferSize);
+
+            byte[] buffer = new byte[(int) Math.min(bufferSize, Math.max(length, 1))];
+            ByteBuffer wrapped = ByteBuffer.wrap(buffer);
+            long position = offset;
+            long remaining = length;
+            try {
+                while (remaining > 0) {
+                    int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                    if (read < 0) {
+                        break;
+                    }
+                    wrapped.clear().limit(read);
+                    while (wrapped.hasRemaining()) {
+                        position += channel.write(wrapped, position);
+                    }
+                    digest.update(buffer, 0, read);
+                    state.digested = position;
+                    remaining -= read;
+                }
+            } catch (IOException | RuntimeException e) {
+                // The digest may no longer match the file; it is rebuilt on the next chunk
+                state.digest = null;
+                throw e;
+            }
+            if (position == session.getFileSize()) {
+                channel.force(true);
+            }
+            return position;
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    // Moves a fully received upload into blob storage and forgets the session
+    public StoredBlob complete(UploadSession session) throws IOException {
+        String uploadId = session.getUploadId();
+        UploadState state = states.computeIfAbsent(uploadId, id -> new UploadState());
+        state.lock.lock();
+        try {
+            Path part = part(uploadId);
+            long size = Files.size(part);
+            if (size != session.getFileSize()) {
+                throw new UploadConflictException("Upload is incomplete", size);
+            }
+            String sha256 = HexFormat.of().formatHex(state.digestFor(part, size, bufferSize).digest());
+            String filePath = "blobs/" + sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + sha256;
+            Path blob = root.resolve(filePath);
+
+            boolean deduplicated = Files.exists(blob);
+            if (deduplicated) {
+                Files.delete(part);
+            } else {
+                Files.createDirectories(blob.getParent());
+                Files.move(part, blob, StandardCopyOption.ATOMIC_MOVE);
+            }
+            Files.deleteIfExists(sessionFile(uploadId));
+            return new StoredBlob(sha256, filePath, size, deduplicated);
+        } finally {
+            states.remove(uploadId);
+            state.lock.unlock();
+        }
+    }
+
+    public void cancel(String uploadId) throws IOException {
+        UploadState state = states.remove(uploadId);
+        if (state != null) {
+            state.lock.lock();
+            state.lock.unlock();
+        }
+        Files.deleteIfExists(part(uploadId));
+        Files.deleteIfExists(sessionFile(uploadId));
+    }
+
+    // Removes uploads that have received nothing for longer than maxIdle; returns how many
+    public int deleteExpired(Duration maxIdle) throws IOException {
+        if (!Files.isDirectory(uploads)) {
+            return 0;
+        }
+        Instant cutoff = Instant.now().minus(maxIdle);
+        int deleted = 0;
+        try (DirectoryStream<Path> sessions = Files.newDirectoryStream(uploads, "*" + SESSION_SUFFIX)) {
+            for (Path sessionFile : sessions) {
+                String name = sessionFile.getFileName().toString();
+                String uploadId = name.substring(0, name.length() - SESSION_SUFFIX.length());
+                Path part = part(uploadId);
+                Path lastTouched = Files.exists(part) ? part : sessionFile;
+                if (Files.getLastModifiedTime(lastTouched).toInstant().isBefore(cutoff) && !isWriting(uploadId)) {
+                    cancel(uploadId);
+                    deleted++;
+                }
+            }
+        }
+        return deleted;
+    }
+
+    private boolean isWriting(String uploadId) {
+        UploadState state = states.get(uploadId);
+        return state != null && state.lock.isLocked();
+    }
+
+    private Path part(String uploadId) {
+        return uploads.resolve(uploadId + PART_SUFFIX);
+    }
+
+    private Path sessionFile(String uploadId) {
+        return uploads.resolve(uploadId + SESSION_SUFFIX);
+    }
+
+    // Upload ids are UUIDs; anything else could point outside the uploads directory
+    private static boolean isValidId(String uploadId) {
+        try {
+            return UUID.fromString(uploadId).toString().equals(uploadId);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static final class UploadState {
+        private final ReentrantLock lock = new ReentrantLock();
+        private MessageDigest digest;
+        private long digested;
+
+        // The running digest, re-read from the partial file after a restart or a failed chunk
+        private MessageDigest digestFor(Path part, long size, int bufferSize) throws IOException {
+            if (digest != null && digested == size) {
+                return digest;
+            }
+            digest = sha256();
+            digested = 0;
+            try (InputStream in = Files.newInputStream(part)) {
+                byte[] buffer = new byte[bufferSize];
+                int read;
+                while (digested < size && (read = in.read(buffer, 0, (int) Math.min(buffer.length, size - digested))) > 0) {
+                    digest.update(buffer, 0, read);
+                    digested += read;
+                }
+            }
+            return digest;
+        }
+
+        private static MessageDigest sha256() {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.taskmanagement.storage;
+
+import lombok.Value;
+
+@Value
+public class StoredBlob {
+    String sha256;
+    // Relative to the attachments directory, as stored in task_attachments.file_path
+    String filePath;
+    long size;
+    // Identical content was already stored; the upload was discarded
+    boolean deduplicated;
+}
@@ -0,0 +1,15 @@
+package com.taskmanagement.storage;
+
+import lombok.Getter;
+
+// A chunk didn't start at the current end of the upload, or another chunk is being written
+@Getter
+public class UploadConflictException extends RuntimeException {
+
+    private final long offset;
+
+    public UploadConflictException(String message, long offset) {
+        super(message);
+        this.offset = offset;
+    }
+}
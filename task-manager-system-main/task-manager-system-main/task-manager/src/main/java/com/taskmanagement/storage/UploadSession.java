@@ -0,0 +1,23 @@
+package com.taskmanagement.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// What an upload will become once complete; saved next to the partial file so uploads survive a restart
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSession {
+    private String uploadId;
+    private Integer taskId;
+    private Integer userId;
+    private String fileName;
+    private String mimeType;
+    private long fileSize;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,96 @@
+package com.taskmanagement.archive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.taskmanagement.entity.ActivityLog;
+
+class ActivityArchiveTest {
+
+	private static final LocalDateTime DAY = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void compactMergesSegmentsOnceOverTheLimit() throws IOException {
+		ActivityArchive archive = new ActivityArchive(dir, 4, 3);
+		archive.append(rows(1, 10));
+		archive.append(rows(11, 10));
+		archive.append(rows(21, 10));
+
+		assertThat(archive.compact()).isZero();
+		assertThat(segmentFiles()).hasSize(3);
+
+		archive.append(rows(31, 10));
+		assertThat(archive.compact()).isEqualTo(4);
+
+		List<Path> files = segmentFiles();
+		assertThat(files).hasSize(1);
+		List<ArchivedActivity> merged = archive.read(files.get(0));
+		assertThat(merged).extracting(ArchivedActivity::getActivityId).doesNotHaveDuplicates().hasSize(40);
+		assertThat(merged).isSortedAccordingTo(Comparator.comparing(ArchivedActivity::getTaskId)
+				.thenComparing(ArchivedActivity::getCreatedAt));
+		assertThat(archive.findByTask(2, null, null)).extracting(ArchivedActivity::getActivityId)
+				.containsExactly(32, 22, 12, 2);
+	}
+
+	@Test
+	void compactDropsActivitiesArchivedTwice() throws IOException {
+		ActivityArchive archive = new ActivityArchive(dir, 4, 1);
+		archive.append(rows(1, 10));
+		// A batch whose delete rolled back is archived again by the next run
+		archive.append(rows(1, 10));
+
+		archive.compact();
+
+		assertThat(archive.read(segmentFiles().get(0))).hasSize(10);
+	}
+
+	@Test
+	void compactedSegmentsAreOpenedOnRestart() throws IOException {
+		ActivityArchive archive = new ActivityArchive(dir, 4, 1);
+		archive.append(rows(1, 10));
+		archive.append(rows(11, 10));
+		archive.compact();
+
+		ActivityArchive reopened = new ActivityArchive(dir, 4, 1);
+
+		assertThat(reopened.findByTask(1, null, null)).extracting(ArchivedActivity::getActivityId)
+				.containsExactly(11, 1);
+	}
+
+	// Ten tasks, one activity each; later ids are an hour later
+	private static List<ArchivedActivity> rows(int firstId, int count) {
+		List<ArchivedActivity> rows = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			int id = firstId + i;
+			rows.add(ArchivedActivity.builder()
+					.activityId(id)
+					.taskId(1 + i % 10)
+					.userId(1)
+					.actionType(ActivityLog.ActionType.UPDATED)
+					.description("activity " + id)
+					.createdAt(DAY.plusHours(id))
+					.build());
+		}
+		return rows;
+	}
+
+	private List<Path> segmentFiles() throws IOException {
+		try (Stream<Path> files = Files.list(dir)) {
+			return files.filter(file -> file.toString().endsWith(".seg")).toList();
+		}
+	}
+}
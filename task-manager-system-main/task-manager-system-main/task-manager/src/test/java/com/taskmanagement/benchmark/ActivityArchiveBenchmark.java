@@ -0,0 +1,137 @@
+package com.taskmanagement.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.taskmanagement.archive.ActivityArchive;
+import com.taskmanagement.archive.ArchivedActivity;
+import com.taskmanagement.entity.ActivityLog;
+
+// Archive (segment write), restore (full segment decode) and per-task lookup over a populated archive.
+// Divide the archive/restore scores by segmentRows for per-row cost.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ActivityArchiveBenchmark {
+
+	@Param({"1000", "10000"})
+	private int segmentRows;
+
+	@Param({"50"})
+	private int segments;
+
+	private static final int TASKS = 2_000;
+
+	private Path archiveDir;
+	private Path scratchDir;
+	private ActivityArchive archive;
+	private ActivityArchive scratch;
+	private List<ArchivedActivity> batch;
+	private Path firstSegment;
+	private Random random;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		random = new Random(42);
+		archiveDir = Files.createTempDirectory("archive-bench");
+		// Never compacted, so taskHistory measures a lookup across all the segments
+		archive = new ActivityArchive(archiveDir, 512, Integer.MAX_VALUE);
+		int nextId = 1;
+		LocalDateTime day = LocalDateTime.of(2023, 1, 1, 8, 0);
+		for (int s = 0; s < segments; s++) {
+			List<ArchivedActivity> rows = rows(nextId, day.plusDays(s));
+			nextId += rows.size();
+			Path segment = archive.append(rows);
+			if (firstSegment == null) {
+				firstSegment = segment;
+			}
+		}
+		batch = rows(nextId, day.plusDays(segments));
+	}
+
+	@Setup(Level.Iteration)
+	public void setUpScratch() throws IOException {
+		scratchDir = Files.createTempDirectory("archive-bench-scratch");
+		scratch = new ActivityArchive(scratchDir, 512, Integer.MAX_VALUE);
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDownScratch() throws IOException {
+		delete(scratchDir);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		delete(archiveDir);
+	}
+
+	@Benchmark
+	public Path archiveSegment() throws IOException {
+		return scratch.append(batch);
+	}
+
+	@Benchmark
+	public List<ArchivedActivity> restoreSegment() throws IOException {
+		return archive.read(firstSegment);
+	}
+
+	@Benchmark
+	public List<ArchivedActivity> taskHistory() {
+		return archive.findByTask(1 + random.nextInt(TASKS), null, null);
+	}
+
+	// Skewed like real boards: a few busy tasks, a long tail of quiet ones
+	private List<ArchivedActivity> rows(int firstId, LocalDateTime day) {
+		ActivityLog.ActionType[] types = ActivityLog.ActionType.values();
+		List<ArchivedActivity> rows = new ArrayList<>(segmentRows);
+		for (int i = 0; i < segmentRows; i++) {
+			int taskId = 1 + (int) (TASKS * Math.pow(random.nextDouble(), 2));
+			rows.add(ArchivedActivity.builder()
+					.activityId(firstId + i)
+					.taskId(taskId)
+					.taskTitle("Task " + taskId)
+					.userId(1 + random.nextInt(40))
+					.userFullName("User " + random.nextInt(40))
+					.actionType(types[random.nextInt(types.length)])
+					.oldValue(random.nextBoolean() ? "IN_PROGRESS" : null)
+					.newValue("DONE")
+					.description("updated status of Task " + taskId)
+					.createdAt(day.plusSeconds(random.nextInt(36_000)))
+					.build());
+		}
+		return rows;
+	}
+
+	private static void delete(Path dir) throws IOException {
+		try (Stream<Path> files = Files.walk(dir)) {
+			for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+				Files.deleteIfExists(file);
+			}
+		}
+	}
+}
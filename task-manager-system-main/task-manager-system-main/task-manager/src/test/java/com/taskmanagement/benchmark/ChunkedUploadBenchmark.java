@@ -0,0 +1,103 @@
+package com.taskmanagement.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanagement.storage.ChunkedUploadStore;
+import com.taskmanagement.storage.StoredBlob;
+import com.taskmanagement.storage.UploadSession;
+
+// Time to upload one file in chunks through ChunkedUploadStore: write, hash and move into blob storage.
+// Throughput in MB/s is fileMegabytes * 1000 / score.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChunkedUploadBenchmark {
+
+	@Param({"64"})
+	private int fileMegabytes;
+
+	@Param({"1048576", "8388608"})
+	private int chunkSize;
+
+	@Param({"65536"})
+	private int bufferSize;
+
+	private Path dir;
+	private ChunkedUploadStore store;
+	private byte[] content;
+	private long uploads;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		content = new byte[fileMegabytes * 1024 * 1024];
+		new Random(42).nextBytes(content);
+		dir = Files.createTempDirectory("upload-bench");
+		store = new ChunkedUploadStore(new ObjectMapper().findAndRegisterModules(), dir, bufferSize);
+	}
+
+	@TearDown(Level.Iteration)
+	public void deleteBlobs() throws IOException {
+		delete(dir.resolve("blobs"));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		delete(dir);
+	}
+
+	@Benchmark
+	public StoredBlob upload() throws IOException {
+		// Distinct content each time, so every upload is stored rather than deduplicated
+		long id = ++uploads;
+		for (int i = 0; i < Long.BYTES; i++) {
+			content[i] = (byte) (id >>> (i * 8));
+		}
+		UploadSession session = store.create(UploadSession.builder()
+				.taskId(1)
+				.userId(1)
+				.fileName("recording.mp4")
+				.fileSize(content.length)
+				.build());
+		for (int offset = 0; offset < content.length; offset += chunkSize) {
+			int length = Math.min(chunkSize, content.length - offset);
+			store.append(session, offset, new ByteArrayInputStream(content, offset, length), length);
+		}
+		return store.complete(session);
+	}
+
+	private static void delete(Path path) throws IOException {
+		if (!Files.exists(path)) {
+			return;
+		}
+		try (Stream<Path> files = Files.walk(path)) {
+			for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+				Files.deleteIfExists(file);
+			}
+		}
+	}
+}
@@ -0,0 +1,267 @@
+package com.taskmanagement.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.taskmanagement.dto.ActivityDtoMapper;
+import com.taskmanagement.dto.TaskDtoMapper;
+import com.taskmanagement.dto.response.ActivityLogDTO;
+import com.taskmanagement.dto.response.TaskDTO;
+import com.taskmanagement.dto.response.TaskSimpleDTO;
+import com.taskmanagement.entity.ActivityLog;
+import com.taskmanagement.entity.Category;
+import com.taskmanagement.entity.Tag;
+import com.taskmanagement.entity.Task;
+import com.taskmanagement.entity.TaskAssignment;
+import com.taskmanagement.entity.User;
+import com.taskmanagement.repository.ActivityLogRepo;
+
+// What one board poll costs outside the database: converting a page of Task graphs to DTOs, converting an
+// activity feed page, and serializing the board with an ObjectMapper configured like Spring Boot's.
+// Synthetic graphs: 50 users, 8 categories, 20 tags; 0-6 assignees (mostly 1-3) and 0-4 tags per task,
+// descriptions of 0-600 characters. One op is a whole page.
+// Run with the GC profiler to see allocation per page next to throughput:
+//   mvn -Pbenchmark verify -Dbenchmark.args="DtoConversionBenchmark -prof gc"
+// and compare gc.alloc.rate.norm (bytes/op) before and after a DTO or serializer change.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoConversionBenchmark {
+
+	private static final int USERS = 50;
+	private static final int CATEGORIES = 8;
+	private static final int TAGS = 20;
+	private static final int[] ASSIGNEE_COUNTS = {0, 1, 1, 1, 2, 2, 2, 3, 3, 4, 6};
+
+	// 500 is the default /api/tasks page
+	@Param({"50", "500"})
+	private int tasks;
+
+	// /api/activities/recent page
+	@Param({"50"})
+	private int activities;
+
+	private List<Task> board;
+	private List<ActivityLogRepo.ActivityFeedRow> feed;
+	private List<TaskSimpleDTO> boardDtos;
+	private ObjectWriter boardWriter;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Random random = new Random(42);
+		LocalDateTime now = LocalDateTime.of(2026, 3, 1, 9, 0);
+
+		List<User> users = new ArrayList<>();
+		for (int i = 1; i <= USERS; i++) {
+			User user = new User();
+			user.setUserId(i);
+			user.setUsername("user" + i);
+			user.setFullName("Nguyen Van " + (char) ('A' + i % 26) + " " + i);
+			users.add(user);
+		}
+		List<Category> categories = new ArrayList<>();
+		for (int i = 1; i <= CATEGORIES; i++) {
+			Category category = new Category();
+			category.setCategoryId(i);
+			category.setName("Category " + i);
+			categories.add(category);
+		}
+		List<Tag> tags = new ArrayList<>();
+		for (int i = 1; i <= TAGS; i++) {
+			Tag tag = new Tag();
+			tag.setTagId(i);
+			tag.setName("tag-" + i);
+			tags.add(tag);
+		}
+
+		board = new ArrayList<>(tasks);
+		for (int i = 1; i <= tasks; i++) {
+			Task task = new Task();
+			task.setTaskId(i);
+			task.setTitle("Task " + i + " " + "x".repeat(10 + random.nextInt(50)));
+			task.setDescription(random.nextInt(4) == 0 ? null : "d".repeat(random.nextInt(600)));
+			task.setStatus(Task.TaskStatus.values()[random.nextInt(Task.TaskStatus.values().length)]);
+			task.setPriority(Task.TaskPriority.values()[random.nextInt(Task.TaskPriority.values().length)]);
+			task.setStartDate(random.nextBoolean() ? LocalDate.of(2026, 2, 1).plusDays(random.nextInt(30)) : null);
+			task.setDueDate(LocalDate.of(2026, 3, 1).plusDays(random.nextInt(60)));
+			task.setCategory(random.nextInt(5) == 0 ? null : categories.get(random.nextInt(CATEGORIES)));
+			task.setCreatedBy(users.get(random.nextInt(USERS)));
+			task.setCreatedAt(now.minusDays(random.nextInt(90)));
+			task.setUpdatedAt(now.minusMinutes(random.nextInt(10_000)));
+			int assignees = ASSIGNEE_COUNTS[random.nextInt(ASSIGNEE_COUNTS.length)];
+			for (int a = 0; a < assignees; a++) {
+				TaskAssignment assignment = new TaskAssignment();
+				assignment.setTask(task);
+				assignment.setUser(users.get(random.nextInt(USERS)));
+				task.getTaskAssignments().add(assignment);
+			}
+			int tagCount = random.nextInt(5);
+			for (int t = 0; t < tagCount; t++) {
+				task.getTags().add(tags.get(random.nextInt(TAGS)));
+			}
+			board.add(task);
+		}
+
+		feed = new ArrayList<>(activities);
+		for (int i = 1; i <= activities; i++) {
+			Task task = board.get(random.nextInt(board.size()));
+			User user = users.get(random.nextInt(USERS));
+			feed.add(new FeedRow(i, task.getTaskId(), task.getTitle(), user.getUserId(), user.getFullName(),
+					ActivityLog.ActionType.values()[random.nextInt(ActivityLog.ActionType.values().length)],
+					"TO_DO", "IN_PROGRESS", user.getFullName() + " updated task " + task.getTitle(),
+					now.minusMinutes(i)));
+		}
+
+		// Spring Boot's defaults: java.time module, ISO dates instead of timestamps
+		ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+				.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+						SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+				.build();
+		boardWriter = objectMapper.writerFor(
+				objectMapper.getTypeFactory().constructCollectionType(List.class, TaskSimpleDTO.class));
+		boardDtos = toSimpleDtos();
+	}
+
+	@Benchmark
+	public List<TaskSimpleDTO> simpleDtos() {
+		return toSimpleDtos();
+	}
+
+	@Benchmark
+	public List<TaskDTO> fullDtos() {
+		List<TaskDTO> dtos = new ArrayList<>(board.size());
+		for (Task task : board) {
+			dtos.add(TaskDtoMapper.toFullDTO(task));
+		}
+		return dtos;
+	}
+
+	@Benchmark
+	public List<ActivityLogDTO> activityFeed() {
+		List<ActivityLogDTO> dtos = new ArrayList<>(feed.size());
+		for (ActivityLogRepo.ActivityFeedRow row : feed) {
+			dtos.add(ActivityDtoMapper.toDTO(row));
+		}
+		return dtos;
+	}
+
+	// The response body as Spring MVC writes it: streamed, not buffered into a byte[]
+	@Benchmark
+	public long serializeBoard() throws IOException {
+		CountingOutputStream out = new CountingOutputStream();
+		boardWriter.writeValue(out, boardDtos);
+		return out.count;
+	}
+
+	// Conversion plus serialization, i.e. the whole non-database cost of GET /api/tasks
+	@Benchmark
+	public long convertAndSerializeBoard() throws IOException {
+		CountingOutputStream out = new CountingOutputStream();
+		boardWriter.writeValue(out, toSimpleDtos());
+		return out.count;
+	}
+
+	private List<TaskSimpleDTO> toSimpleDtos() {
+		List<TaskSimpleDTO> dtos = new ArrayList<>(board.size());
+		for (Task task : board) {
+			dtos.add(TaskDtoMapper.toSimpleDTO(task));
+		}
+		return dtos;
+	}
+
+	private static final class CountingOutputStream extends OutputStream {
+
+		private long count;
+
+		@Override
+		public void write(int b) {
+			count++;
+		}
+
+		@Override
+		public void write(byte[] bytes, int offset, int length) {
+			count += length;
+		}
+	}
+
+	private record FeedRow(Integer activityId, Integer taskId, String taskTitle, Integer userId,
+			String userFullName, ActivityLog.ActionType actionType, String oldValue, String newValue,
+			String description, LocalDateTime createdAt) implements ActivityLogRepo.ActivityFeedRow {
+
+		@Override
+		public Integer getActivityId() {
+			return activityId;
+		}
+
+		@Override
+		public Integer getTaskId() {
+			return taskId;
+		}
+
+		@Override
+		public String getTaskTitle() {
+			return taskTitle;
+		}
+
+		@Override
+		public Integer getUserId() {
+			return userId;
+		}
+
+		@Override
+		public String getUserFullName() {
+			return userFullName;
+		}
+
+		@Override
+		public ActivityLog.ActionType getActionType() {
+			return actionType;
+		}
+
+		@Override
+		public String getOldValue() {
+			return oldValue;
+		}
+
+		@Override
+		public String getNewValue() {
+			return newValue;
+		}
+
+		@Override
+		public String getDescription() {
+			return description;
+		}
+
+		@Override
+		public LocalDateTime getCreatedAt() {
+			return createdAt;
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package com.taskmanagement.benchmark;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.taskmanagement.security.LoginThrottle;
+import com.taskmanagement.security.PasswordHasher;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Login throughput with 16 concurrent clients, i.e. more than the hashing pool has threads.
+// "direct" is the old behaviour (BCrypt on every request thread); "pooled" goes through the throttle and
+// PasswordHasher, which caps the CPUs spent on hashing at hashThreads. Compare logins/s against how many
+// cores each leaves for other requests. "throttle" is the per-attempt cost of the token buckets alone.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class LoginThroughputBenchmark {
+
+	private static final String PASSWORD = "correct horse battery staple";
+
+	@Param({"10"})
+	private int strength;
+
+	@Param({"4"})
+	private int hashThreads;
+
+	private BCryptPasswordEncoder encoder;
+	private PasswordHasher hasher;
+	private LoginThrottle throttle;
+	private String hash;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		encoder = new BCryptPasswordEncoder(strength);
+		hash = encoder.encode(PASSWORD);
+		hasher = new PasswordHasher(encoder, new SimpleMeterRegistry(), hashThreads, 1024, Duration.ofMinutes(1), 1);
+		// Generous enough that nothing is refused; measures the bookkeeping, not the limits
+		throttle = new LoginThrottle(new SimpleMeterRegistry(), Integer.MAX_VALUE, Duration.ofSeconds(1),
+				Integer.MAX_VALUE, Duration.ofSeconds(1), 100_000);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		hasher.shutdown();
+	}
+
+	@Benchmark
+	public boolean direct() {
+		return encoder.matches(PASSWORD, hash);
+	}
+
+	@Benchmark
+	public boolean pooled() {
+		return throttle.tryAcquire(randomIp(), "user" + ThreadLocalRandom.current().nextInt(1000)) == 0
+				&& hasher.matches(PASSWORD, hash).join();
+	}
+
+	@Benchmark
+	public long throttle() {
+		return throttle.tryAcquire(randomIp(), "user" + ThreadLocalRandom.current().nextInt(1000));
+	}
+
+	private static String randomIp() {
+		return "10.0." + ThreadLocalRandom.current().nextInt(256) + "." + ThreadLocalRandom.current().nextInt(256);
+	}
+}
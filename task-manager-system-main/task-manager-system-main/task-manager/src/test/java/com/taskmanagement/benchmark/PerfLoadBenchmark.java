@@ -0,0 +1,185 @@
+package com.taskmanagement.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.taskmanagement.TaskApplication;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// End-to-end latency of the board's hot endpoints over HTTP against the perf profile: embedded H2 seeded by
+// PerfDataSeeder with `tasks` tasks and `users` users (comments, activity and skew as in application-perf.yml).
+// SampleTime mode prints p50, p90, p99 and p99.9 per endpoint; "mixed" is a board-like blend of 85% reads.
+//   mvn -Pbenchmark verify -Dbenchmark.args="PerfLoadBenchmark -p tasks=1000000"
+// Seeding 1M tasks takes a few minutes and about 4 GB of heap. To load an app that is already running with
+// the perf profile and the same seed volumes, add -jvmArgsAppend -Dperf.base-url=http://host:8080.
+// Requests pick recent tasks more often, like users do. Non-2xx responses are counted and printed at the end
+// of each trial; a fast endpoint that is failing is not a result.
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Threads(16)
+@State(Scope.Benchmark)
+public class PerfLoadBenchmark {
+
+	private static final String[] STATUSES = {"PENDING", "TO_DO", "IN_PROGRESS", "DONE"};
+
+	@Param({"100000"})
+	private int tasks;
+
+	@Param({"2000"})
+	private int users;
+
+	private ConfigurableApplicationContext context;
+	private HttpClient client;
+	private String baseUrl;
+	private final LongAdder errors = new LongAdder();
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		String target = System.getProperty("perf.base-url");
+		if (target == null) {
+			// Arguments, not builder properties: those are defaults and application-perf.yml would win
+			context = new SpringApplicationBuilder(TaskApplication.class)
+					.profiles("perf")
+					.run("--server.port=0",
+							"--perf.seed.tasks=" + tasks,
+							"--perf.seed.users=" + users,
+							"--logging.level.root=WARN",
+							"--logging.level.com.taskmanagement.perf=INFO");
+			target = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+			awaitSearchIndex();
+		}
+		baseUrl = target + "/api";
+		client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		System.out.println("Non-2xx responses: " + errors.sum());
+		if (context != null) {
+			context.close();
+		}
+	}
+
+	@Benchmark
+	public int board() throws IOException, InterruptedException {
+		return get("/tasks?limit=50&status=" + randomStatus());
+	}
+
+	@Benchmark
+	public int recentActivity() throws IOException, InterruptedException {
+		return get("/activities/recent?limit=20");
+	}
+
+	@Benchmark
+	public int createTask() throws IOException, InterruptedException {
+		int userId = randomUserId();
+		return send("POST", "/tasks", "{\"title\":\"Load test task\",\"dueDate\":\"" + LocalDate.now().plusDays(7)
+				+ "\",\"createdById\":" + userId + ",\"assigneeIds\":[" + userId + "]}");
+	}
+
+	@Benchmark
+	public int moveTask() throws IOException, InterruptedException {
+		return send("PUT", "/tasks/" + randomTaskId(),
+				"{\"status\":\"" + randomStatus() + "\",\"userId\":" + randomUserId() + "}");
+	}
+
+	@Benchmark
+	public int postComment() throws IOException, InterruptedException {
+		return send("POST", "/comments", "{\"taskId\":" + randomTaskId() + ",\"userId\":" + randomUserId()
+				+ ",\"text\":\"Looks good\"}");
+	}
+
+	@Benchmark
+	public int mixed() throws IOException, InterruptedException {
+		int pick = ThreadLocalRandom.current().nextInt(100);
+		if (pick < 60) {
+			return board();
+		} else if (pick < 85) {
+			return recentActivity();
+		} else if (pick < 93) {
+			return moveTask();
+		} else if (pick < 98) {
+			return postComment();
+		}
+		return createTask();
+	}
+
+	private int get(String path) throws IOException, InterruptedException {
+		return execute(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build());
+	}
+
+	private int send(String method, String path, String body) throws IOException, InterruptedException {
+		return execute(HttpRequest.newBuilder(URI.create(baseUrl + path))
+				.header("Content-Type", "application/json")
+				.method(method, HttpRequest.BodyPublishers.ofString(body))
+				.build());
+	}
+
+	// The body is read, not discarded: transferring it is part of what a client waits for
+	private int execute(HttpRequest request) throws IOException, InterruptedException {
+		HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+		if (response.statusCode() / 100 != 2) {
+			errors.increment();
+		}
+		return response.statusCode();
+	}
+
+	// The index is rebuilt in the background once the app is ready; measuring during the rebuild would
+	// mostly measure the rebuild
+	private void awaitSearchIndex() {
+		Timer rebuild = context.getBean(MeterRegistry.class).get("search.index.rebuild").timer();
+		long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(10);
+		while (rebuild.count() == 0 && System.nanoTime() < deadline) {
+			try {
+				Thread.sleep(200);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	// Seeded ids grow with creation time: 80% of picks land on the newest tenth
+	private int randomTaskId() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int recent = Math.max(1, tasks / 10);
+		return random.nextInt(100) < 80 ? tasks - random.nextInt(recent) : 1 + random.nextInt(tasks);
+	}
+
+	private int randomUserId() {
+		return 1 + ThreadLocalRandom.current().nextInt(users);
+	}
+
+	private static String randomStatus() {
+		return STATUSES[ThreadLocalRandom.current().nextInt(STATUSES.length)];
+	}
+}
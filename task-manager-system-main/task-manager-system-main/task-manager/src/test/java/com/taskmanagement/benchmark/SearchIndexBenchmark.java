@@ -0,0 +1,106 @@
+package com.taskmanagement.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.taskmanagement.search.SearchIndex;
+
+// Rebuild time and query latency of the search index over synthetic tasks and comments
+// (one comment per two tasks) drawn from a Zipf-like vocabulary.
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@State(Scope.Benchmark)
+public class SearchIndexBenchmark {
+
+	private static final int VOCABULARY = 50_000;
+
+	@Param({"1000000"})
+	private int documents;
+
+	private String[] words;
+	private String[] titles;
+	private String[] bodies;
+	private SearchIndex index;
+	private String[] queries;
+	private int nextQuery;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Random random = new Random(42);
+		words = new String[VOCABULARY];
+		for (int i = 0; i < VOCABULARY; i++) {
+			words[i] = Integer.toString(i * 7919 + 1000, 36);
+		}
+		titles = new String[documents];
+		bodies = new String[documents];
+		for (int i = 0; i < documents; i++) {
+			titles[i] = text(random, 3 + random.nextInt(5));
+			bodies[i] = text(random, 10 + random.nextInt(40));
+		}
+		index = build();
+
+		// Common, mid-frequency and rare terms, alone and combined
+		queries = new String[256];
+		for (int i = 0; i < queries.length; i++) {
+			queries[i] = switch (i % 4) {
+				case 0 -> words[random.nextInt(20)];
+				case 1 -> words[100 + random.nextInt(1000)];
+				case 2 -> words[5000 + random.nextInt(VOCABULARY - 5000)];
+				default -> words[random.nextInt(200)] + " " + words[1000 + random.nextInt(5000)];
+			};
+		}
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	@Warmup(iterations = 1)
+	@Measurement(iterations = 3)
+	public SearchIndex rebuild() {
+		return build();
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	@Warmup(iterations = 3, time = 2)
+	@Measurement(iterations = 5, time = 2)
+	public SearchIndex.Result query() {
+		return index.search(queries[nextQuery++ & (queries.length - 1)], null, 0, 20);
+	}
+
+	private SearchIndex build() {
+		SearchIndex built = new SearchIndex();
+		int tasks = documents * 2 / 3;
+		for (int i = 0; i < tasks; i++) {
+			built.indexTask(i + 1, titles[i], bodies[i], List.of(words[i % 50]));
+		}
+		for (int i = tasks; i < documents; i++) {
+			built.indexComment(i + 1, 1 + i % tasks, bodies[i]);
+		}
+		return built;
+	}
+
+	// Rank r is drawn with probability ~ 1/r
+	private String text(Random random, int length) {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < length; i++) {
+			int rank = (int) Math.pow(VOCABULARY, random.nextDouble()) - 1;
+			text.append(i > 0 ? " " : "").append(words[rank]);
+		}
+		return text.toString();
+	}
+}
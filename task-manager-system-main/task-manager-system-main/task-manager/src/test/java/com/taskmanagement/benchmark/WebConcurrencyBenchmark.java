@@ -0,0 +1,142 @@
+package com.taskmanagement.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.taskmanagement.TaskApplication;
+import com.taskmanagement.dto.request.CreateTaskRequest;
+import com.taskmanagement.dto.response.BulkItemResultDTO;
+import com.taskmanagement.entity.User;
+import com.taskmanagement.repository.UserRepo;
+import com.taskmanagement.service.TaskService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Requests/s of uncached, database-bound endpoints (a task's activity and comments, posting a comment) with
+// 200 concurrent HTTP clients against the app on the in-memory test database. Tomcat is capped at 50 threads
+// and Hikari at 10 connections, like a small production node.
+// "platform" is thread-per-request; "virtual" runs the virtual-threads profile and its pool-sized limiter.
+// Run it on JDK 21+: on older JDKs both modes use platform threads. The rejected count printed at the end
+// of each trial is the limiter's 503s, which should stay at zero at this load.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(200)
+@State(Scope.Benchmark)
+public class WebConcurrencyBenchmark {
+
+	@Param({"platform", "virtual"})
+	private String mode;
+
+	@Param({"200"})
+	private int tasks;
+
+	private ConfigurableApplicationContext context;
+	private HttpClient client;
+	private String baseUrl;
+	private int userId;
+	private List<Integer> taskIds;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		SpringApplicationBuilder application = new SpringApplicationBuilder(TaskApplication.class)
+				.properties("server.port=0",
+						"server.tomcat.threads.max=50",
+						"spring.datasource.hikari.maximum-pool-size=10",
+						"logging.level.root=WARN",
+						"logging.level.com.taskmanagement=WARN");
+		if ("virtual".equals(mode)) {
+			application.profiles("virtual-threads");
+		}
+		context = application.run();
+		baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+		client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+		seed();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.getBeansOfType(MeterRegistry.class).values().stream()
+				.flatMap(registry -> registry.find("http.concurrency.rejected").counters().stream())
+				.forEach(rejected -> System.out.println("Limiter rejected " + (long) rejected.count() + " requests"));
+		context.close();
+	}
+
+	@Benchmark
+	public int taskActivity() throws IOException, InterruptedException {
+		return get("/activities/task/" + randomTaskId());
+	}
+
+	@Benchmark
+	public int taskComments() throws IOException, InterruptedException {
+		return get("/comments/task/" + randomTaskId());
+	}
+
+	@Benchmark
+	public int postComment() throws IOException, InterruptedException {
+		String body = "{\"taskId\":" + randomTaskId() + ",\"userId\":" + userId + ",\"text\":\"Looks good\"}";
+		HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/comments"))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body))
+				.build();
+		return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+
+	private int get(String path) throws IOException, InterruptedException {
+		HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+		return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+
+	private int randomTaskId() {
+		return taskIds.get(ThreadLocalRandom.current().nextInt(taskIds.size()));
+	}
+
+	private void seed() {
+		User user = new User();
+		user.setUsername("bench");
+		user.setEmail("bench@example.com");
+		user.setPasswordHash("x");
+		user.setFullName("Bench User");
+		userId = context.getBean(UserRepo.class).save(user).getUserId();
+
+		List<CreateTaskRequest> requests = new ArrayList<>();
+		for (int i = 0; i < tasks; i++) {
+			CreateTaskRequest request = new CreateTaskRequest();
+			request.setTitle("Task " + i);
+			request.setDueDate(LocalDate.now().plusDays(i % 30));
+			request.setCreatedById(userId);
+			request.setAssigneeIds(List.of(userId));
+			requests.add(request);
+		}
+		taskIds = context.getBean(TaskService.class).createTasks(requests).getResults().stream()
+				.map(BulkItemResultDTO::getTaskId)
+				.toList();
+	}
+}
@@ -0,0 +1,68 @@
+package com.taskmanagement.concurrency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+
+class ConnectionPoolLimiterTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final ConnectionPoolLimiter limiter = new ConnectionPoolLimiter(1, Duration.ofMillis(100),
+			List.of("/api/stream/**"), meterRegistry);
+
+	@Test
+	void rejectsWithRetryAfterWhenAllPermitsAreHeld() throws Exception {
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<MockHttpServletResponse> holder = CompletableFuture.supplyAsync(() -> call("/api/tasks",
+				(request, response) -> {
+					entered.countDown();
+					await(release);
+				}));
+		assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+		MockHttpServletResponse rejected = call("/api/tasks", (request, response) -> { });
+		assertThat(rejected.getStatus()).isEqualTo(503);
+		assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+		assertThat(meterRegistry.get("http.concurrency.rejected").counter().count()).isEqualTo(1);
+
+		// Excluded paths don't need a permit
+		assertThat(call("/api/stream/tasks", (request, response) -> { }).getStatus()).isEqualTo(200);
+
+		release.countDown();
+		assertThat(holder.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(200);
+		assertThat(call("/api/tasks", (request, response) -> { }).getStatus()).isEqualTo(200);
+	}
+
+	private MockHttpServletResponse call(String path, FilterChain chain) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		try {
+			limiter.doFilter(request, response, chain);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+		return response;
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
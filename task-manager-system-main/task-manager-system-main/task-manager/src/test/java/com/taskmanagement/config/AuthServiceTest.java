@@ -0,0 +1,153 @@
+package com.taskmanagement.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.taskmanagement.entity.User;
+import com.taskmanagement.repository.UserRepo;
+import com.taskmanagement.security.TokenClaims;
+import com.taskmanagement.security.TokenRevocations;
+import com.taskmanagement.security.TokenService;
+import com.taskmanagement.service.UserService;
+
+// Writes through JdbcTemplate stand in for another application node: this node's caches don't see them
+@SpringBootTest
+class AuthServiceTest {
+
+	@Autowired
+	private AuthService authService;
+
+	@Autowired
+	private TokenService tokenService;
+
+	@Autowired
+	private UserRepo userRepo;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private TokenRevocations tokenRevocations;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void refreshSeesDeactivationByAnotherNodeDespiteCachedUser() {
+		User user = saveUser("deactivated-elsewhere");
+		String refreshToken = tokenService.issue(user).getRefreshToken();
+
+		jdbcTemplate.update("UPDATE users SET status = 'INACTIVE' WHERE user_id = ?", user.getUserId());
+		// The second-level cache on this node still has the user as active
+		assertThat(userRepo.findById(user.getUserId()).orElseThrow().getStatus()).isEqualTo(User.UserStatus.ACTIVE);
+
+		assertThat(authService.refresh(refreshToken)).isEmpty();
+	}
+
+	@Test
+	void refreshTokenIsRevokedForAllNodesOnceUsed() {
+		User user = saveUser("rotated");
+		String refreshToken = tokenService.issue(user).getRefreshToken();
+		String tokenId = tokenService.decode(refreshToken).orElseThrow().getTokenId();
+
+		assertThat(authService.refresh(refreshToken)).isPresent();
+
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM revoked_refresh_tokens WHERE token_id = ?", Integer.class, tokenId)).isEqualTo(1);
+		assertThat(authService.refresh(refreshToken)).isEmpty();
+	}
+
+	@Test
+	void refreshSeesLogoutOnAnotherNode() {
+		User user = saveUser("logged-out-elsewhere");
+		String refreshToken = tokenService.issue(user).getRefreshToken();
+		String tokenId = tokenService.decode(refreshToken).orElseThrow().getTokenId();
+
+		jdbcTemplate.update("INSERT INTO revoked_refresh_tokens (token_id, user_id, expires_at) VALUES (?, ?, ?)",
+				tokenId, user.getUserId(), LocalDateTime.now().plusDays(1));
+
+		assertThat(authService.refresh(refreshToken)).isEmpty();
+	}
+
+	@Test
+	void refreshSeesTokenVersionBumpedOnAnotherNode() {
+		User user = saveUser("password-changed-elsewhere");
+		String refreshToken = tokenService.issue(user).getRefreshToken();
+
+		jdbcTemplate.update("UPDATE users SET token_version = token_version + 1 WHERE user_id = ?", user.getUserId());
+
+		assertThat(authService.refresh(refreshToken)).isEmpty();
+	}
+
+	@Test
+	void logoutRevokesRefreshTokenForAllNodes() {
+		User user = saveUser("logged-out");
+		var tokens = tokenService.issue(user);
+		String tokenId = tokenService.decode(tokens.getRefreshToken()).orElseThrow().getTokenId();
+
+		authService.logout(tokens.getAccessToken(), tokens.getRefreshToken());
+
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM revoked_refresh_tokens WHERE token_id = ?", Integer.class, tokenId)).isEqualTo(1);
+	}
+
+	@Test
+	void deactivationRevokesIssuedTokensOnlyOnceCommitted() {
+		User user = saveUser("deactivated-here");
+		TokenClaims claims = tokenService.decode(tokenService.issue(user).getAccessToken()).orElseThrow();
+
+		transactionTemplate.executeWithoutResult(status -> {
+			userService.deactivateUser(user.getUserId());
+			assertThat(tokenRevocations.isRevoked(claims)).isFalse();
+		});
+
+		assertThat(tokenRevocations.isRevoked(claims)).isTrue();
+	}
+
+	@Test
+	void rolledBackDeactivationKeepsTokens() {
+		User user = saveUser("deactivation-rolled-back");
+		TokenClaims claims = tokenService.decode(tokenService.issue(user).getAccessToken()).orElseThrow();
+
+		transactionTemplate.executeWithoutResult(status -> {
+			userService.deactivateUser(user.getUserId());
+			status.setRollbackOnly();
+		});
+
+		assertThat(tokenRevocations.isRevoked(claims)).isFalse();
+	}
+
+	@Test
+	void deactivationBuildsOnTokenVersionBumpedByAnotherNode() {
+		User user = saveUser("deactivated-after-bump");
+		// The other node's refresh tokens now carry version 1; a bump from the cached 0 would leave them valid
+		jdbcTemplate.update("UPDATE users SET token_version = token_version + 1 WHERE user_id = ?", user.getUserId());
+
+		userService.deactivateUser(user.getUserId());
+
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT token_version FROM users WHERE user_id = ?", Integer.class, user.getUserId())).isEqualTo(2);
+	}
+
+	private User saveUser(String username) {
+		User user = new User();
+		user.setUsername(username);
+		user.setEmail(username + "@example.com");
+		user.setPasswordHash("x");
+		user.setFullName("Auth Test");
+		User saved = userRepo.save(user);
+		// Loaded once, so the row is in the second-level cache
+		userRepo.findById(saved.getUserId()).orElseThrow();
+		return saved;
+	}
+}
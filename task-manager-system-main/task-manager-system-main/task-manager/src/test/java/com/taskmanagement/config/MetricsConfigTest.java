@@ -0,0 +1,65 @@
+package com.taskmanagement.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.taskmanagement.service.TaskService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Tests switch off metrics export by default; @AutoConfigureObservability brings the Prometheus registry back
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricsConfigTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private TaskService taskService;
+
+	@Test
+	void exportsServiceRepositoryHibernateAndPoolMetrics() throws Exception {
+		mockMvc.perform(get("/api/tasks").param("limit", "10")).andExpect(status().isOk());
+		mockMvc.perform(get("/api/activities/recent")).andExpect(status().isOk());
+		assertThatThrownBy(() -> taskService.getTasksByStatus("NOT_A_STATUS"))
+				.isInstanceOf(IllegalArgumentException.class);
+
+		assertThat(meterRegistry.get("service.invocations").tag("method", "findActiveTasks").timer().count())
+				.isEqualTo(1);
+		assertThat(meterRegistry.get("service.invocations").tag("method", "getRecentActivities").timer().count())
+				.isEqualTo(1);
+		assertThat(meterRegistry.get("service.failures").tag("method", "getTasksByStatus").counter().count())
+				.isEqualTo(1);
+		assertThat(meterRegistry.find("service.failures").tag("method", "findActiveTasks").counter()).isNull();
+		assertThat(meterRegistry.get("spring.data.repository.invocations").timers()).isNotEmpty();
+		assertThat(meterRegistry.get("hibernate.statements").tag("status", "prepared").functionCounter().count())
+				.isPositive();
+
+		String prometheus = mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		assertThat(prometheus)
+				.contains("service_invocations_seconds_bucket{")
+				.contains("spring_data_repository_invocations_seconds_bucket{")
+				.contains("hibernate_entities_loads_total")
+				.contains("hibernate_collections_fetches_total")
+				.contains("hibernate_second_level_cache_requests_total{")
+				.contains("hikaricp_connections_acquire_seconds_bucket{");
+
+		mockMvc.perform(get("/actuator/metrics/hibernate.statements")).andExpect(status().isOk());
+	}
+}
@@ -0,0 +1,171 @@
+package com.taskmanagement.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.taskmanagement.service.AttachmentService;
+import com.taskmanagement.storage.AttachmentDownload;
+
+// Range and If-Range handling of AttachmentController.download over a 100-byte file
+@SpringBootTest
+@AutoConfigureMockMvc
+class AttachmentDownloadTest {
+
+	private static final int LENGTH = 100;
+	// Not on a whole second, like real file times; HTTP dates only carry seconds
+	private static final long LAST_MODIFIED = 1_700_000_000_123L;
+	private static final String ETAG = "\"" + Long.toString(LENGTH, 36) + "-" + Long.toString(LAST_MODIFIED, 36) + "\"";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private AttachmentService attachmentService;
+
+	@TempDir
+	Path dir;
+
+	private byte[] content;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		content = new byte[LENGTH];
+		for (int i = 0; i < LENGTH; i++) {
+			content[i] = (byte) i;
+		}
+		Path file = Files.write(dir.resolve("file.bin"), content);
+		when(attachmentService.getDownload(1)).thenReturn(Optional.of(AttachmentDownload.builder()
+				.attachmentId(1)
+				.fileName("file.bin")
+				.path(file)
+				.length(LENGTH)
+				.lastModified(LAST_MODIFIED)
+				.build()));
+	}
+
+	@Test
+	void servesSingleRange() throws Exception {
+		MvcResult result = download(HttpHeaders.RANGE, "bytes=10-19");
+
+		assertPartial(result, 10, 19);
+	}
+
+	@Test
+	void coalescesSeveralRangesIntoOneSpanningThemAll() throws Exception {
+		MvcResult result = download(HttpHeaders.RANGE, "bytes=50-59,10-19,30-34");
+
+		assertPartial(result, 10, 59);
+	}
+
+	@Test
+	void ignoresUnsatisfiableRangesWhenOthersOverlapTheFile() throws Exception {
+		MvcResult result = download(HttpHeaders.RANGE, "bytes=90-,200-300");
+
+		assertPartial(result, 90, 99);
+	}
+
+	@Test
+	void servesSuffixRange() throws Exception {
+		assertPartial(download(HttpHeaders.RANGE, "bytes=-10"), 90, 99);
+		// A suffix longer than the file is the whole file
+		assertPartial(download(HttpHeaders.RANGE, "bytes=-500"), 0, 99);
+	}
+
+	@Test
+	void clampsRangeEndToTheFile() throws Exception {
+		assertPartial(download(HttpHeaders.RANGE, "bytes=95-1000"), 95, 99);
+	}
+
+	@Test
+	void answers416WhenNoRangeOverlapsTheFile() throws Exception {
+		mockMvc.perform(get("/api/attachments/1/download").header(HttpHeaders.RANGE, "bytes=100-200,150-"))
+				.andExpect(status().isRequestedRangeNotSatisfiable())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */100"));
+	}
+
+	@Test
+	void ignoresMalformedRangeHeader() throws Exception {
+		assertFull(download(HttpHeaders.RANGE, "lines=1-2"));
+	}
+
+	@Test
+	void honoursRangeWhenIfRangeMatchesStrongEtag() throws Exception {
+		MvcResult result = mockMvc.perform(get("/api/attachments/1/download")
+						.header(HttpHeaders.RANGE, "bytes=0-9")
+						.header(HttpHeaders.IF_RANGE, ETAG))
+				.andReturn();
+
+		assertPartial(result, 0, 9);
+	}
+
+	@Test
+	void sendsWholeFileWhenIfRangeCarriesWeakOrStaleEtag() throws Exception {
+		assertFull(mockMvc.perform(get("/api/attachments/1/download")
+						.header(HttpHeaders.RANGE, "bytes=0-9")
+						.header(HttpHeaders.IF_RANGE, "W/" + ETAG))
+				.andReturn());
+		assertFull(mockMvc.perform(get("/api/attachments/1/download")
+						.header(HttpHeaders.RANGE, "bytes=0-9")
+						.header(HttpHeaders.IF_RANGE, "\"other\""))
+				.andReturn());
+	}
+
+	@Test
+	void comparesIfRangeDateAtSecondPrecision() throws Exception {
+		assertPartial(mockMvc.perform(get("/api/attachments/1/download")
+						.header(HttpHeaders.RANGE, "bytes=0-9")
+						.header(HttpHeaders.IF_RANGE, httpDate(LAST_MODIFIED)))
+				.andReturn(), 0, 9);
+		assertFull(mockMvc.perform(get("/api/attachments/1/download")
+						.header(HttpHeaders.RANGE, "bytes=0-9")
+						.header(HttpHeaders.IF_RANGE, httpDate(LAST_MODIFIED - 1000)))
+				.andReturn());
+		assertFull(mockMvc.perform(get("/api/attachments/1/download")
+						.header(HttpHeaders.RANGE, "bytes=0-9")
+						.header(HttpHeaders.IF_RANGE, "not a date"))
+				.andReturn());
+	}
+
+	private MvcResult download(String header, String value) throws Exception {
+		return mockMvc.perform(get("/api/attachments/1/download").header(header, value)).andReturn();
+	}
+
+	private void assertPartial(MvcResult result, int first, int last) {
+		assertThat(result.getResponse().getStatus()).isEqualTo(206);
+		assertThat(result.getResponse().getHeader(HttpHeaders.CONTENT_RANGE))
+				.isEqualTo("bytes " + first + "-" + last + "/" + LENGTH);
+		assertThat(result.getResponse().getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(content, first, last + 1));
+	}
+
+	private void assertFull(MvcResult result) {
+		assertThat(result.getResponse().getStatus()).isEqualTo(200);
+		assertThat(result.getResponse().getHeader(HttpHeaders.CONTENT_RANGE)).isNull();
+		assertThat(result.getResponse().getContentAsByteArray()).isEqualTo(content);
+	}
+
+	private static String httpDate(long millis) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setDate(HttpHeaders.IF_RANGE, millis);
+		return headers.getFirst(HttpHeaders.IF_RANGE);
+	}
+}
@@ -0,0 +1,87 @@
+package com.taskmanagement.controller;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.taskmanagement.preview.Thumbnail;
+import com.taskmanagement.preview.ThumbnailVariant;
+import com.taskmanagement.service.AttachmentService;
+
+// Pending, missing and ready thumbnails as AttachmentController.thumbnail answers them
+@SpringBootTest
+@AutoConfigureMockMvc
+class AttachmentThumbnailTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private AttachmentService attachmentService;
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void pendingThumbnailIsAcceptedWithRetryAfter() throws Exception {
+		when(attachmentService.getThumbnail(1, ThumbnailVariant.THUMBNAIL))
+				.thenReturn(Optional.of(Thumbnail.builder().attachmentId(1).pending(true).build()));
+
+		mockMvc.perform(get("/api/attachments/1/thumbnail"))
+				.andExpect(status().isAccepted())
+				.andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"));
+	}
+
+	// Not an image, or generation failed for good
+	@Test
+	void attachmentWithoutThumbnailIsNotFound() throws Exception {
+		when(attachmentService.getThumbnail(1, ThumbnailVariant.PREVIEW)).thenReturn(Optional.empty());
+
+		mockMvc.perform(get("/api/attachments/1/thumbnail").param("variant", "preview"))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void unknownVariantIsBadRequest() throws Exception {
+		mockMvc.perform(get("/api/attachments/1/thumbnail").param("variant", "poster"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void readyThumbnailIsCachedAndRevalidatedByEtag() throws Exception {
+		byte[] jpeg = {(byte) 0xFF, (byte) 0xD8, 1, 2, 3};
+		Path file = Files.write(dir.resolve("thumb.jpg"), jpeg);
+		when(attachmentService.getThumbnail(1, ThumbnailVariant.THUMBNAIL)).thenReturn(Optional.of(Thumbnail.builder()
+				.attachmentId(1)
+				.path(file)
+				.length(jpeg.length)
+				.lastModified(1_700_000_000_000L)
+				.build()));
+
+		String etag = mockMvc.perform(get("/api/attachments/1/thumbnail"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType("image/jpeg"))
+				.andExpect(content().bytes(jpeg))
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, private, immutable"))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/api/attachments/1/thumbnail").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified());
+	}
+}
@@ -0,0 +1,101 @@
+package com.taskmanagement.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.taskmanagement.dto.response.UploadStatusDTO;
+import com.taskmanagement.service.AttachmentService;
+import com.taskmanagement.storage.UploadConflictException;
+
+// Content-Range validation and conflict answers of AttachmentController.uploadChunk
+@SpringBootTest
+@AutoConfigureMockMvc
+class AttachmentUploadTest {
+
+	private static final String UPLOAD_ID = "3f1c2a9e-7d4b-4c1e-9a0f-5b6d7e8f9a01";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private AttachmentService attachmentService;
+
+	@BeforeEach
+	void setUp() {
+		when(attachmentService.getUploadStatus(UPLOAD_ID)).thenReturn(Optional.of(uploadStatus(400)));
+	}
+
+	@Test
+	void acceptsChunkAtTheCurrentOffset() throws Exception {
+		when(attachmentService.uploadChunk(eq(UPLOAD_ID), eq(400L), eq(100L), any()))
+				.thenReturn(Optional.of(uploadStatus(500)));
+
+		mockMvc.perform(chunk("bytes 400-499/1000", 100))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.offset").value(500));
+	}
+
+	@Test
+	void answersConflictWithTheOffsetToResumeFrom() throws Exception {
+		when(attachmentService.uploadChunk(eq(UPLOAD_ID), eq(0L), eq(100L), any()))
+				.thenThrow(new UploadConflictException("Chunk must start at offset 400", 400));
+
+		mockMvc.perform(chunk("bytes 0-99/1000", 100))
+				.andExpect(status().isConflict())
+				.andExpect(jsonPath("$.offset").value(400));
+	}
+
+	@Test
+	void rejectsMalformedOrInconsistentContentRange() throws Exception {
+		mockMvc.perform(chunk("bytes 400-499", 100)).andExpect(status().isBadRequest());
+		// Last byte before the first
+		mockMvc.perform(chunk("bytes 499-400/1000", 0)).andExpect(status().isBadRequest());
+		// Body length differs from the range
+		mockMvc.perform(chunk("bytes 400-499/1000", 50)).andExpect(status().isBadRequest());
+		// Total differs from the size the upload was started with
+		mockMvc.perform(chunk("bytes 400-499/2000", 100)).andExpect(status().isBadRequest());
+
+		verify(attachmentService, never()).uploadChunk(any(), anyLong(), anyLong(), any());
+	}
+
+	@Test
+	void unknownUploadIsNotFound() throws Exception {
+		when(attachmentService.getUploadStatus(UPLOAD_ID)).thenReturn(Optional.empty());
+
+		mockMvc.perform(chunk("bytes 0-99/1000", 100)).andExpect(status().isNotFound());
+	}
+
+	private static MockHttpServletRequestBuilder chunk(String contentRange, int length) {
+		return put("/api/attachments/uploads/" + UPLOAD_ID)
+				.header(HttpHeaders.CONTENT_RANGE, contentRange)
+				.content(new byte[length]);
+	}
+
+	private static UploadStatusDTO uploadStatus(long offset) {
+		return UploadStatusDTO.builder()
+				.uploadId(UPLOAD_ID)
+				.fileName("file.bin")
+				.fileSize(1000)
+				.offset(offset)
+				.build();
+	}
+}
@@ -0,0 +1,153 @@
+package com.taskmanagement.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanagement.dto.request.CreateTaskRequest;
+import com.taskmanagement.dto.request.UpdateTaskRequest;
+import com.taskmanagement.entity.User;
+import com.taskmanagement.repository.TaskRepo;
+import com.taskmanagement.repository.UserRepo;
+import com.taskmanagement.service.TaskService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskChangesTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private UserRepo userRepo;
+
+	@Autowired
+	private TaskRepo taskRepo;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void writeIsDeliveredOnNextPoll() throws Exception {
+		String cursor = drain();
+
+		int taskId = taskService.createTask(newTask("changes-poller")).getTaskId();
+
+		JsonNode page = poll(cursor);
+		assertThat(taskIds(page)).containsExactly(taskId);
+		assertThat(poll(text(page, "cursor")).get("changes")).isEmpty();
+	}
+
+	// A transaction that flushed (and stamped updated_at) early but commits after another write was
+	// polled must still sort after the cursor handed out for that poll
+	@Test
+	void lateCommitSortsAfterCursorAlreadyHandedOut() throws Exception {
+		int slowTaskId = taskService.createTask(newTask("changes-slow")).getTaskId();
+		String cursor = drain();
+
+		CountDownLatch flushed = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<?> slowWrite = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+				UpdateTaskRequest update = new UpdateTaskRequest();
+				update.setTitle("Committed late");
+				taskService.updateTask(slowTaskId, update);
+				taskRepo.flush();
+				flushed.countDown();
+				await(release);
+			}));
+			assertThat(flushed.await(10, TimeUnit.SECONDS)).isTrue();
+
+			int fastTaskId = taskService.createTask(newTask("changes-fast")).getTaskId();
+			JsonNode first = poll(cursor);
+			assertThat(taskIds(first)).containsExactly(fastTaskId);
+
+			release.countDown();
+			slowWrite.get(10, TimeUnit.SECONDS);
+
+			assertThat(taskIds(poll(text(first, "cursor")))).containsExactly(slowTaskId);
+		} finally {
+			release.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	private String drain() throws Exception {
+		String cursor = null;
+		JsonNode page;
+		do {
+			page = poll(cursor);
+			cursor = text(page, "cursor");
+		} while (page.get("hasMore").asBoolean());
+		return cursor;
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private CreateTaskRequest newTask(String username) {
+		User user = new User();
+		user.setUsername(username);
+		user.setEmail(username + "@example.com");
+		user.setPasswordHash("x");
+		user.setFullName("Changes Poller");
+		Integer userId = userRepo.save(user).getUserId();
+
+		CreateTaskRequest request = new CreateTaskRequest();
+		request.setTitle("Synced later");
+		request.setDueDate(LocalDate.now().plusDays(3));
+		request.setCreatedById(userId);
+		return request;
+	}
+
+	private JsonNode poll(String since) throws Exception {
+		MockHttpServletRequestBuilder request = get("/api/tasks/changes").param("limit", "1000");
+		if (since != null) {
+			request.param("since", since);
+		}
+		return objectMapper.readTree(mockMvc.perform(request)
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString());
+	}
+
+	private static String text(JsonNode page, String field) {
+		return page.get(field).isNull() ? null : page.get(field).asText();
+	}
+
+	private static List<Integer> taskIds(JsonNode page) {
+		List<Integer> ids = new ArrayList<>();
+		page.get("changes").forEach(change -> ids.add(change.get("taskId").asInt()));
+		return ids;
+	}
+}
@@ -0,0 +1,97 @@
+package com.taskmanagement.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanagement.dto.request.CreateTaskRequest;
+import com.taskmanagement.entity.User;
+import com.taskmanagement.repository.UserRepo;
+import com.taskmanagement.service.TaskService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskListTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private UserRepo userRepo;
+
+	// Clients that don't page (board, dashboard) get every matching task and no cursor
+	@Test
+	void withoutLimitOrCursorReturnsWholeBoard() throws Exception {
+		Integer userId = newUser("list-all");
+		createTasks(userId, 3);
+
+		MockHttpServletResponse response = mockMvc.perform(get("/api/tasks").param("assigneeId", userId.toString()))
+				.andExpect(status().isOk())
+				.andReturn().getResponse();
+
+		assertThat(objectMapper.readTree(response.getContentAsString())).hasSize(3);
+		assertThat(response.getHeader(TaskController.NEXT_CURSOR_HEADER)).isNull();
+	}
+
+	@Test
+	void limitPagesWithCursor() throws Exception {
+		Integer userId = newUser("list-paged");
+		createTasks(userId, 3);
+
+		MockHttpServletResponse first = mockMvc.perform(get("/api/tasks")
+						.param("assigneeId", userId.toString())
+						.param("limit", "2"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse();
+		String cursor = first.getHeader(TaskController.NEXT_CURSOR_HEADER);
+		assertThat(objectMapper.readTree(first.getContentAsString())).hasSize(2);
+		assertThat(cursor).isNotNull();
+
+		MockHttpServletResponse second = mockMvc.perform(get("/api/tasks")
+						.param("assigneeId", userId.toString())
+						.param("cursor", cursor))
+				.andExpect(status().isOk())
+				.andReturn().getResponse();
+		JsonNode rest = objectMapper.readTree(second.getContentAsString());
+		assertThat(rest).hasSize(1);
+		assertThat(second.getHeader(TaskController.NEXT_CURSOR_HEADER)).isNull();
+	}
+
+	private Integer newUser(String username) {
+		User user = new User();
+		user.setUsername(username);
+		user.setEmail(username + "@example.com");
+		user.setPasswordHash("x");
+		user.setFullName("Task List");
+		return userRepo.save(user).getUserId();
+	}
+
+	private void createTasks(Integer userId, int count) {
+		for (int i = 0; i < count; i++) {
+			CreateTaskRequest request = new CreateTaskRequest();
+			request.setTitle("Board task " + i);
+			request.setDueDate(LocalDate.now().plusDays(3));
+			request.setCreatedById(userId);
+			request.setAssigneeIds(List.of(userId));
+			taskService.createTask(request);
+		}
+	}
+}
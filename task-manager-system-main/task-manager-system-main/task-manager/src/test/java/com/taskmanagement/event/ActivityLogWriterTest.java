@@ -0,0 +1,183 @@
+package com.taskmanagement.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.taskmanagement.entity.ActivityLog;
+import com.taskmanagement.entity.Task;
+import com.taskmanagement.entity.User;
+import com.taskmanagement.repository.ActivityLogRepo;
+import com.taskmanagement.repository.TaskRepo;
+import com.taskmanagement.repository.UserRepo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ActivityLogWriterTest {
+
+	private static final String WRITER_THREAD = "activity-log-writer";
+	// Rows for this task fail to insert, like one whose task was purged in the meantime
+	private static final int PURGED_TASK = 99;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final ActivityLogRepo activityLogRepo = mock(ActivityLogRepo.class);
+	private final TaskRepo taskRepo = mock(TaskRepo.class);
+	private final UserRepo userRepo = mock(UserRepo.class);
+
+	// Every saveAll call: the thread that made it and the task ids it carried
+	private final BlockingQueue<Write> writes = new LinkedBlockingQueue<>();
+	// Holds the background writer inside its first insert until released
+	private final CountDownLatch stalled = new CountDownLatch(1);
+	private final CountDownLatch unstall = new CountDownLatch(1);
+
+	private ActivityLogWriter writer;
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		unstall.countDown();
+		if (writer != null) {
+			writer.shutdown();
+		}
+	}
+
+	@Test
+	void fullQueueWritesOnPublishingThread() throws Exception {
+		writer = newWriter(1, 200, Duration.ofSeconds(10));
+		stallWriter();
+
+		writer.onActivityRecorded(activity(2));     // fills the queue
+		writer.onActivityRecorded(activity(3));     // times out and is written here
+
+		Write synchronous = writes.poll(5, TimeUnit.SECONDS);
+		assertThat(synchronous.thread()).isEqualTo(Thread.currentThread().getName());
+		assertThat(synchronous.taskIds()).containsExactly(3);
+		assertThat(meterRegistry.get("activity.log.synchronous").counter().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("activity.log.queue.depth").gauge().value()).isEqualTo(1);
+	}
+
+	@Test
+	void failedBatchIsRetriedRowByRow() throws Exception {
+		writer = newWriter(100, 200, Duration.ofSeconds(10));
+		stallWriter();
+		writer.onActivityRecorded(activity(2));
+		writer.onActivityRecorded(activity(PURGED_TASK));
+		writer.onActivityRecorded(activity(4));
+
+		unstall.countDown();
+
+		assertThat(writes.poll(5, TimeUnit.SECONDS).taskIds()).containsExactly(2, PURGED_TASK, 4);
+		List<List<Integer>> retries = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			retries.add(writes.poll(5, TimeUnit.SECONDS).taskIds());
+		}
+		assertThat(retries).containsExactly(List.of(2), List.of(PURGED_TASK), List.of(4));
+		// The stalled first row, then the two good rows of the batch
+		awaitCount("activity.log.written", 3);
+		awaitCount("activity.log.dropped", 1);
+	}
+
+	@Test
+	void shutdownFlushesRowsTheWriterDidNotReach() throws Exception {
+		writer = newWriter(100, 200, Duration.ofMillis(100));
+		stallWriter();
+		writer.onActivityRecorded(activity(2));
+		writer.onActivityRecorded(activity(3));
+
+		// The writer is still stuck when the shutdown timeout runs out; the caller writes what is queued
+		writer.shutdown();
+
+		Write flushed = writes.poll(5, TimeUnit.SECONDS);
+		assertThat(flushed.thread()).isEqualTo(Thread.currentThread().getName());
+		assertThat(flushed.taskIds()).containsExactly(2, 3);
+		assertThat(meterRegistry.get("activity.log.queue.depth").gauge().value()).isZero();
+		assertThat(meterRegistry.get("activity.log.written").counter().count()).isEqualTo(2);
+	}
+
+	private ActivityLogWriter newWriter(int queueCapacity, int batchSize, Duration shutdownTimeout) {
+		when(taskRepo.getReferenceById(anyInt())).thenAnswer(invocation -> {
+			Task task = new Task();
+			task.setTaskId(invocation.getArgument(0));
+			return task;
+		});
+		when(userRepo.getReferenceById(anyInt())).thenAnswer(invocation -> {
+			User user = new User();
+			user.setUserId(invocation.getArgument(0));
+			return user;
+		});
+		when(activityLogRepo.saveAll(any())).thenAnswer(invocation -> {
+			List<ActivityLog> rows = invocation.getArgument(0);
+			List<Integer> taskIds = rows.stream().map(row -> row.getTask().getTaskId()).toList();
+			String thread = Thread.currentThread().getName();
+			if (thread.equals(WRITER_THREAD) && taskIds.equals(List.of(1))) {
+				stalled.countDown();
+				awaitUnstall();
+			} else {
+				writes.add(new Write(thread, taskIds));
+			}
+			if (taskIds.contains(PURGED_TASK)) {
+				throw new DataIntegrityViolationException("task " + PURGED_TASK + " no longer exists");
+			}
+			for (ActivityLog row : rows) {
+				row.setActivityId(row.getTask().getTaskId());
+			}
+			return rows;
+		});
+		return new ActivityLogWriter(activityLogRepo, taskRepo, userRepo, mock(ApplicationEventPublisher.class),
+				mock(PlatformTransactionManager.class), meterRegistry, queueCapacity, batchSize,
+				Duration.ofMillis(20), shutdownTimeout);
+	}
+
+	// Publishes the row for task 1 and waits until the writer thread is blocked inserting it
+	private void stallWriter() throws InterruptedException {
+		writer.onActivityRecorded(activity(1));
+		assertThat(stalled.await(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	// Counters are incremented after the insert returns, so they can trail the recorded writes
+	private void awaitCount(String counter, double expected) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (meterRegistry.get(counter).counter().count() < expected && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		assertThat(meterRegistry.get(counter).counter().count()).isEqualTo(expected);
+	}
+
+	private void awaitUnstall() {
+		boolean released = false;
+		while (!released) {
+			try {
+				released = unstall.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				// Like a slow insert, the stalled write ignores interrupts
+			}
+		}
+	}
+
+	private static ActivityRecordedEvent activity(int taskId) {
+		return ActivityRecordedEvent.builder()
+				.taskId(taskId)
+				.userId(7)
+				.actionType(ActivityLog.ActionType.UPDATED)
+				.description("updated task " + taskId)
+				.build();
+	}
+
+	private record Write(String thread, List<Integer> taskIds) {
+	}
+}
@@ -0,0 +1,84 @@
+package com.taskmanagement.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ChangeStreamBroadcasterTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	// One sender thread, heartbeats (and the send deadline check) every 50 ms, 200 ms send deadline
+	private final ChangeStreamBroadcaster broadcaster = new ChangeStreamBroadcaster(
+			Jackson2ObjectMapperBuilder.json().build(), meterRegistry, 16, Duration.ofMinutes(1), 1,
+			Duration.ofMillis(50), Duration.ofMillis(200));
+
+	private final CountDownLatch unstall = new CountDownLatch(1);
+
+	@AfterEach
+	void tearDown() {
+		unstall.countDown();
+		broadcaster.shutdown();
+	}
+
+	@Test
+	void stalledSubscriberIsEvictedWithoutStarvingOthers() throws Exception {
+		broadcaster.register(new StalledEmitter(), null, false);
+		RecordingEmitter healthy = new RecordingEmitter();
+		broadcaster.register(healthy, null, false);
+
+		// The stalled subscriber's drain takes the only sender thread first
+		broadcaster.onDataChanged(DataChangedEvent.taskChanged(DataChangedEvent.ChangeType.UPDATED, 1));
+
+		assertThat(healthy.changes.poll(5, TimeUnit.SECONDS)).contains("event:change");
+		assertThat(meterRegistry.get("stream.evictions").counter().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("stream.subscribers").gauge().value()).isEqualTo(1);
+
+		broadcaster.onDataChanged(DataChangedEvent.taskChanged(DataChangedEvent.ChangeType.UPDATED, 2));
+		assertThat(healthy.changes.poll(5, TimeUnit.SECONDS)).contains("event:change");
+	}
+
+	// A socket write that doesn't react to interrupts, like a client whose TCP window stays full
+	private final class StalledEmitter extends SseEmitter {
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			boolean released = false;
+			while (!released) {
+				try {
+					released = unstall.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					// ignored
+				}
+			}
+			throw new IOException("Broken pipe");
+		}
+	}
+
+	private static final class RecordingEmitter extends SseEmitter {
+
+		private final BlockingQueue<String> changes = new LinkedBlockingQueue<>();
+
+		@Override
+		public void send(SseEventBuilder builder) {
+			String text = builder.build().stream()
+					.map(part -> String.valueOf(part.getData()))
+					.reduce("", String::concat);
+			if (text.contains("event:change")) {
+				changes.add(text);
+			}
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package com.taskmanagement.importer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class UserImportReaderTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void readsQuotedCsvFieldsAcrossLines() {
+		String csv = "Username,Email,Password,full_name,role\r\n"
+				+ "alice, alice@example.com ,\" s3cret \",\"Smith, Alice\",GROUP_LEADER\r\n"
+				+ "\n"
+				+ "bob,bob@example.com,pw,\"Bob \"\"The Builder\"\"\nJr\",\n"
+				+ "carol,carol@example.com\n";
+
+		List<UserImportRow> rows = read(csv, UserImportReader.Format.CSV);
+
+		assertThat(rows).hasSize(3);
+		assertThat(rows.get(0).getLine()).isEqualTo(2);
+		assertThat(rows.get(0).getRequest().getEmail()).isEqualTo("alice@example.com");
+		assertThat(rows.get(0).getRequest().getPassword()).isEqualTo(" s3cret ");
+		assertThat(rows.get(0).getRequest().getFullName()).isEqualTo("Smith, Alice");
+		assertThat(rows.get(0).getRequest().getRole()).isEqualTo("GROUP_LEADER");
+
+		assertThat(rows.get(1).getLine()).isEqualTo(4);
+		assertThat(rows.get(1).getRequest().getFullName()).isEqualTo("Bob \"The Builder\"\nJr");
+		assertThat(rows.get(1).getRequest().getRole()).isEqualTo("MEMBER");
+
+		assertThat(rows.get(2).getLine()).isEqualTo(6);
+		assertThat(rows.get(2).getRequest()).isNull();
+		assertThat(rows.get(2).getError()).contains("Expected 5 fields");
+	}
+
+	@Test
+	void rejectsCsvWithoutRequiredColumns() {
+		UserImportReader reader = new UserImportReader(new StringReader("username,email\nalice,a@example.com\n"),
+				UserImportReader.Format.CSV, objectMapper);
+
+		assertThatThrownBy(reader::hasNext).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void reportsMalformedJsonAndOverlongRecordsWithoutStopping() {
+		String ndjson = "{\"username\":\"alice\",\"email\":\"alice@example.com\",\"password\":\"pw\",\"fullName\":\"Alice\"}\n"
+				+ "{\"username\": \n"
+				+ "\"" + "x".repeat(UserImportReader.MAX_RECORD_LENGTH + 1) + "\"\n"
+				+ "{\"username\":\"bob\",\"email\":\"bob@example.com\",\"password\":\"pw\",\"fullName\":\"Bob\"}";
+
+		List<UserImportRow> rows = read(ndjson, UserImportReader.Format.NDJSON);
+
+		assertThat(rows).extracting(UserImportRow::getLine).containsExactly(1, 2, 3, 4);
+		assertThat(rows.get(0).getRequest().getUsername()).isEqualTo("alice");
+		assertThat(rows.get(1).getError()).startsWith("Malformed JSON");
+		assertThat(rows.get(2).getError()).contains("longer than");
+		assertThat(rows.get(3).getRequest().getUsername()).isEqualTo("bob");
+	}
+
+	private List<UserImportRow> read(String input, UserImportReader.Format format) {
+		List<UserImportRow> rows = new ArrayList<>();
+		new UserImportReader(new StringReader(input), format, objectMapper).forEachRemaining(rows::add);
+		return rows;
+	}
+}
@@ -0,0 +1,134 @@
+package com.taskmanagement.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.taskmanagement.entity.ActivityDailyRollup;
+import com.taskmanagement.entity.ActivityLog;
+import com.taskmanagement.entity.Task;
+import com.taskmanagement.entity.User;
+import com.taskmanagement.repository.ActivityLogRepo;
+import com.taskmanagement.repository.ActivityRollupRepo;
+import com.taskmanagement.repository.JobLockRepo;
+import com.taskmanagement.repository.TaskRepo;
+import com.taskmanagement.repository.UserRepo;
+
+@SpringBootTest(properties = "archive.enabled=false")
+class ActivityRetentionJobTest {
+
+	private static final LocalDateTime EXPIRED = LocalDate.now().minusDays(200).atTime(10, 0);
+
+	@Autowired
+	private ActivityRetentionJob job;
+
+	@Autowired
+	private ActivityLogRepo activityLogRepo;
+
+	@Autowired
+	private ActivityRollupRepo rollupRepo;
+
+	@Autowired
+	private JobLockRepo jobLockRepo;
+
+	@Autowired
+	private TaskRepo taskRepo;
+
+	@Autowired
+	private UserRepo userRepo;
+
+	@Test
+	void addsToExistingRollupsOfTheSameKeyOnly() {
+		User user = saveUser("retention-rollup");
+		Task task = saveTask(user);
+		Task otherTask = saveTask(user);
+		ActivityDailyRollup existing = saveRollup(task, user, 2);
+		ActivityDailyRollup unrelated = saveRollup(otherTask, user, 7);
+		for (int i = 0; i < 3; i++) {
+			saveActivity(task, user, ActivityLog.ActionType.UPDATED);
+		}
+		saveActivity(task, user, ActivityLog.ActionType.CREATED);
+
+		job.run();
+
+		assertThat(rollupRepo.findById(existing.getRollupId()).orElseThrow().getActivityCount()).isEqualTo(5);
+		assertThat(rollupRepo.findById(unrelated.getRollupId()).orElseThrow().getActivityCount()).isEqualTo(7);
+		assertThat(rollupRepo.findAll()).filteredOn(rollup -> rollup.getTask().getTaskId().equals(task.getTaskId())
+						&& rollup.getActionType() == ActivityLog.ActionType.CREATED)
+				.singleElement()
+				.extracting(ActivityDailyRollup::getActivityCount)
+				.isEqualTo(1);
+		assertThat(remaining(task)).isZero();
+	}
+
+	@Test
+	void skipsRunWhileAnotherNodeHoldsTheLock() {
+		User user = saveUser("retention-locked");
+		Task task = saveTask(user);
+		saveActivity(task, user, ActivityLog.ActionType.UPDATED);
+		JobLocks otherNode = new JobLocks(jobLockRepo);
+		assertThat(otherNode.tryAcquire("activity-retention", Duration.ofMinutes(10))).isTrue();
+		try {
+			job.run();
+
+			assertThat(remaining(task)).isEqualTo(1);
+		} finally {
+			otherNode.release("activity-retention");
+		}
+
+		job.run();
+
+		assertThat(remaining(task)).isZero();
+	}
+
+	// Other tests share the database, so only this test's rows are counted
+	private long remaining(Task task) {
+		return activityLogRepo.findAll().stream()
+				.filter(activity -> activity.getTask().getTaskId().equals(task.getTaskId()))
+				.count();
+	}
+
+	private User saveUser(String username) {
+		User user = new User();
+		user.setUsername(username);
+		user.setEmail(username + "@example.com");
+		user.setPasswordHash("x");
+		user.setFullName("Retention Test");
+		return userRepo.save(user);
+	}
+
+	private Task saveTask(User creator) {
+		Task task = new Task();
+		task.setTitle("Retention");
+		task.setDueDate(LocalDate.now());
+		task.setCreatedBy(creator);
+		return taskRepo.save(task);
+	}
+
+	private ActivityDailyRollup saveRollup(Task task, User user, int count) {
+		ActivityDailyRollup rollup = new ActivityDailyRollup();
+		rollup.setActivityDate(EXPIRED.toLocalDate());
+		rollup.setTask(task);
+		rollup.setUser(user);
+		rollup.setActionType(ActivityLog.ActionType.UPDATED);
+		rollup.setActivityCount(count);
+		rollup.setFirstAt(EXPIRED);
+		rollup.setLastAt(EXPIRED);
+		return rollupRepo.save(rollup);
+	}
+
+	private void saveActivity(Task task, User user, ActivityLog.ActionType actionType) {
+		ActivityLog activity = new ActivityLog();
+		activity.setTask(task);
+		activity.setUser(user);
+		activity.setActionType(actionType);
+		activity.setCreatedAt(EXPIRED);
+		activityLogRepo.save(activity);
+	}
+}
@@ -0,0 +1,45 @@
+package com.taskmanagement.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.taskmanagement.repository.JobLockRepo;
+
+// Each JobLocks instance stands in for one application node
+@SpringBootTest
+class JobLocksTest {
+
+	@Autowired
+	private JobLockRepo jobLockRepo;
+
+	@Test
+	void onlyOneNodeHoldsTheLockUntilReleased() {
+		JobLocks first = new JobLocks(jobLockRepo);
+		JobLocks second = new JobLocks(jobLockRepo);
+
+		assertThat(first.tryAcquire("exclusive", Duration.ofMinutes(10))).isTrue();
+		assertThat(second.tryAcquire("exclusive", Duration.ofMinutes(10))).isFalse();
+		// The holder renews its own lease
+		assertThat(first.tryAcquire("exclusive", Duration.ofMinutes(10))).isTrue();
+
+		first.release("exclusive");
+
+		assertThat(second.tryAcquire("exclusive", Duration.ofMinutes(10))).isTrue();
+		assertThat(first.tryAcquire("exclusive", Duration.ofMinutes(10))).isFalse();
+	}
+
+	@Test
+	void expiredLeaseIsTakenOver() {
+		JobLocks crashed = new JobLocks(jobLockRepo);
+		JobLocks other = new JobLocks(jobLockRepo);
+
+		assertThat(crashed.tryAcquire("expiring", Duration.ZERO)).isTrue();
+
+		assertThat(other.tryAcquire("expiring", Duration.ofMinutes(10))).isTrue();
+	}
+}
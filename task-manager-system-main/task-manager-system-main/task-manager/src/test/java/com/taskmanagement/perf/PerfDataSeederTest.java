@@ -0,0 +1,76 @@
+package com.taskmanagement.perf;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.taskmanagement.entity.Category;
+import com.taskmanagement.entity.User;
+import com.taskmanagement.repository.CategoryRepo;
+import com.taskmanagement.repository.UserRepo;
+
+// The seeder runs as an ApplicationRunner while the context starts; the tests share its data and commit
+// what they insert
+@DataJpaTest(properties = {
+		"perf.seed.users=20", "perf.seed.categories=4", "perf.seed.tags=10", "perf.seed.tasks=200",
+		"perf.seed.comments-per-task=3", "perf.seed.activities-per-task=5", "perf.seed.batch-size=64",
+		"auth.password.bcrypt-strength=4"})
+@Import(PerfDataSeeder.class)
+@ActiveProfiles("perf")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PerfDataSeederTest {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private UserRepo userRepo;
+
+	@Autowired
+	private CategoryRepo categoryRepo;
+
+	@Test
+	void seedsConfiguredVolumesWithSkewAndConsistentDates() {
+		assertThat(count("SELECT COUNT(*) FROM users WHERE email LIKE '%@perf.local'")).isEqualTo(20);
+		assertThat(count("SELECT COUNT(*) FROM categories WHERE name LIKE 'Category %'")).isEqualTo(4);
+		assertThat(count("SELECT COUNT(*) FROM tasks")).isEqualTo(200);
+		assertThat(count("SELECT COUNT(*) FROM comments")).isEqualTo(600);
+		assertThat(count("SELECT COUNT(*) FROM activity_log")).isEqualTo(1000);
+		assertThat(count("SELECT COUNT(*) FROM activity_log WHERE action_type = 'CREATED'")).isEqualTo(200);
+
+		// Uniform would give each user 10 tasks
+		assertThat(count("SELECT MAX(n) FROM (SELECT COUNT(*) n FROM tasks GROUP BY created_by) t"))
+				.isGreaterThan(30);
+		assertThat(count("""
+				SELECT COUNT(*) FROM comments c JOIN tasks t ON t.task_id = c.task_id
+				WHERE c.created_at < t.created_at""")).isZero();
+		assertThat(count("""
+				SELECT COUNT(*) FROM comments r JOIN comments p ON p.comment_id = r.parent_comment_id
+				WHERE p.task_id <> r.task_id OR p.parent_comment_id IS NOT NULL""")).isZero();
+	}
+
+	@Test
+	void applicationInsertsDoNotCollideWithSeededIds() {
+		User user = new User();
+		user.setUsername("after-seed");
+		user.setEmail("after-seed@example.com");
+		user.setPasswordHash("x");
+		user.setFullName("After Seed");
+		assertThat(userRepo.save(user).getUserId()).isGreaterThan(20);
+
+		Category category = new Category();
+		category.setName("After seed");
+		assertThat(categoryRepo.save(category).getCategoryId()).isGreaterThan(4);
+	}
+
+	private int count(String sql) {
+		return jdbcTemplate.queryForObject(sql, Integer.class);
+	}
+}
@@ -0,0 +1,121 @@
+package com.taskmanagement.preview;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.taskmanagement.storage.AttachmentStorage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ThumbnailGeneratorTest {
+
+	@TempDir
+	Path dir;
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private ThumbnailGenerator generator;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		// Two attempts, 10 ms apart
+		generator = new ThumbnailGenerator(new AttachmentStorage(dir), meterRegistry,
+				1, 10, 64, 256, 100_000_000, 0.85f, 2, Duration.ofMillis(10));
+	}
+
+	@AfterEach
+	void tearDown() {
+		generator.shutdown();
+	}
+
+	@Test
+	void writesThumbnailAndPreview() throws IOException {
+		Path source = image("photo", 800, 600);
+
+		assertThat(generator.find(source, ThumbnailVariant.THUMBNAIL)).isEmpty();
+		assertThat(generator.request(source)).isTrue();
+
+		// Counted once both files are written
+		await(() -> meterRegistry.counter("thumbnails.generated").count() == 1);
+		BufferedImage thumbnail = ImageIO.read(generator.find(source, ThumbnailVariant.THUMBNAIL).orElseThrow().toFile());
+		BufferedImage preview = ImageIO.read(generator.find(source, ThumbnailVariant.PREVIEW).orElseThrow().toFile());
+		assertThat(thumbnail.getWidth()).isEqualTo(64);
+		assertThat(thumbnail.getHeight()).isEqualTo(48);
+		assertThat(preview.getWidth()).isEqualTo(256);
+		assertThat(generator.hasFailed(source)).isFalse();
+	}
+
+	@Test
+	void marksUndecodableImageFailedWithoutRetrying() throws IOException {
+		Path source = Files.write(dir.resolve("broken"), new byte[]{(byte) 0x89, 'P', 'N', 'G', 0, 1, 2, 3});
+
+		generator.request(source);
+
+		await(() -> generator.hasFailed(source));
+		assertThat(generator.find(source, ThumbnailVariant.THUMBNAIL)).isEmpty();
+		assertThat(meterRegistry.counter("thumbnails.failed").count()).isEqualTo(1);
+		assertThat(meterRegistry.counter("thumbnails.retried").count()).isZero();
+	}
+
+	@Test
+	void retriesTransientFailuresThenGivesUp() throws IOException {
+		Path source = image("unwritable", 100, 100);
+		// Writing the preview fails every time
+		Files.createDirectory(dir.resolve("unwritable.preview.jpg"));
+
+		generator.request(source);
+
+		await(() -> generator.hasFailed(source) && meterRegistry.get("thumbnails.in-flight").gauge().value() == 0);
+		assertThat(meterRegistry.counter("thumbnails.retried").count()).isEqualTo(1);
+		assertThat(meterRegistry.counter("thumbnails.failed").count()).isEqualTo(1);
+	}
+
+	@Test
+	void supportsOnlyDecodableImageTypes() {
+		assertThat(generator.supports("image/png")).isTrue();
+		assertThat(generator.supports("IMAGE/JPEG; charset=binary")).isTrue();
+		assertThat(generator.supports("image/x-unknown")).isFalse();
+		assertThat(generator.supports("application/pdf")).isFalse();
+		assertThat(generator.supports(null)).isFalse();
+	}
+
+	private Path image(String name, int width, int height) throws IOException {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = image.createGraphics();
+		graphics.setColor(Color.ORANGE);
+		graphics.fillRect(0, 0, width / 2, height);
+		graphics.dispose();
+		Path file = dir.resolve(name);
+		ImageIO.write(image, "png", file.toFile());
+		return file;
+	}
+
+	private static void await(BooleanSupplier condition) {
+		long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+		while (!condition.getAsBoolean()) {
+			assertThat(System.nanoTime()).as("condition within 10 s").isLessThan(deadline);
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new AssertionError(e);
+			}
+		}
+	}
+}
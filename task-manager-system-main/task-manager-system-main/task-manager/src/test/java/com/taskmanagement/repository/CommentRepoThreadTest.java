@@ -0,0 +1,122 @@
+package com.taskmanagement.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import com.taskmanagement.entity.Comment;
+import com.taskmanagement.entity.Task;
+import com.taskmanagement.entity.User;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class CommentRepoThreadTest {
+
+	@Autowired
+	private CommentRepo commentRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManager.getEntityManager().getEntityManagerFactory()
+				.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void threadPageUsesFixedNumberOfStatements() {
+		Task task = seed(30, 12);
+
+		statistics.clear();
+		List<CommentRepo.CommentRow> threads = commentRepository.findTopLevelPage(task.getTaskId(), null, null,
+				PageRequest.of(0, 20));
+		List<Integer> threadIds = threads.stream().map(CommentRepo.CommentRow::getCommentId).toList();
+		List<CommentRepo.ReplyRow> replies = commentRepository.findFirstReplies(task.getTaskId(), threadIds, 3);
+
+		assertThat(threads).hasSize(20);
+		assertThat(replies).hasSize(60);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+	}
+
+	@Test
+	void firstRepliesAreOldestFirstWithTotalCount() {
+		Task task = seed(2, 5);
+		List<CommentRepo.CommentRow> threads = commentRepository.findTopLevelPage(task.getTaskId(), null, null,
+				PageRequest.of(0, 10));
+		List<Integer> threadIds = threads.stream().map(CommentRepo.CommentRow::getCommentId).toList();
+
+		Map<Integer, List<CommentRepo.ReplyRow>> byThread = commentRepository
+				.findFirstReplies(task.getTaskId(), threadIds, 2).stream()
+				.collect(Collectors.groupingBy(CommentRepo.ReplyRow::getParentCommentId));
+
+		assertThat(byThread).hasSize(2);
+		for (List<CommentRepo.ReplyRow> replies : byThread.values()) {
+			assertThat(replies).extracting(CommentRepo.ReplyRow::getText).containsExactly("reply 0", "reply 1");
+			assertThat(replies).allSatisfy(reply -> assertThat(reply.getReplyCount()).isEqualTo(5L));
+		}
+
+		// The continuation page starts after the last reply returned with the thread
+		CommentRepo.ReplyRow last = byThread.get(threadIds.get(0)).get(1);
+		List<CommentRepo.CommentRow> rest = commentRepository.findRepliesPage(task.getTaskId(), threadIds.get(0),
+				last.getCreatedAt(), last.getCommentId(), PageRequest.of(0, 10));
+		assertThat(rest).extracting(CommentRepo.CommentRow::getText).containsExactly("reply 2", "reply 3", "reply 4");
+	}
+
+	private Task seed(int threadCount, int repliesPerThread) {
+		User user = new User();
+		user.setUsername("commenter");
+		user.setEmail("commenter@example.com");
+		user.setPasswordHash("hash");
+		user.setFullName("Commenter");
+		entityManager.persist(user);
+
+		Task task = new Task();
+		task.setTitle("Discussed task");
+		task.setDueDate(LocalDate.now());
+		task.setCreatedBy(user);
+		entityManager.persist(task);
+
+		List<Comment> threads = new ArrayList<>();
+		for (int i = 0; i < threadCount; i++) {
+			threads.add(comment(task, user, null, "thread " + i));
+		}
+		entityManager.flush();
+		for (Comment thread : threads) {
+			for (int j = 0; j < repliesPerThread; j++) {
+				comment(task, user, thread.getCommentId(), "reply " + j);
+			}
+		}
+		entityManager.flush();
+
+		// created_at is set on insert; spread the rows out so the ordering is deterministic
+		entityManager.getEntityManager()
+				.createNativeQuery("UPDATE comments SET created_at = DATEADD('SECOND', comment_id, CURRENT_TIMESTAMP)")
+				.executeUpdate();
+		entityManager.clear();
+		return task;
+	}
+
+	private Comment comment(Task task, User user, Integer parentCommentId, String text) {
+		Comment comment = new Comment();
+		comment.setTask(task);
+		comment.setUser(user);
+		comment.setParentCommentId(parentCommentId);
+		comment.setText(text);
+		return entityManager.persist(comment);
+	}
+}
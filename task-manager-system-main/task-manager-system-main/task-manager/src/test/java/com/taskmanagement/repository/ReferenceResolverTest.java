@@ -0,0 +1,117 @@
+package com.taskmanagement.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.taskmanagement.config.CacheConfig;
+import com.taskmanagement.entity.Category;
+import com.taskmanagement.entity.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+// Each step runs in its own transaction, like separate requests: second-level cache entries
+// only become visible to transactions that start after they were written
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ReferenceResolver.class, CacheConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReferenceResolverTest {
+
+	@Autowired
+	private ReferenceResolver resolver;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private TransactionTemplate transactionTemplate;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void resolvesManyIdsWithOneStatementPerTypeThenFromCache() {
+		List<Integer> knownIds = seedUsers("many", 20);
+		List<Integer> userIds = new ArrayList<>(knownIds);
+		userIds.add(null);
+		userIds.add(-1);
+		Integer categoryId = transactionTemplate.execute(status -> {
+			Category category = new Category();
+			category.setName("Backend");
+			entityManager.persist(category);
+			return category.getCategoryId();
+		});
+		entityManagerFactory.getCache().evictAll();
+
+		statistics.clear();
+		transactionTemplate.executeWithoutResult(status -> {
+			Map<Integer, User> users = resolver.users(userIds);
+			Map<Integer, Category> categories = resolver.categories(Arrays.asList(categoryId, null));
+
+			assertThat(users).hasSize(20).doesNotContainKey(-1);
+			assertThat(categories).containsOnlyKeys(categoryId);
+		});
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+		// The next transaction finds them in the second-level cache; unknown ids are never cached
+		statistics.clear();
+		transactionTemplate.executeWithoutResult(status -> {
+			assertThat(resolver.users(knownIds)).hasSize(20);
+			assertThat(resolver.categories(List.of(categoryId))).hasSize(1);
+		});
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+	}
+
+	@Test
+	void updatesAreNotHiddenByTheCache() {
+		Integer userId = seedUsers("update", 1).get(0);
+		transactionTemplate.executeWithoutResult(status -> resolver.user(userId).orElseThrow());
+
+		transactionTemplate.executeWithoutResult(status -> resolver.user(userId).orElseThrow().setFullName("Renamed"));
+
+		transactionTemplate.executeWithoutResult(status ->
+				assertThat(resolver.user(userId).orElseThrow().getFullName()).isEqualTo("Renamed"));
+	}
+
+	private List<Integer> seedUsers(String prefix, int count) {
+		return transactionTemplate.execute(status -> {
+			List<Integer> ids = new ArrayList<>();
+			for (int i = 0; i < count; i++) {
+				User user = new User();
+				user.setUsername(prefix + i);
+				user.setEmail(prefix + i + "@example.com");
+				user.setPasswordHash("x");
+				user.setFullName("User " + i);
+				entityManager.persist(user);
+				ids.add(user.getUserId());
+			}
+			return ids;
+		});
+	}
+}
@@ -0,0 +1,151 @@
+package com.taskmanagement.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import com.taskmanagement.entity.Category;
+import com.taskmanagement.entity.Tag;
+import com.taskmanagement.entity.Task;
+import com.taskmanagement.entity.TaskAssignment;
+import com.taskmanagement.entity.User;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TaskRepoQueryCountTest {
+
+	@Autowired
+	private TaskRepo taskRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	private Statistics statistics;
+
+	private int seedRuns;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManager.getEntityManager().getEntityManagerFactory()
+				.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void boardReadPathUsesFixedNumberOfStatements() {
+		seed(5);
+		assertThat(statementsToLoadBoard()).isEqualTo(3);
+
+		seed(60);
+		assertThat(statementsToLoadBoard()).isEqualTo(3);
+	}
+
+	@Test
+	void boardDetailsAreFetchedInChunks() {
+		seed(TaskRepo.BOARD_DETAILS_CHUNK + 10);
+
+		// One list query, then assignments and tags for each of the two chunks
+		assertThat(statementsToLoadBoard()).isEqualTo(5);
+	}
+
+	@Test
+	void keysetPageUsesFixedNumberOfStatements() {
+		seed(40);
+
+		statistics.clear();
+		List<Task> page = taskRepository.findActivePage(null, null, null, null, null, null, null, null,
+				PageRequest.of(0, 25));
+		taskRepository.fetchBoardDetails(page);
+		touch(page);
+
+		assertThat(page).hasSize(25);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+	}
+
+	@Test
+	void taskDetailsLoadInSingleStatement() {
+		Integer taskId = seed(1).get(0).getTaskId();
+
+		statistics.clear();
+		Task task = taskRepository.findWithDetailsById(taskId).orElseThrow();
+		touch(List.of(task));
+
+		assertThat(task.getTaskAssignments()).hasSize(3);
+		assertThat(task.getTags()).hasSize(2);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	private long statementsToLoadBoard() {
+		statistics.clear();
+		List<Task> tasks = taskRepository.fetchBoardDetails(taskRepository.findActive());
+		touch(tasks);
+		return statistics.getPrepareStatementCount();
+	}
+
+	// Reads everything TaskServiceImpl's DTO conversion reads
+	private void touch(List<Task> tasks) {
+		for (Task task : tasks) {
+			if (task.getCategory() != null) {
+				task.getCategory().getName();
+			}
+			task.getCreatedBy().getUsername();
+			task.getTaskAssignments().forEach(assignment -> assignment.getUser().getFullName());
+			task.getTags().forEach(Tag::getName);
+		}
+	}
+
+	private List<Task> seed(int taskCount) {
+		int run = ++seedRuns;
+		Category category = new Category();
+		category.setName("category-" + run);
+		entityManager.persist(category);
+
+		List<User> users = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			User user = new User();
+			user.setUsername("user-" + run + "-" + i);
+			user.setEmail("user-" + run + "-" + i + "@example.com");
+			user.setPasswordHash("hash");
+			user.setFullName("User " + i);
+			users.add(entityManager.persist(user));
+		}
+
+		List<Tag> tags = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			Tag tag = new Tag();
+			tag.setName("tag-" + run + "-" + i);
+			tags.add(entityManager.persist(tag));
+		}
+
+		List<Task> tasks = new ArrayList<>();
+		for (int i = 0; i < taskCount; i++) {
+			Task task = new Task();
+			task.setTitle("Task " + i);
+			task.setDueDate(LocalDate.now().plusDays(i));
+			task.setCategory(category);
+			task.setCreatedBy(users.get(0));
+			task.getTags().add(tags.get(i % 3));
+			task.getTags().add(tags.get((i + 1) % 3));
+			tasks.add(entityManager.persist(task));
+			for (int j = 0; j < 3; j++) {
+				TaskAssignment assignment = new TaskAssignment();
+				assignment.setTask(task);
+				assignment.setUser(users.get((i + j) % users.size()));
+				entityManager.persist(assignment);
+			}
+		}
+
+		entityManager.flush();
+		entityManager.clear();
+		return tasks;
+	}
+}
@@ -0,0 +1,107 @@
+package com.taskmanagement.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class SearchIndexTest {
+
+	private final SearchIndex index = new SearchIndex();
+
+	@Test
+	void matchesIgnoringCaseAndDiacritics() {
+		index.indexTask(1, "Cập nhật giao diện đăng nhập", null, List.of());
+		index.indexTask(2, "Write release notes", null, List.of());
+
+		assertThat(ids(index.search("cap nhat dang nhap", null, 0, 10))).containsExactly(1);
+		assertThat(ids(index.search("ĐĂNG", null, 0, 10))).containsExactly(1);
+	}
+
+	@Test
+	void titleMatchesRankAboveDescriptionMatches() {
+		index.indexTask(1, "Quarterly report", "Collect numbers for the budget", List.of());
+		index.indexTask(2, "Budget review", "Go through the quarterly report", List.of());
+		index.indexComment(10, 1, "The budget spreadsheet is attached");
+
+		SearchIndex.Result result = index.search("budget", null, 0, 10);
+
+		assertThat(result.total()).isEqualTo(3);
+		assertThat(result.hits().get(0).id()).isEqualTo(2);
+		assertThat(ids(index.search("budget", SearchIndex.DocType.COMMENT, 0, 10))).containsExactly(10);
+	}
+
+	@Test
+	void reindexReplacesOldTermsAndDeleteHidesComments() {
+		index.indexTask(1, "Fix login bug", null, List.of("backend"));
+		index.indexComment(10, 1, "Login fails on Safari");
+
+		index.indexTask(1, "Fix signup bug", null, List.of());
+		assertThat(ids(index.search("backend", null, 0, 10))).isEmpty();
+		assertThat(ids(index.search("signup", null, 0, 10))).containsExactly(1);
+
+		index.removeTask(1);
+		assertThat(index.search("login signup", null, 0, 10).total()).isZero();
+
+		index.indexTask(1, "Fix signup bug", null, List.of());
+		assertThat(ids(index.search("login", null, 0, 10))).containsExactly(10);
+	}
+
+	@Test
+	void pagesThroughRankedHits() {
+		for (int i = 1; i <= 25; i++) {
+			index.indexTask(i, "Task " + i, "deploy ".repeat(i), List.of());
+		}
+
+		List<Integer> first = ids(index.search("deploy", null, 0, 10));
+		List<Integer> third = ids(index.search("deploy", null, 20, 10));
+
+		assertThat(first).hasSize(10).first().isEqualTo(25);
+		assertThat(third).hasSize(5).last().isEqualTo(1);
+	}
+
+	@Test
+	void purgeRenumbersLiveDocuments() {
+		index.indexTask(1, "Rotate certificates", null, List.of("ops"));
+		index.indexComment(10, 1, "Certificates expire in May");
+		for (int i = 0; i < 25_000; i++) {
+			index.indexTask(2, "Draft " + i, "rewrite", List.of());
+		}
+
+		assertThat(index.documentCount()).isLessThan(15_000);
+		assertThat(ids(index.search("certificates", null, 0, 10))).containsExactly(1, 10);
+		assertThat(ids(index.search("rewrite", null, 0, 10))).containsExactly(2);
+		assertThat(ids(index.search("draft 24999", null, 0, 10))).containsExactly(2);
+
+		index.removeComment(10);
+		assertThat(ids(index.search("expire", null, 0, 10))).isEmpty();
+	}
+
+	@Test
+	void deadPostingsDoNotLowerIdf() {
+		SearchIndex fresh = new SearchIndex();
+		fresh.indexTask(1, "Migrate database", null, List.of());
+		fresh.indexTask(2, "Update docs", null, List.of());
+		for (int i = 0; i < 50; i++) {
+			index.indexTask(1, "Migrate database", null, List.of());
+		}
+		index.indexTask(2, "Update docs", null, List.of());
+
+		assertThat(index.search("migrate", null, 0, 10).hits().get(0).score())
+				.isEqualTo(fresh.search("migrate", null, 0, 10).hits().get(0).score());
+	}
+
+	@Test
+	void highlightsMatchesInEscapedText() {
+		Set<String> terms = Set.copyOf(Tokenizer.tokens("dang nhap"));
+
+		assertThat(Highlighter.highlight("<b>Đăng nhập</b> lỗi", terms))
+				.isEqualTo("&lt;b&gt;<mark>Đăng</mark> <mark>nhập</mark>&lt;/b&gt; lỗi");
+	}
+
+	private static List<Integer> ids(SearchIndex.Result result) {
+		return result.hits().stream().map(SearchIndex.Hit::id).toList();
+	}
+}
@@ -0,0 +1,35 @@
+package com.taskmanagement.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LoginThrottleTest {
+
+	private final LoginThrottle throttle = new LoginThrottle(new SimpleMeterRegistry(),
+			3, Duration.ofMinutes(1), 2, Duration.ofMinutes(1), 1000);
+
+	@Test
+	void limitsAttemptsPerUsernameAcrossAddresses() {
+		assertThat(throttle.tryAcquire("10.0.0.1", "An")).isZero();
+		assertThat(throttle.tryAcquire("10.0.0.2", "an ")).isZero();
+
+		// One token refills every 30 seconds
+		assertThat(throttle.tryAcquire("10.0.0.3", "an")).isBetween(1L, 30L);
+		assertThat(throttle.tryAcquire("10.0.0.3", "binh")).isZero();
+	}
+
+	@Test
+	void limitsAttemptsPerAddressAcrossUsernames() {
+		assertThat(throttle.tryAcquire("10.0.0.1", "a")).isZero();
+		assertThat(throttle.tryAcquire("10.0.0.1", "b")).isZero();
+		assertThat(throttle.tryAcquire("10.0.0.1", "c")).isZero();
+
+		assertThat(throttle.tryAcquire("10.0.0.1", "d")).isBetween(1L, 20L);
+		assertThat(throttle.tryAcquire("10.0.0.2", "d")).isZero();
+	}
+}
@@ -0,0 +1,73 @@
+package com.taskmanagement.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanagement.entity.User;
+
+class TokenServiceTest {
+
+	private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+	private final TokenRevocations revocations = new TokenRevocations(Duration.ofDays(1), 1000);
+	private final TokenService tokens = tokenService(SECRET, Duration.ofMinutes(5));
+
+	@Test
+	void verifiesAccessTokenInMemory() {
+		TokenPair pair = tokens.issue(user());
+
+		TokenClaims claims = tokens.verify(pair.getAccessToken(), TokenClaims.TokenType.ACCESS).orElseThrow();
+
+		assertThat(claims.getUserId()).isEqualTo(7);
+		assertThat(claims.getUsername()).isEqualTo("an");
+		assertThat(claims.getRole()).isEqualTo("GROUP_LEADER");
+		// Refresh tokens can't be used as access tokens and vice versa
+		assertThat(tokens.verify(pair.getRefreshToken(), TokenClaims.TokenType.ACCESS)).isEmpty();
+		assertThat(tokens.verify(pair.getAccessToken(), TokenClaims.TokenType.REFRESH)).isEmpty();
+	}
+
+	@Test
+	void rejectsTamperedForeignAndExpiredTokens() {
+		String token = tokens.issue(user()).getAccessToken();
+		int payloadStart = token.indexOf('.') + 1;
+		String tampered = token.substring(0, payloadStart) + (token.charAt(payloadStart) == 'e' ? 'f' : 'e')
+				+ token.substring(payloadStart + 1);
+
+		assertThat(tokens.verify(tampered, TokenClaims.TokenType.ACCESS)).isEmpty();
+		assertThat(tokens.verify("v1.e30", TokenClaims.TokenType.ACCESS)).isEmpty();
+		assertThat(tokenService("fedcba9876543210fedcba9876543210", Duration.ofMinutes(5))
+				.verify(token, TokenClaims.TokenType.ACCESS)).isEmpty();
+		assertThat(tokenService(SECRET, Duration.ofMinutes(-1)).issue(user()).getAccessToken())
+				.satisfies(expired -> assertThat(tokens.verify(expired, TokenClaims.TokenType.ACCESS)).isEmpty());
+	}
+
+	@Test
+	void revokesSingleTokensAndEverythingIssuedToAUser() {
+		TokenPair first = tokens.issue(user());
+		TokenPair second = tokens.issue(user());
+
+		revocations.revoke(tokens.decode(first.getAccessToken()).orElseThrow());
+		assertThat(tokens.verify(first.getAccessToken(), TokenClaims.TokenType.ACCESS)).isEmpty();
+		assertThat(tokens.verify(second.getAccessToken(), TokenClaims.TokenType.ACCESS)).isPresent();
+
+		revocations.revokeUser(7);
+		assertThat(tokens.verify(second.getAccessToken(), TokenClaims.TokenType.ACCESS)).isEmpty();
+		assertThat(tokens.verify(second.getRefreshToken(), TokenClaims.TokenType.REFRESH)).isEmpty();
+	}
+
+	private TokenService tokenService(String secret, Duration accessTtl) {
+		return new TokenService(new ObjectMapper(), revocations, secret, accessTtl, Duration.ofDays(1), Duration.ZERO);
+	}
+
+	private static User user() {
+		User user = new User();
+		user.setUserId(7);
+		user.setUsername("an");
+		user.setRole(User.UserRole.GROUP_LEADER);
+		return user;
+	}
+}
@@ -0,0 +1,145 @@
+package com.taskmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.taskmanagement.archive.ActivityArchive;
+import com.taskmanagement.archive.ArchivedActivity;
+import com.taskmanagement.dto.response.ActivityLogDTO;
+import com.taskmanagement.dto.response.CursorPage;
+import com.taskmanagement.entity.ActivityDailyRollup;
+import com.taskmanagement.entity.ActivityLog;
+import com.taskmanagement.entity.Task;
+import com.taskmanagement.entity.User;
+import com.taskmanagement.repository.ActivityLogRepo;
+import com.taskmanagement.repository.ActivityRollupRepo;
+import com.taskmanagement.repository.TaskRepo;
+import com.taskmanagement.repository.UserRepo;
+
+@SpringBootTest
+class ActivityHistoryTest {
+
+	@TempDir
+	static Path archiveDir;
+
+	@DynamicPropertySource
+	static void archiveProperties(DynamicPropertyRegistry registry) {
+		registry.add("archive.dir", archiveDir::toString);
+	}
+
+	private static final LocalDate ARCHIVED_DAY = LocalDate.now().minusDays(120);
+	private static final LocalDate ROLLED_UP_DAY = LocalDate.now().minusDays(400);
+
+	@Autowired
+	private ActivityLogService activityLogService;
+
+	@Autowired
+	private ActivityArchive activityArchive;
+
+	@Autowired
+	private ActivityLogRepo activityLogRepo;
+
+	@Autowired
+	private ActivityRollupRepo rollupRepo;
+
+	@Autowired
+	private TaskRepo taskRepo;
+
+	@Autowired
+	private UserRepo userRepo;
+
+	@Test
+	void pagesThroughRecentArchivedAndRolledUpActivity() throws IOException {
+		User user = saveUser();
+		Task task = saveTask(user);
+		List<Integer> recentIds = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			recentIds.add(saveActivity(task, user, LocalDateTime.now().minusHours(i)));
+		}
+		List<ArchivedActivity> archived = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			archived.add(archived(task, user, 900_000 + i, ARCHIVED_DAY.atTime(9 + i, 0)));
+		}
+		// Also still in activity_log: the batch's delete rolled back after it was archived
+		archived.add(archived(task, user, recentIds.get(0), activityLogRepo.findById(recentIds.get(0)).orElseThrow().getCreatedAt()));
+		activityArchive.append(archived);
+		// Same day as the archived rows, so already listed one by one
+		saveRollup(task, user, ARCHIVED_DAY, 3);
+		saveRollup(task, user, ROLLED_UP_DAY, 5);
+
+		List<ActivityLogDTO> history = new ArrayList<>();
+		String cursor = null;
+		do {
+			CursorPage<ActivityLogDTO> page = activityLogService.getActivitiesByTaskId(task.getTaskId(), cursor, 2);
+			assertThat(page.getItems()).hasSizeLessThanOrEqualTo(2);
+			history.addAll(page.getItems());
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+
+		assertThat(history).hasSize(7);
+		assertThat(history.subList(0, 6)).extracting(ActivityLogDTO::getActivityId)
+				.containsExactly(recentIds.get(0), recentIds.get(1), recentIds.get(2), 900_002, 900_001, 900_000);
+		assertThat(history.get(6).getCount()).isEqualTo(5);
+	}
+
+	private User saveUser() {
+		User user = new User();
+		user.setUsername("history-reader");
+		user.setEmail("history-reader@example.com");
+		user.setPasswordHash("x");
+		user.setFullName("History Reader");
+		return userRepo.save(user);
+	}
+
+	private Task saveTask(User creator) {
+		Task task = new Task();
+		task.setTitle("Long history");
+		task.setDueDate(LocalDate.now());
+		task.setCreatedBy(creator);
+		return taskRepo.save(task);
+	}
+
+	private Integer saveActivity(Task task, User user, LocalDateTime createdAt) {
+		ActivityLog activity = new ActivityLog();
+		activity.setTask(task);
+		activity.setUser(user);
+		activity.setActionType(ActivityLog.ActionType.UPDATED);
+		activity.setCreatedAt(createdAt);
+		return activityLogRepo.save(activity).getActivityId();
+	}
+
+	private static ArchivedActivity archived(Task task, User user, int activityId, LocalDateTime createdAt) {
+		return ArchivedActivity.builder()
+				.activityId(activityId)
+				.taskId(task.getTaskId())
+				.userId(user.getUserId())
+				.actionType(ActivityLog.ActionType.UPDATED)
+				.createdAt(createdAt)
+				.build();
+	}
+
+	private void saveRollup(Task task, User user, LocalDate day, int count) {
+		ActivityDailyRollup rollup = new ActivityDailyRollup();
+		rollup.setActivityDate(day);
+		rollup.setTask(task);
+		rollup.setUser(user);
+		rollup.setActionType(ActivityLog.ActionType.UPDATED);
+		rollup.setActivityCount(count);
+		rollup.setFirstAt(day.atTime(9, 0));
+		rollup.setLastAt(day.atTime(18, 0));
+		rollupRepo.save(rollup);
+	}
+}
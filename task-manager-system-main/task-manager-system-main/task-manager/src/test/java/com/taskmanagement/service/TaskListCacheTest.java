@@ -0,0 +1,68 @@
+package com.taskmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.taskmanagement.dto.request.CreateTaskRequest;
+import com.taskmanagement.entity.User;
+import com.taskmanagement.event.DataChangedEvent;
+import com.taskmanagement.event.DataVersions;
+import com.taskmanagement.repository.UserRepo;
+
+@SpringBootTest
+class TaskListCacheTest {
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private DataVersions dataVersions;
+
+	@Autowired
+	private UserRepo userRepo;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// A stale entry that outlives the eviction (put by a reader that loaded before the commit) must not be
+	// served once the data version has moved on
+	@Test
+	void versionBumpAloneHidesEntriesBuiltUnderOlderVersion() {
+		Integer userId = newUser();
+		Integer taskId = taskService.createTask(newTask(userId)).getTaskId();
+
+		assertThat(taskService.getTaskStats(userId, null, null).getByStatus().get("DONE")).isZero();
+
+		// Another writer commits without evicting this node's cache
+		jdbcTemplate.update("UPDATE tasks SET status = 'DONE' WHERE task_id = ?", taskId);
+		assertThat(taskService.getTaskStats(userId, null, null).getByStatus().get("DONE")).isZero();
+
+		dataVersions.onDataChanged(DataChangedEvent.taskChanged(DataChangedEvent.ChangeType.UPDATED, taskId));
+		assertThat(taskService.getTaskStats(userId, null, null).getByStatus().get("DONE")).isEqualTo(1L);
+	}
+
+	private Integer newUser() {
+		User user = new User();
+		user.setUsername("cache-version");
+		user.setEmail("cache-version@example.com");
+		user.setPasswordHash("x");
+		user.setFullName("Cache Version");
+		return userRepo.save(user).getUserId();
+	}
+
+	private static CreateTaskRequest newTask(Integer userId) {
+		CreateTaskRequest request = new CreateTaskRequest();
+		request.setTitle("Versioned cache");
+		request.setDueDate(LocalDate.now().plusDays(3));
+		request.setCreatedById(userId);
+		request.setAssigneeIds(List.of(userId));
+		return request;
+	}
+}
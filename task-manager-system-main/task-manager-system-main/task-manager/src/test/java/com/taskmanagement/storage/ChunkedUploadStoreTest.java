@@ -0,0 +1,191 @@
+package com.taskmanagement.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+class ChunkedUploadStoreTest {
+
+	private static final int SIZE = 1000;
+
+	@TempDir
+	Path root;
+
+	private ChunkedUploadStore store;
+
+	private byte[] content;
+
+	@BeforeEach
+	void setUp() {
+		// A small buffer, so chunks take several reads
+		store = new ChunkedUploadStore(new ObjectMapper().registerModule(new JavaTimeModule()), root, 64);
+		content = new byte[SIZE];
+		for (int i = 0; i < SIZE; i++) {
+			content[i] = (byte) (i * 31);
+		}
+	}
+
+	@Test
+	void storesChunksUnderTheirContentHash() throws Exception {
+		UploadSession session = store.create(session());
+
+		assertThat(store.append(session, 0, chunk(0, 400), 400)).isEqualTo(400);
+		assertThat(store.append(session, 400, chunk(400, SIZE), SIZE - 400)).isEqualTo(SIZE);
+		StoredBlob blob = store.complete(session);
+
+		assertThat(blob.getSha256()).isEqualTo(sha256(content));
+		assertThat(Files.readAllBytes(root.resolve(blob.getFilePath()))).isEqualTo(content);
+		assertThat(store.find(session.getUploadId())).isEmpty();
+	}
+
+	@Test
+	void rejectsChunkNotStartingAtTheCurrentOffset() throws Exception {
+		UploadSession session = store.create(session());
+		store.append(session, 0, chunk(0, 400), 400);
+
+		// Both a gap and a chunk sent again after it was already stored
+		for (long offset : new long[]{500, 0}) {
+			assertThatThrownBy(() -> store.append(session, offset, chunk(0, 100), 100))
+					.isInstanceOfSatisfying(UploadConflictException.class,
+							conflict -> assertThat(conflict.getOffset()).isEqualTo(400));
+		}
+		assertThat(store.offset(session.getUploadId())).isEqualTo(400);
+	}
+
+	@Test
+	void rejectsChunkPastTheDeclaredSize() throws Exception {
+		UploadSession session = store.create(session());
+
+		assertThatThrownBy(() -> store.append(session, 0, chunk(0, SIZE), SIZE + 1))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThat(store.offset(session.getUploadId())).isZero();
+	}
+
+	@Test
+	void resumesFromWhereADroppedChunkStopped() throws Exception {
+		UploadSession session = store.create(session());
+
+		// The client announced 600 bytes but the connection dropped after 250
+		assertThat(store.append(session, 0, chunk(0, 250), 600)).isEqualTo(250);
+		assertThat(store.offset(session.getUploadId())).isEqualTo(250);
+
+		assertThat(store.append(session, 250, chunk(250, SIZE), SIZE - 250)).isEqualTo(SIZE);
+		assertThat(store.complete(session).getSha256()).isEqualTo(sha256(content));
+	}
+
+	@Test
+	void rebuildsTheDigestAfterARestart() throws Exception {
+		UploadSession session = store.create(session());
+		store.append(session, 0, chunk(0, 400), 400);
+
+		ChunkedUploadStore restarted = new ChunkedUploadStore(new ObjectMapper().registerModule(new JavaTimeModule()), root, 64);
+		UploadSession reloaded = restarted.find(session.getUploadId()).orElseThrow();
+		assertThat(restarted.offset(reloaded.getUploadId())).isEqualTo(400);
+		restarted.append(reloaded, 400, chunk(400, SIZE), SIZE - 400);
+
+		assertThat(restarted.complete(reloaded).getSha256()).isEqualTo(sha256(content));
+	}
+
+	@Test
+	void refusesToCompleteAnIncompleteUpload() throws Exception {
+		UploadSession session = store.create(session());
+		store.append(session, 0, chunk(0, 400), 400);
+
+		assertThatThrownBy(() -> store.complete(session))
+				.isInstanceOfSatisfying(UploadConflictException.class,
+						conflict -> assertThat(conflict.getOffset()).isEqualTo(400));
+	}
+
+	@Test
+	void storesIdenticalContentOnce() throws Exception {
+		UploadSession first = store.create(session());
+		store.append(first, 0, chunk(0, SIZE), SIZE);
+		StoredBlob stored = store.complete(first);
+
+		UploadSession second = store.create(session());
+		store.append(second, 0, chunk(0, SIZE), SIZE);
+		StoredBlob deduplicated = store.complete(second);
+
+		assertThat(stored.isDeduplicated()).isFalse();
+		assertThat(deduplicated.isDeduplicated()).isTrue();
+		assertThat(deduplicated.getFilePath()).isEqualTo(stored.getFilePath());
+	}
+
+	@Test
+	void rejectsConcurrentChunkOfTheSameUpload() throws Exception {
+		UploadSession session = store.create(session());
+		CountDownLatch reading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		InputStream stalled = new InputStream() {
+			@Override
+			public int read() {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public int read(byte[] buffer, int offset, int length) throws IOException {
+				reading.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					throw new IOException(e);
+				}
+				return -1;
+			}
+		};
+		CompletableFuture<Long> slow = CompletableFuture.supplyAsync(() -> {
+			try {
+				return store.append(session, 0, stalled, 100);
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+		});
+		assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+
+		assertThatThrownBy(() -> store.append(session, 0, chunk(0, 100), 100))
+				.isInstanceOf(UploadConflictException.class);
+
+		release.countDown();
+		assertThat(slow.get(5, TimeUnit.SECONDS)).isZero();
+	}
+
+	@Test
+	void ignoresUploadIdsThatAreNotUuids() throws Exception {
+		assertThat(store.find("../../etc/passwd")).isEmpty();
+	}
+
+	private UploadSession session() {
+		return UploadSession.builder()
+				.taskId(1)
+				.userId(1)
+				.fileName("file.bin")
+				.fileSize(SIZE)
+				.build();
+	}
+
+	private InputStream chunk(int from, int to) {
+		return new ByteArrayInputStream(Arrays.copyOfRange(content, from, to));
+	}
+
+	private static String sha256(byte[] bytes) throws Exception {
+		return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+	}
+}
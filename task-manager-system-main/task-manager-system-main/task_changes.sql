@@ -0,0 +1,13 @@
+USE TaskManagerDB_testing;
+
+-- Delta sync (/api/tasks/changes) position of each task, stamped by TaskChangeSequencer in the transaction
+-- that changes the task. The counter is the 'task_changes' row of id_generators, created on first use; its
+-- row lock is held until commit, so positions follow commit order. Existing rows start at 0 and are all
+-- returned to a client syncing from scratch.
+ALTER TABLE tasks ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+
+-- WHERE change_seq > ? ORDER BY change_seq, task_id across deleted and active tasks
+CREATE INDEX idx_tasks_change_seq ON tasks (change_seq, task_id);
+
+-- Databases set up with an earlier performance_indexes.sql also have idx_tasks_updated, which nothing uses now:
+-- DROP INDEX idx_tasks_updated ON tasks;